@@ -0,0 +1,325 @@
+package com.jslib.injector.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.AnnotationMirror;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.NestingKind;
+import javax.lang.model.element.PackageElement;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.element.VariableElement;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+
+/**
+ * Generate js-injector provisioning metadata at compile time. For every class with constructors, fields or methods
+ * annotated with <code>jakarta.inject.Inject</code> processor creates a metadata class that lists selected constructor,
+ * injected fields and injected methods, the same members injector provisioning provider would find by scanning
+ * implementation class with reflection. Provisioning provider loads metadata class, if present, and looks up only listed
+ * members.
+ *
+ * Metadata class is created in implementation class package and its name is implementation class name, without
+ * package, with nested class names joined by underscore, and <code>_ProvisioningMetadata</code> suffix. It implements
+ * <code>Supplier&lt;String[][]&gt;</code> so that generated code does not depend on injector library; every call returns
+ * a new table. Table layout is: row 0 is constructor parameter types, row 1 is injected field names and every following
+ * row is an injected method name followed by its parameter types. Types are stored as class names as accepted by
+ * {@link Class#forName(String)}, or primitive type names.
+ *
+ * Generated metadata classes are listed, one class name per line, on {@link #INDEX_RESOURCE} resource, written when
+ * processing is over, so that injector looks up metadata only for listed classes and does not probe class loader for
+ * every implementation class.
+ *
+ * Constructor selection follows provisioning provider rules: constructor annotated with <code>@Inject</code> or default
+ * constructor if none annotated. Multiple <code>@Inject</code> constructors are reported as compilation error. Classes
+ * without suitable constructor, inner classes, local and anonymous classes are not supported: processor reports a
+ * warning and does not generate metadata for them, in which case injector scans class members at runtime.
+ *
+ * @author Iulian Rotaru
+ */
+@SupportedAnnotationTypes(InjectProcessor.INJECT_ANNOTATION)
+public class InjectProcessor extends AbstractProcessor
+{
+  static final String INJECT_ANNOTATION = "jakarta.inject.Inject";
+  static final String CLASS_SUFFIX = "_ProvisioningMetadata";
+  static final String INDEX_RESOURCE = "META-INF/js-injector/provisioning-metadata";
+
+  /** Implementation classes already processed, in order to not generate metadata twice on multiple rounds. */
+  private final Set<String> processedTypes = new LinkedHashSet<>();
+  /** Generated metadata class names, written to index resource when processing is over. */
+  private final List<String> metadataClasses = new ArrayList<>();
+  /** Implementation classes with generated metadata, used as originating elements for index resource. */
+  private final List<Element> metadataTypes = new ArrayList<>();
+
+  @Override
+  public SourceVersion getSupportedSourceVersion()
+  {
+    return SourceVersion.latestSupported();
+  }
+
+  @Override
+  public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnvironment)
+  {
+    if(roundEnvironment.processingOver()) {
+      writeIndex();
+      return false;
+    }
+
+    Set<TypeElement> types = new LinkedHashSet<>();
+    for(TypeElement annotation : annotations) {
+      for(Element element : roundEnvironment.getElementsAnnotatedWith(annotation)) {
+        Element enclosingElement = element.getEnclosingElement();
+        if(enclosingElement.getKind() == ElementKind.CLASS) {
+          types.add((TypeElement)enclosingElement);
+        }
+      }
+    }
+
+    for(TypeElement type : types) {
+      if(type.getModifiers().contains(Modifier.ABSTRACT)) {
+        continue;
+      }
+      if(processedTypes.add(type.getQualifiedName().toString())) {
+        process(type);
+      }
+    }
+    // do not claim inject annotation, other processors may be interested in it
+    return false;
+  }
+
+  private void process(TypeElement type)
+  {
+    if(type.getNestingKind() == NestingKind.LOCAL || type.getNestingKind() == NestingKind.ANONYMOUS) {
+      warning("Local or anonymous class not supported.", type);
+      return;
+    }
+    if(type.getNestingKind() == NestingKind.MEMBER && !type.getModifiers().contains(Modifier.STATIC)) {
+      // inner class constructors have an implicit enclosing instance parameter not listed by model
+      warning("Inner class not supported.", type);
+      return;
+    }
+
+    ExecutableElement constructor = constructor(type);
+    if(constructor == null) {
+      return;
+    }
+
+    List<String[]> metadata = new ArrayList<>();
+    metadata.add(types(constructor.getParameters(), null));
+
+    List<String> fields = new ArrayList<>();
+    for(VariableElement field : ElementFilter.fieldsIn(type.getEnclosedElements())) {
+      if(isInject(field)) {
+        fields.add(field.getSimpleName().toString());
+      }
+    }
+    metadata.add(fields.toArray(new String[0]));
+
+    for(ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+      if(isInject(method)) {
+        metadata.add(types(method.getParameters(), method.getSimpleName().toString()));
+      }
+    }
+
+    try {
+      write(type, metadata);
+    }
+    catch(IOException e) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Fail to write provisioning metadata: " + e.getMessage(), type);
+    }
+  }
+
+  private ExecutableElement constructor(TypeElement type)
+  {
+    ExecutableElement defaultConstructor = null;
+    ExecutableElement constructor = null;
+
+    for(ExecutableElement declaredConstructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+      if(isInject(declaredConstructor)) {
+        if(constructor != null) {
+          processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Invalid implementation class. Multiple constructors marked with @Inject.", declaredConstructor);
+          return null;
+        }
+        constructor = declaredConstructor;
+        continue;
+      }
+      if(declaredConstructor.getParameters().isEmpty()) {
+        defaultConstructor = declaredConstructor;
+      }
+    }
+
+    if(constructor == null) {
+      if(defaultConstructor == null) {
+        // class could be not bound to injector, e.g. a base class with injected members; do not fail compilation
+        warning("Missing default constructor or constructor marked with @Inject.", type);
+        return null;
+      }
+      constructor = defaultConstructor;
+    }
+    return constructor;
+  }
+
+  private void warning(String message, Element element)
+  {
+    processingEnv.getMessager().printMessage(Diagnostic.Kind.WARNING, message + " Provisioning metadata not generated.", element);
+  }
+
+  private static boolean isInject(Element element)
+  {
+    for(AnnotationMirror annotation : element.getAnnotationMirrors()) {
+      TypeElement annotationType = (TypeElement)annotation.getAnnotationType().asElement();
+      if(annotationType.getQualifiedName().contentEquals(INJECT_ANNOTATION)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Get runtime type names for given parameters, optionally prefixed by executable name.
+   *
+   * @param parameters constructor or method parameters,
+   * @param name optional method name, null for constructor.
+   * @return metadata table row.
+   */
+  private String[] types(List<? extends VariableElement> parameters, String name)
+  {
+    List<String> row = new ArrayList<>();
+    if(name != null) {
+      row.add(name);
+    }
+    for(VariableElement parameter : parameters) {
+      row.add(runtimeName(processingEnv.getTypeUtils().erasure(parameter.asType())));
+    }
+    return row.toArray(new String[0]);
+  }
+
+  /**
+   * Get type name as accepted by {@link Class#forName(String)} or primitive type name.
+   *
+   * @param type erased type mirror.
+   * @return type runtime name.
+   */
+  private String runtimeName(TypeMirror type)
+  {
+    switch(type.getKind()) {
+    case DECLARED:
+      return processingEnv.getElementUtils().getBinaryName((TypeElement)((DeclaredType)type).asElement()).toString();
+
+    case ARRAY:
+      return '[' + descriptor(((ArrayType)type).getComponentType());
+
+    default:
+      // primitive type
+      return type.getKind().name().toLowerCase();
+    }
+  }
+
+  private String descriptor(TypeMirror type)
+  {
+    switch(type.getKind()) {
+    case DECLARED:
+      return 'L' + runtimeName(type) + ';';
+    case ARRAY:
+      return runtimeName(type);
+    case BOOLEAN:
+      return "Z";
+    case LONG:
+      return "J";
+    default:
+      // the rest of primitive types descriptors are the upper case first letter: byte, char, short, int, float, double
+      return type.getKind().name().substring(0, 1);
+    }
+  }
+
+  private void write(TypeElement type, List<String[]> metadata) throws IOException
+  {
+    PackageElement packageElement = processingEnv.getElementUtils().getPackageOf(type);
+    String packageName = packageElement.getQualifiedName().toString();
+    String simpleName = simpleName(type) + CLASS_SUFFIX;
+    String className = packageName.isEmpty() ? simpleName : packageName + '.' + simpleName;
+
+    JavaFileObject sourceFile = processingEnv.getFiler().createSourceFile(className, type);
+    try (Writer writer = sourceFile.openWriter()) {
+      if(!packageName.isEmpty()) {
+        writer.write("package " + packageName + ";\n\n");
+      }
+      writer.write("@javax.annotation.processing.Generated(\"" + getClass().getName() + "\")\n");
+      writer.write("public final class " + simpleName + " implements java.util.function.Supplier<String[][]>\n");
+      writer.write("{\n");
+      writer.write("  @Override\n");
+      writer.write("  public String[][] get()\n");
+      writer.write("  {\n");
+      writer.write("    return new String[][] {\n");
+      for(int i = 0; i < metadata.size(); ++i) {
+        writer.write("      {");
+        String[] row = metadata.get(i);
+        for(int j = 0; j < row.length; ++j) {
+          writer.write(j == 0 ? " \"" : ", \"");
+          writer.write(row[j]);
+          writer.write('"');
+        }
+        writer.write(i < metadata.size() - 1 ? " },\n" : " }\n");
+      }
+      writer.write("    };\n");
+      writer.write("  }\n");
+      writer.write("}\n");
+    }
+    metadataClasses.add(className);
+    metadataTypes.add(type);
+  }
+
+  private void writeIndex()
+  {
+    if(metadataClasses.isEmpty()) {
+      return;
+    }
+    try {
+      FileObject index = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", INDEX_RESOURCE, metadataTypes.toArray(new Element[0]));
+      try (Writer writer = index.openWriter()) {
+        for(String className : metadataClasses) {
+          writer.write(className);
+          writer.write('\n');
+        }
+      }
+    }
+    catch(IOException e) {
+      processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Fail to write provisioning metadata index: " + e.getMessage());
+    }
+  }
+
+  /**
+   * Get class name without package, with nested classes names joined by underscore.
+   *
+   * @param type class element, possible nested.
+   * @return class simple name, flattened.
+   */
+  private static String simpleName(TypeElement type)
+  {
+    StringBuilder builder = new StringBuilder(type.getSimpleName());
+    Element enclosingElement = type.getEnclosingElement();
+    while(enclosingElement instanceof TypeElement) {
+      builder.insert(0, '_');
+      builder.insert(0, enclosingElement.getSimpleName());
+      enclosingElement = enclosingElement.getEnclosingElement();
+    }
+    return builder.toString();
+  }
+}
@@ -0,0 +1,255 @@
+package com.jslib.injector.processor;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayContaining;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.emptyArray;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.StandardLocation;
+import javax.tools.ToolProvider;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class InjectProcessorTest
+{
+  private Path sourceDir;
+  private Path classesDir;
+
+  @Before
+  public void beforeTest() throws IOException
+  {
+    sourceDir = Files.createTempDirectory("processor-source");
+    classesDir = Files.createTempDirectory("processor-classes");
+  }
+
+  @Test
+  public void GivenInjectMembers_WhenCompile_ThenGenerateMetadata() throws Exception
+  {
+    // given
+    source("app/Service.java", "" + //
+        "package app;\n" + //
+        "import jakarta.inject.Inject;\n" + //
+        "public class Service {\n" + //
+        "  @Inject private Task task;\n" + //
+        "  private String notInjected;\n" + //
+        "  @Inject public Service(Task task, int[] values, java.util.List<String> names) {}\n" + //
+        "  @Inject void setTasks(Task task1, Task task2) {}\n" + //
+        "  static class Task {}\n" + //
+        "}\n");
+
+    // when
+    String errors = compile("app/Service.java");
+
+    // then
+    assertThat(errors, equalTo(""));
+    String[][] metadata = metadata("app.Service_ProvisioningMetadata");
+    assertThat(metadata.length, equalTo(3));
+    assertThat(metadata[0], arrayContaining("app.Service$Task", "[I", "java.util.List"));
+    assertThat(metadata[1], arrayContaining("task"));
+    assertThat(metadata[2], arrayContaining("setTasks", "app.Service$Task", "app.Service$Task"));
+  }
+
+  @Test
+  public void GivenNestedClass_WhenCompile_ThenFlattenedName() throws Exception
+  {
+    // given
+    source("app/Outer.java", "" + //
+        "package app;\n" + //
+        "import jakarta.inject.Inject;\n" + //
+        "public class Outer {\n" + //
+        "  private static class Inner {\n" + //
+        "    @Inject Object object;\n" + //
+        "  }\n" + //
+        "}\n");
+
+    // when
+    String errors = compile("app/Outer.java");
+
+    // then
+    assertThat(errors, equalTo(""));
+    String[][] metadata = metadata("app.Outer_Inner_ProvisioningMetadata");
+    assertThat(metadata[0], emptyArray());
+    assertThat(metadata[1], arrayContaining("object"));
+  }
+
+  @Test
+  public void GivenMultipleInjectConstructors_WhenCompile_ThenError() throws Exception
+  {
+    // given
+    source("app/Invalid.java", "" + //
+        "package app;\n" + //
+        "import jakarta.inject.Inject;\n" + //
+        "public class Invalid {\n" + //
+        "  @Inject public Invalid() {}\n" + //
+        "  @Inject public Invalid(String name) {}\n" + //
+        "}\n");
+
+    // when
+    String errors = compile("app/Invalid.java");
+
+    // then
+    assertThat(errors, containsString("Multiple constructors marked with @Inject"));
+  }
+
+  @Test
+  public void GivenInjectMembers_WhenCompile_ThenIndexListsMetadata() throws Exception
+  {
+    // given
+    source("app/Service.java", "" + //
+        "package app;\n" + //
+        "import jakarta.inject.Inject;\n" + //
+        "public class Service {\n" + //
+        "  @Inject Object object;\n" + //
+        "  static class Task {\n" + //
+        "    @Inject Object object;\n" + //
+        "  }\n" + //
+        "}\n");
+
+    // when
+    String errors = compile("app/Service.java");
+
+    // then
+    assertThat(errors, equalTo(""));
+    List<String> index = Files.readAllLines(classesDir.resolve(InjectProcessor.INDEX_RESOURCE));
+    assertThat(index, containsInAnyOrder("app.Service_ProvisioningMetadata", "app.Service_Task_ProvisioningMetadata"));
+  }
+
+  @Test
+  public void GivenMetadata_WhenGetTwice_ThenNewTable() throws Exception
+  {
+    // given
+    source("app/Service.java", "" + //
+        "package app;\n" + //
+        "import jakarta.inject.Inject;\n" + //
+        "public class Service {\n" + //
+        "  @Inject Object object;\n" + //
+        "}\n");
+    compile("app/Service.java");
+
+    // when
+    String[][] metadata = metadata("app.Service_ProvisioningMetadata");
+    metadata[1][0] = "changed";
+
+    // then
+    assertThat(metadata("app.Service_ProvisioningMetadata")[1], arrayContaining("object"));
+  }
+
+  @Test
+  public void GivenInnerClass_WhenCompile_ThenWarningAndNoMetadata() throws Exception
+  {
+    // given
+    source("app/Outer.java", "" + //
+        "package app;\n" + //
+        "import jakarta.inject.Inject;\n" + //
+        "public class Outer {\n" + //
+        "  class Inner {\n" + //
+        "    @Inject Object object;\n" + //
+        "  }\n" + //
+        "}\n");
+
+    // when
+    String errors = compile("app/Outer.java");
+
+    // then
+    assertThat(errors, containsString("Inner class not supported"));
+    assertThat(errors, not(containsString("error")));
+    assertThat(Files.exists(classesDir.resolve("app/Outer_Inner_ProvisioningMetadata.java")), equalTo(false));
+  }
+
+  @Test
+  public void GivenMissingConstructor_WhenCompile_ThenWarningAndNoMetadata() throws Exception
+  {
+    // given
+    source("app/Base.java", "" + //
+        "package app;\n" + //
+        "import jakarta.inject.Inject;\n" + //
+        "public class Base {\n" + //
+        "  @Inject Object object;\n" + //
+        "  public Base(String name) {}\n" + //
+        "}\n");
+
+    // when
+    String errors = compile("app/Base.java");
+
+    // then
+    assertThat(errors, containsString("Missing default constructor"));
+    assertThat(errors, not(containsString("error")));
+    assertThat(Files.exists(classesDir.resolve("app/Base_ProvisioningMetadata.java")), equalTo(false));
+  }
+
+  // --------------------------------------------------------------------------------------------
+
+  private void source(String path, String content) throws IOException
+  {
+    Path file = sourceDir.resolve(path);
+    Files.createDirectories(file.getParent());
+    Files.writeString(file, content);
+  }
+
+  private String compile(String path) throws IOException
+  {
+    JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+    StringWriter errors = new StringWriter();
+    try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+      fileManager.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singletonList(classesDir.toFile()));
+      fileManager.setLocation(StandardLocation.SOURCE_OUTPUT, Collections.singletonList(classesDir.toFile()));
+      fileManager.setLocation(StandardLocation.CLASS_PATH, classPath());
+      Iterable<? extends JavaFileObject> sources = fileManager.getJavaFileObjects(sourceDir.resolve(path).toFile());
+
+      JavaCompiler.CompilationTask task = compiler.getTask(errors, fileManager, null, Arrays.asList("-proc:only"), null, sources);
+      task.setProcessors(Collections.singletonList(new InjectProcessor()));
+      task.call();
+    }
+    if(!errors.toString().isEmpty()) {
+      return errors.toString();
+    }
+
+    // compile generated sources; processor was already executed
+    List<File> generatedSources;
+    try (Stream<Path> files = Files.walk(classesDir)) {
+      generatedSources = files.filter(file -> file.toString().endsWith(".java")).map(Path::toFile).collect(Collectors.toList());
+    }
+    try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+      fileManager.setLocation(StandardLocation.CLASS_OUTPUT, Collections.singletonList(classesDir.toFile()));
+      compiler.getTask(errors, fileManager, null, Arrays.asList("-proc:none"), null, fileManager.getJavaFileObjectsFromFiles(generatedSources)).call();
+    }
+    return errors.toString();
+  }
+
+  private String[][] metadata(String className) throws Exception
+  {
+    try (URLClassLoader classLoader = new URLClassLoader(new URL[] { classesDir.toUri().toURL() })) {
+      @SuppressWarnings("unchecked")
+      Supplier<String[][]> metadata = (Supplier<String[][]>)classLoader.loadClass(className).getDeclaredConstructor().newInstance();
+      return metadata.get();
+    }
+  }
+
+  private static Iterable<File> classPath()
+  {
+    // surefire runs tests with a manifest only JAR; real test class path is on its own system property
+    String classPath = System.getProperty("surefire.test.class.path", System.getProperty("java.class.path"));
+    return Arrays.stream(classPath.split(File.pathSeparator)).map(File::new).collect(Collectors.toList());
+  }
+}
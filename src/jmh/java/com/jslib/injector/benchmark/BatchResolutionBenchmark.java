@@ -0,0 +1,73 @@
+package com.jslib.injector.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jslib.api.injector.Key;
+import com.jslib.injector.Injector;
+import com.jslib.injector.Resolver;
+
+/**
+ * Throughput of resolving all {@link ProviderKind provider kinds} at once, as a message handler resolves its
+ * collaborators: separate instance retrievals compared with batch retrieval and with a precompiled resolver.
+ *
+ * @author Iulian Rotaru
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BatchResolutionBenchmark
+{
+  private Injector injector;
+  private Key<?>[] keys;
+  private Resolver resolver;
+
+  @Setup
+  public void setup()
+  {
+    injector = new Injector();
+    injector.configure(new BenchmarkModule(injector));
+
+    ProviderKind[] kinds = ProviderKind.values();
+    keys = new Key<?>[kinds.length];
+    for(int i = 0; i < kinds.length; ++i) {
+      keys[i] = Key.get(kinds[i].type);
+    }
+    resolver = injector.resolver(keys);
+  }
+
+  @Benchmark
+  public Object[] getInstanceLoop()
+  {
+    Object[] instances = new Object[keys.length];
+    for(int i = 0; i < keys.length; ++i) {
+      instances[i] = injector.getInstance(keys[i]);
+    }
+    return instances;
+  }
+
+  @Benchmark
+  public Object[] getInstances()
+  {
+    return injector.getInstances(keys);
+  }
+
+  @Benchmark
+  public Object[] resolver()
+  {
+    return resolver.resolve();
+  }
+}
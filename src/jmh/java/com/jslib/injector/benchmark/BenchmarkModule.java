@@ -0,0 +1,35 @@
+package com.jslib.injector.benchmark;
+
+import com.jslib.api.injector.AbstractModule;
+import com.jslib.api.injector.IInjector;
+import com.jslib.api.injector.Names;
+import com.jslib.injector.benchmark.Fixtures.Dependency;
+import com.jslib.injector.benchmark.Fixtures.IProxiedService;
+import com.jslib.injector.benchmark.Fixtures.ProxiedService;
+
+/**
+ * Module binding all {@link ProviderKind provider kinds}, both unqualified and named, plus their dependencies.
+ * 
+ * @author Iulian Rotaru
+ */
+class BenchmarkModule extends AbstractModule
+{
+  private final IInjector injector;
+
+  public BenchmarkModule(IInjector injector)
+  {
+    this.injector = injector;
+  }
+
+  @Override
+  protected void configure()
+  {
+    bind(Dependency.class);
+    bind(IProxiedService.class).with(Names.named(ProviderKind.PROXY_TARGET)).to(ProxiedService.class);
+
+    for(ProviderKind kind : ProviderKind.values()) {
+      kind.bind(injector, bind(kind.type));
+      kind.bind(injector, bind(kind.type).with(Names.named(kind.name())));
+    }
+  }
+}
@@ -0,0 +1,55 @@
+package com.jslib.injector.benchmark;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.ChainedOptionsBuilder;
+import org.openjdk.jmh.runner.options.CommandLineOptionException;
+import org.openjdk.jmh.runner.options.CommandLineOptions;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+/**
+ * Run injector benchmarks once for every configured threads count, with GC profiler enabled in order to report
+ * allocation rate, <code>gc.alloc.rate.norm</code>, side by side with throughput.
+ * 
+ * Threads counts are given by <code>injector.threads</code> system property, comma separated, default to
+ * <code>1,2,4,8,16,32,64</code>. If JMH <code>-t</code> option is present on command line it takes precedence and
+ * benchmarks run only once. All command line arguments are passed to JMH as they are, so that regular JMH options, like
+ * benchmark include patterns or result format, are still available.
+ * 
+ * <pre>
+ * mvn -P jmh -Djmh.threads=1,64 -Djmh.args="-rf json GetInstanceBenchmark"
+ * </pre>
+ * 
+ * @author Iulian Rotaru
+ */
+public class BenchmarkRunner
+{
+  private static final String DEFAULT_THREADS = "1,2,4,8,16,32,64";
+
+  public static void main(String... args) throws RunnerException, CommandLineOptionException
+  {
+    CommandLineOptions commandLine = new CommandLineOptions(args);
+
+    List<Integer> threadsCounts = new ArrayList<>();
+    if(commandLine.getThreads().hasValue()) {
+      threadsCounts.add(commandLine.getThreads().get());
+    }
+    else {
+      for(String threads : System.getProperty("injector.threads", DEFAULT_THREADS).split(",")) {
+        threadsCounts.add(Integer.parseInt(threads.trim()));
+      }
+    }
+
+    for(int threads : threadsCounts) {
+      ChainedOptionsBuilder options = new OptionsBuilder().parent(commandLine).threads(threads).addProfiler(GCProfiler.class);
+      if(commandLine.getIncludes().isEmpty()) {
+        options.include(GetInstanceBenchmark.class.getSimpleName());
+      }
+      new Runner(options.build()).run();
+    }
+  }
+}
@@ -0,0 +1,78 @@
+package com.jslib.injector.benchmark;
+
+import jakarta.inject.Inject;
+
+/**
+ * Injectable classes used by benchmarks. Every class is public in order to keep JMH generated code and injector
+ * reflection away from access checks that would not be present on real application classes.
+ * 
+ * @author Iulian Rotaru
+ */
+public final class Fixtures
+{
+  private Fixtures()
+  {
+  }
+
+  public static class Dependency
+  {
+  }
+
+  public static class InstanceService
+  {
+  }
+
+  public static class ConstructorService
+  {
+    final Dependency dependency1;
+    final Dependency dependency2;
+
+    @Inject
+    public ConstructorService(Dependency dependency1, Dependency dependency2)
+    {
+      this.dependency1 = dependency1;
+      this.dependency2 = dependency2;
+    }
+  }
+
+  public static class FieldService
+  {
+    @Inject
+    Dependency dependency1;
+    @Inject
+    Dependency dependency2;
+  }
+
+  public static class MethodService
+  {
+    Dependency dependency1;
+    Dependency dependency2;
+
+    @Inject
+    public void setDependencies(Dependency dependency1, Dependency dependency2)
+    {
+      this.dependency1 = dependency1;
+      this.dependency2 = dependency2;
+    }
+  }
+
+  public static class SingletonService
+  {
+  }
+
+  public interface IService
+  {
+  }
+
+  public static class Service implements IService
+  {
+  }
+
+  public interface IProxiedService
+  {
+  }
+
+  public static class ProxiedService implements IProxiedService
+  {
+  }
+}
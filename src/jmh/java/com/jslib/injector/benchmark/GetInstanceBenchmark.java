@@ -0,0 +1,73 @@
+package com.jslib.injector.benchmark;
+
+import java.util.concurrent.TimeUnit;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import com.jslib.api.injector.Key;
+import com.jslib.injector.Injector;
+
+/**
+ * Throughput of injector instance retrieval, for every {@link ProviderKind provider kind} and every public lookup
+ * method. Injector instance is shared by all benchmark threads, as it is on a real server; threads count is controlled
+ * from command line, see {@link BenchmarkRunner}.
+ * 
+ * Keys are created once on setup so that benchmark measures injector lookup and provisioning, not key construction.
+ * 
+ * @author Iulian Rotaru
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class GetInstanceBenchmark
+{
+  @Param
+  private ProviderKind kind;
+
+  private Injector injector;
+  private Class<Object> type;
+  private Key<Object> key;
+  private String name;
+
+  @Setup
+  public void setup()
+  {
+    injector = new Injector();
+    injector.configure(new BenchmarkModule(injector));
+
+    type = kind.type;
+    key = Key.get(type);
+    name = kind.name();
+  }
+
+  @Benchmark
+  public Object getInstanceByClass()
+  {
+    return injector.getInstance(type);
+  }
+
+  @Benchmark
+  public Object getInstanceByKey()
+  {
+    return injector.getInstance(key);
+  }
+
+  @Benchmark
+  public Object getInstanceByName()
+  {
+    return injector.getInstance(type, name);
+  }
+}
@@ -0,0 +1,84 @@
+package com.jslib.injector.benchmark;
+
+import com.jslib.api.injector.IBindingBuilder;
+import com.jslib.api.injector.IInjector;
+import com.jslib.api.injector.Key;
+import com.jslib.api.injector.Names;
+import com.jslib.injector.ProxyProvider;
+import com.jslib.injector.benchmark.Fixtures.ConstructorService;
+import com.jslib.injector.benchmark.Fixtures.FieldService;
+import com.jslib.injector.benchmark.Fixtures.IProxiedService;
+import com.jslib.injector.benchmark.Fixtures.IService;
+import com.jslib.injector.benchmark.Fixtures.InstanceService;
+import com.jslib.injector.benchmark.Fixtures.MethodService;
+import com.jslib.injector.benchmark.Fixtures.SingletonService;
+
+import jakarta.inject.Singleton;
+
+/**
+ * Provider kinds under benchmark. Every kind knows the type it is bound to and how to complete an already started
+ * binding builder so that the injector selects the intended provider. The same kind is bound twice: once without
+ * qualifier and once qualified with its own name, see {@link #name()}.
+ * 
+ * @author Iulian Rotaru
+ */
+public enum ProviderKind
+{
+  INSTANCE(InstanceService.class)
+  {
+    @Override
+    void bind(IInjector injector, IBindingBuilder<Object> builder)
+    {
+      builder.instance(new InstanceService());
+    }
+  },
+  CONSTRUCTOR(ConstructorService.class),
+  FIELD(FieldService.class),
+  METHOD(MethodService.class),
+  SINGLETON(SingletonService.class)
+  {
+    @Override
+    void bind(IInjector injector, IBindingBuilder<Object> builder)
+    {
+      builder.in(Singleton.class);
+    }
+  },
+  SERVICE(IService.class)
+  {
+    @Override
+    void bind(IInjector injector, IBindingBuilder<Object> builder)
+    {
+      builder.service();
+    }
+  },
+  PROXY(IProxiedService.class)
+  {
+    @Override
+    void bind(IInjector injector, IBindingBuilder<Object> builder)
+    {
+      builder.provider(new ProxyProvider<>(injector, Key.get(type, Names.named(PROXY_TARGET))));
+    }
+  };
+
+  /** Name of the binding proxy kind delegates to. */
+  static final String PROXY_TARGET = "proxy-target";
+
+  final Class<Object> type;
+
+  @SuppressWarnings("unchecked")
+  ProviderKind(Class<?> type)
+  {
+    this.type = (Class<Object>)type;
+  }
+
+  /**
+   * Complete binding for this provider kind. Default implementation does nothing and leaves the provisioning provider
+   * created by injector for implementation classes.
+   * 
+   * @param injector injector under configuration,
+   * @param builder binding builder already created for {@link #type}.
+   */
+  void bind(IInjector injector, IBindingBuilder<Object> builder)
+  {
+  }
+}
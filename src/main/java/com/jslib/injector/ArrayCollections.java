@@ -0,0 +1,166 @@
+package com.jslib.injector;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * Immutable collections backed by arrays, used for multi-bindings. Multi-bindings are small and iterated more often
+ * than searched so collections keep elements in contribution order, in plain arrays, and search them linearly.
+ *
+ * @author Iulian Rotaru
+ */
+final class ArrayCollections
+{
+  private ArrayCollections()
+  {
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <T> List<T> list(Object[] elements)
+  {
+    return Collections.unmodifiableList(Arrays.asList((T[])elements));
+  }
+
+  /**
+   * Create set from given elements, in order, discarding equal elements after the first one.
+   *
+   * @param elements set elements, possible with duplicates.
+   * @return immutable set.
+   */
+  public static <T> Set<T> set(Object[] elements)
+  {
+    Object[] distinct = new Object[elements.length];
+    int size = 0;
+    for(Object element : elements) {
+      if(indexOf(distinct, size, element) == -1) {
+        distinct[size++] = element;
+      }
+    }
+    return new ArraySet<>(size == elements.length ? distinct : Arrays.copyOf(distinct, size));
+  }
+
+  /**
+   * Create map from given keys and values, in order. Keys are assumed distinct.
+   *
+   * @param keys map keys,
+   * @param values map values, with keys length.
+   * @return immutable map.
+   */
+  public static <T> Map<String, T> map(String[] keys, Object[] values)
+  {
+    return new ArrayMap<>(keys, values);
+  }
+
+  private static int indexOf(Object[] elements, int size, Object element)
+  {
+    for(int i = 0; i < size; ++i) {
+      if(elements[i].equals(element)) {
+        return i;
+      }
+    }
+    return -1;
+  }
+
+  // --------------------------------------------------------------------------------------------
+
+  private static final class ArraySet<T> extends AbstractSet<T>
+  {
+    private final Object[] elements;
+
+    ArraySet(Object[] elements)
+    {
+      this.elements = elements;
+    }
+
+    @Override
+    public boolean contains(Object o)
+    {
+      return o != null && indexOf(elements, elements.length, o) != -1;
+    }
+
+    @Override
+    public Iterator<T> iterator()
+    {
+      return new ArrayIterator<>(elements);
+    }
+
+    @Override
+    public int size()
+    {
+      return elements.length;
+    }
+  }
+
+  private static final class ArrayMap<T> extends AbstractMap<String, T>
+  {
+    private final String[] keys;
+    private final Object[] values;
+    private final Set<Map.Entry<String, T>> entrySet;
+
+    @SuppressWarnings("unchecked")
+    ArrayMap(String[] keys, Object[] values)
+    {
+      this.keys = keys;
+      this.values = values;
+      Object[] entries = new Object[keys.length];
+      for(int i = 0; i < keys.length; ++i) {
+        entries[i] = new AbstractMap.SimpleImmutableEntry<>(keys[i], (T)values[i]);
+      }
+      this.entrySet = new ArraySet<>(entries);
+    }
+
+    @Override
+    public boolean containsKey(Object key)
+    {
+      return key != null && indexOf(keys, keys.length, key) != -1;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T get(Object key)
+    {
+      int index = key != null ? indexOf(keys, keys.length, key) : -1;
+      return index != -1 ? (T)values[index] : null;
+    }
+
+    @Override
+    public Set<Map.Entry<String, T>> entrySet()
+    {
+      return entrySet;
+    }
+  }
+
+  private static final class ArrayIterator<T> implements Iterator<T>
+  {
+    private final Object[] elements;
+    private int index;
+
+    ArrayIterator(Object[] elements)
+    {
+      this.elements = elements;
+    }
+
+    @Override
+    public boolean hasNext()
+    {
+      return index < elements.length;
+    }
+
+    @SuppressWarnings("unchecked")
+    @Override
+    public T next()
+    {
+      if(index == elements.length) {
+        throw new NoSuchElementException();
+      }
+      return (T)elements[index++];
+    }
+  }
+}
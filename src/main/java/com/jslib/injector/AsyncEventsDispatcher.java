@@ -0,0 +1,260 @@
+package com.jslib.injector;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import com.jslib.api.injector.IProvisionInvocation;
+import com.jslib.api.injector.IProvisionListener;
+import com.jslib.api.log.Log;
+import com.jslib.api.log.LogFactory;
+
+/**
+ * Deliver provision events to listeners on a background thread. Provisioning thread puts events on a bounded queue and
+ * returns; a daemon consumer thread takes events in batches and delivers them to listeners, in queue order. When queue
+ * is full the configured {@link EventsOverflowPolicy} is applied.
+ * 
+ * Listener exceptions are logged and do not stop delivery for other listeners or other events. On shutdown, call
+ * {@link #flush(long, TimeUnit)} to wait for queued events delivery or {@link #close(long, TimeUnit)} to flush and stop
+ * consumer thread.
+ * 
+ * Events fired on consumer thread, for example by a listener that provisions instances, are delivered inline: consumer
+ * waiting for room on its own queue would never wake up. An event queued concurrently with close, after consumer
+ * stopped, is delivered by the thread that queued it.
+ * 
+ * @author Iulian Rotaru
+ */
+class AsyncEventsDispatcher
+{
+  private static final Log log = LogFactory.getLog(AsyncEventsDispatcher.class);
+
+  /** Maximum number of events taken from queue and delivered in a single batch. */
+  private static final int BATCH_SIZE = 256;
+  /** Maximum flush waiting slice, in nanoseconds. */
+  private static final long FLUSH_SLICE = TimeUnit.MILLISECONDS.toNanos(10);
+
+  private final BlockingQueue<Event> queue;
+  private final EventsOverflowPolicy overflowPolicy;
+  private final Thread consumer;
+
+  /** Flush waiting lock, notified by consumer thread after every delivered batch; not used by provisioning threads. */
+  private final Object flushLock = new Object();
+  /** The number of events accepted for asynchronous delivery. */
+  private final AtomicLong acceptedCount = new AtomicLong();
+  /** The number of accepted events that are delivered or dropped. */
+  private final AtomicLong completedCount = new AtomicLong();
+
+  private final LongAdder droppedCount = new LongAdder();
+
+  private volatile boolean closed;
+
+  public AsyncEventsDispatcher(int capacity, EventsOverflowPolicy overflowPolicy)
+  {
+    this.queue = new ArrayBlockingQueue<>(capacity);
+    this.overflowPolicy = overflowPolicy;
+    this.consumer = new Thread(this::consume, "injector-events");
+    this.consumer.setDaemon(true);
+    this.consumer.start();
+  }
+
+  /**
+   * Queue provision event for delivery to given listeners.
+   * 
+   * @param listeners listeners interested in provision event,
+   * @param invocation provision event.
+   */
+  public void dispatch(IProvisionListener[] listeners, IProvisionInvocation<?> invocation)
+  {
+    Event event = new Event(listeners, invocation);
+    if(closed || Thread.currentThread() == consumer) {
+      deliver(event);
+      return;
+    }
+
+    acceptedCount.incrementAndGet();
+    if(queue.offer(event)) {
+      drainIfClosed();
+      return;
+    }
+
+    switch(overflowPolicy) {
+    case BLOCK:
+      try {
+        // consumer can stop while waiting for room; wait in slices and check close
+        while(!queue.offer(event, FLUSH_SLICE, TimeUnit.NANOSECONDS)) {
+          if(closed) {
+            deliver(event);
+            completed(1);
+            return;
+          }
+        }
+        drainIfClosed();
+      }
+      catch(InterruptedException e) {
+        Thread.currentThread().interrupt();
+        dropped(1);
+      }
+      break;
+
+    case DROP_OLDEST:
+      while(!queue.offer(event)) {
+        if(queue.poll() != null) {
+          dropped(1);
+        }
+      }
+      drainIfClosed();
+      break;
+
+    case DROP_NEWEST:
+      dropped(1);
+      break;
+
+    case CALLER_RUNS:
+      deliver(event);
+      completed(1);
+      break;
+    }
+  }
+
+  /**
+   * Wait for all events accepted before this call to be delivered or dropped.
+   * 
+   * @param timeout maximum waiting time,
+   * @param unit time unit for timeout.
+   * @return true if all events were delivered, false on timeout.
+   * @throws InterruptedException if current thread is interrupted while waiting.
+   */
+  public boolean flush(long timeout, TimeUnit unit) throws InterruptedException
+  {
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    long target = acceptedCount.get();
+    synchronized(flushLock) {
+      while(completedCount.get() < target) {
+        long remaining = deadline - System.nanoTime();
+        if(remaining <= 0) {
+          return false;
+        }
+        // events dropped or delivered by provisioning threads do not notify; limit waiting slice to catch them
+        TimeUnit.NANOSECONDS.timedWait(flushLock, Math.min(remaining, FLUSH_SLICE));
+      }
+      return true;
+    }
+  }
+
+  /**
+   * Flush queued events and stop consumer thread. Events dispatched after close are delivered inline. If flush times
+   * out, events still queued after consumer thread stops are delivered by this method caller.
+   * 
+   * @param timeout maximum waiting time for queued events delivery,
+   * @param unit time unit for timeout.
+   * @return true if all queued events were delivered, false on timeout.
+   * @throws InterruptedException if current thread is interrupted while waiting.
+   */
+  public boolean close(long timeout, TimeUnit unit) throws InterruptedException
+  {
+    closed = true;
+    long deadline = System.nanoTime() + unit.toNanos(timeout);
+    boolean flushed = flush(timeout, unit);
+    consumer.interrupt();
+    if(Thread.currentThread() != consumer) {
+      TimeUnit.NANOSECONDS.timedJoin(consumer, Math.max(deadline - System.nanoTime(), 1));
+    }
+    drain();
+    return flushed;
+  }
+
+  /** The number of events dropped because of queue overflow. */
+  public long getDroppedCount()
+  {
+    return droppedCount.sum();
+  }
+
+  private void consume()
+  {
+    List<Event> batch = new ArrayList<>(BATCH_SIZE);
+    while(!(closed && queue.isEmpty())) {
+      try {
+        batch.add(queue.take());
+      }
+      catch(InterruptedException e) {
+        if(closed) {
+          break;
+        }
+        continue;
+      }
+      queue.drainTo(batch, BATCH_SIZE - 1);
+      for(Event event : batch) {
+        deliver(event);
+      }
+      completed(batch.size());
+      synchronized(flushLock) {
+        flushLock.notifyAll();
+      }
+      batch.clear();
+    }
+
+    // events queued concurrently with close are delivered by consumer before stopping
+    queue.drainTo(batch);
+    for(Event event : batch) {
+      deliver(event);
+    }
+    completed(batch.size());
+    log.debug("Provision events consumer stopped.");
+  }
+
+  /** Deliver events left on queue after close, that consumer thread may not see since it is stopped or stopping. */
+  private void drainIfClosed()
+  {
+    if(closed) {
+      drain();
+    }
+  }
+
+  private void drain()
+  {
+    Event event;
+    while((event = queue.poll()) != null) {
+      deliver(event);
+      completed(1);
+    }
+  }
+
+  private static void deliver(Event event)
+  {
+    for(IProvisionListener listener : event.listeners) {
+      try {
+        listener.onProvision(event.invocation);
+      }
+      catch(RuntimeException e) {
+        log.error("Provision listener |{listener}| fails: {exception}", listener, e);
+      }
+    }
+  }
+
+  private void dropped(int count)
+  {
+    droppedCount.add(count);
+    completed(count);
+  }
+
+  private void completed(int count)
+  {
+    completedCount.addAndGet(count);
+  }
+
+  private static final class Event
+  {
+    final IProvisionListener[] listeners;
+    final IProvisionInvocation<?> invocation;
+
+    Event(IProvisionListener[] listeners, IProvisionInvocation<?> invocation)
+    {
+      this.listeners = listeners;
+      this.invocation = invocation;
+    }
+  }
+}
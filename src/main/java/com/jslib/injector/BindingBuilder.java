@@ -60,22 +60,13 @@ class BindingBuilder<T> implements IBindingBuilder<T>
     return this;
   }
 
-  private boolean processScope(Class<?> implementationClass)
+  private void processScope(Class<?> implementationClass)
   {
-    for(Annotation annotation : implementationClass.getAnnotations()) {
-      if(annotation.annotationType().isAnnotationPresent(Scope.class) || annotation.annotationType().isAnnotationPresent(NormalScope.class)) {
-        in(annotation.annotationType());
-        return true;
-      }
+    // scope annotation is searched on implementation class and its interfaces, once per class, see ClassMetadata
+    Class<? extends Annotation> scope = ClassMetadata.scope(implementationClass);
+    if(scope != null) {
+      in(scope);
     }
-
-    for(Class<?> interfaceClass : implementationClass.getInterfaces()) {
-      if(processScope(interfaceClass)) {
-        return true;
-      }
-    }
-
-    return false;
   }
 
   @Override
@@ -135,7 +126,8 @@ class BindingBuilder<T> implements IBindingBuilder<T>
   @Override
   public IBindingBuilder<T> on(URI implementationURL)
   {
-    binding.setProvider(new RemoteProvider<>(binding.key().type(), implementationURL.toString()));
+    RemoteProxyCache cache = injector instanceof Injector ? ((Injector)injector).getRemoteProxyCache() : null;
+    binding.setProvider(new RemoteProvider<>(binding.key().type(), implementationURL.toString(), cache));
     return this;
   }
 
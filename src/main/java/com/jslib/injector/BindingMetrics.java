@@ -0,0 +1,96 @@
+package com.jslib.injector;
+
+/**
+ * Immutable snapshot of provisioning metrics recorded for an injector binding. See {@link Injector#setMetrics(boolean)}.
+ * Getters follow Java Beans convention so that snapshot is exposed as composite data by {@link InjectorMetricsMXBean}.
+ * 
+ * @author Iulian Rotaru
+ */
+public class BindingMetrics
+{
+  private final String key;
+  private final long invocationsCount;
+  private final long instancesCount;
+  private final long cacheHitsCount;
+  private final long[] latencyHistogram;
+
+  public BindingMetrics(String key, long invocationsCount, long instancesCount, long cacheHitsCount, long[] latencyHistogram)
+  {
+    this.key = key;
+    this.invocationsCount = invocationsCount;
+    this.instancesCount = instancesCount;
+    this.cacheHitsCount = cacheHitsCount;
+    this.latencyHistogram = latencyHistogram;
+  }
+
+  /** Binding key string representation. */
+  public String getKey()
+  {
+    return key;
+  }
+
+  /** The number of provider invocations, successful or not. */
+  public long getInvocationsCount()
+  {
+    return invocationsCount;
+  }
+
+  /** The number of instances created by provider, that is, provisioning provider calls and scope cache misses. */
+  public long getInstancesCount()
+  {
+    return instancesCount;
+  }
+
+  /** The number of scope cache hits or -1 if binding provider is not scoped. */
+  public long getCacheHitsCount()
+  {
+    return cacheHitsCount;
+  }
+
+  /** Scope cache hits ratio, from 0 to 1, or -1 if binding provider is not scoped or was not invoked. */
+  public double getCacheHitRatio()
+  {
+    if(cacheHitsCount < 0 || invocationsCount == 0) {
+      return -1;
+    }
+    return (double)cacheHitsCount / invocationsCount;
+  }
+
+  /**
+   * Provisioning latency histogram with a bucket per power of two nanoseconds: bucket <code>n</code> counts calls that
+   * took from <code>2^n</code> up to <code>2^(n+1)</code> nanoseconds.
+   */
+  public long[] getLatencyHistogram()
+  {
+    return latencyHistogram.clone();
+  }
+
+  /**
+   * Get approximate latency percentile, as upper bound of the histogram bucket that contains requested percentile.
+   * 
+   * @param percentile percentile, from 0 to 100.
+   * @return latency upper bound, in nanoseconds, or 0 if binding provider was not invoked.
+   */
+  public long latencyPercentile(double percentile)
+  {
+    long total = 0;
+    for(long count : latencyHistogram) {
+      total += count;
+    }
+    long threshold = (long)Math.ceil(total * percentile / 100);
+    long count = 0;
+    for(int i = 0; i < latencyHistogram.length; ++i) {
+      count += latencyHistogram[i];
+      if(count >= threshold && count > 0) {
+        return i < Long.SIZE - 2 ? 1L << (i + 1) : Long.MAX_VALUE;
+      }
+    }
+    return 0;
+  }
+
+  @Override
+  public String toString()
+  {
+    return String.format("%s: invocations=%d, instances=%d, cacheHits=%d", key, invocationsCount, instancesCount, cacheHitsCount);
+  }
+}
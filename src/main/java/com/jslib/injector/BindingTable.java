@@ -0,0 +1,95 @@
+package com.jslib.injector;
+
+import java.util.Map;
+import java.util.function.Function;
+
+import com.jslib.api.injector.Key;
+
+import jakarta.inject.Provider;
+
+/**
+ * Immutable bindings table built from injector bindings after configuration completes. Table uses open addressing with
+ * linear probing on parallel arrays sized to a power of two at least twice the bindings count, so that look up does
+ * not follow collision chains, does not traverse node objects and probes adjacent slots only.
+ * 
+ * All table state is stored in final fields and is never changed after construction, so that a table instance is
+ * safely published to any thread that gets a reference to it.
+ * 
+ * Table is a look up function for {@link Multibinder#lookup(Function, Key)}, so that injector resolves keys with the
+ * same multi-binding fallback as dependency linker, without allocating a function object.
+ * 
+ * @author Iulian Rotaru
+ */
+final class BindingTable implements Function<Key<?>, Provider<?>>
+{
+  private final int mask;
+  /** Right shift that keeps table index bits from the high bits of multiplied hash code. */
+  private final int shift;
+  /** Cached keys hash codes, used to skip key equality test on probed slots with different hash. */
+  private final int[] hashes;
+  private final Key<?>[] keys;
+  private final Provider<?>[] providers;
+  private final int size;
+
+  public BindingTable(Map<Key<?>, Provider<?>> bindings)
+  {
+    int capacity = Integer.highestOneBit(Math.max(bindings.size(), 1) << 1);
+    if(capacity < bindings.size() << 1) {
+      capacity <<= 1;
+    }
+    this.mask = capacity - 1;
+    this.shift = Integer.numberOfLeadingZeros(capacity) + 1;
+    this.hashes = new int[capacity];
+    this.keys = new Key<?>[capacity];
+    this.providers = new Provider<?>[capacity];
+    this.size = bindings.size();
+
+    for(Map.Entry<Key<?>, Provider<?>> binding : bindings.entrySet()) {
+      int hash = binding.getKey().hashCode();
+      int index = index(hash);
+      while(keys[index] != null) {
+        index = (index + 1) & mask;
+      }
+      hashes[index] = hash;
+      keys[index] = binding.getKey();
+      providers[index] = binding.getValue();
+    }
+  }
+
+  /**
+   * Get provider bound to given key.
+   * 
+   * @param key binding key.
+   * @return provider bound to key or null if key is not bound.
+   */
+  public Provider<?> get(Key<?> key)
+  {
+    int hash = key.hashCode();
+    int index = index(hash);
+    Key<?> slotKey;
+    while((slotKey = keys[index]) != null) {
+      if(hashes[index] == hash && slotKey.equals(key)) {
+        return providers[index];
+      }
+      index = (index + 1) & mask;
+    }
+    return null;
+  }
+
+  @Override
+  public Provider<?> apply(Key<?> key)
+  {
+    return get(key);
+  }
+
+  public int size()
+  {
+    return size;
+  }
+
+  /** Get home slot for hash code using Fibonacci hashing, so that poorly distributed hash codes are spread evenly. */
+  private int index(int hash)
+  {
+    return (hash * 0x9E3779B9) >>> shift;
+  }
+}
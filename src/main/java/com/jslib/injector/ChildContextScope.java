@@ -0,0 +1,83 @@
+package com.jslib.injector;
+
+import java.lang.annotation.Annotation;
+import java.lang.ref.Cleaner;
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.jslib.api.injector.IBinding;
+import com.jslib.api.injector.IInjector;
+import com.jslib.api.injector.IScopeFactory;
+
+/**
+ * Context scope factory of a child injector, created for every context scope inherited from parent injector. It has
+ * its own slots numbering, so that child bindings do not allocate slots on parent factory, and stores its instances on
+ * a nested context of the context active on parent scope, see {@link ScopeContext#child(int, int, int)}. Application
+ * still enters and exits contexts on parent factory.
+ *
+ * Every child scope has a fixed index into nested contexts array and a unique identifier. Index is released when child
+ * scope becomes unreachable, that is, when application discards child injector, and reused by a new child scope; its
+ * distinct identifier prevents it from seeing nested contexts left by previous owner.
+ *
+ * @author Iulian Rotaru
+ */
+final class ChildContextScope<T> implements IScopeFactory<T>, ContextScope
+{
+  private static final Cleaner cleaner = Cleaner.create();
+  /** Indices in use by child scopes. Guarded by its own monitor. */
+  private static final BitSet indices = new BitSet();
+  private static final AtomicInteger identifiers = new AtomicInteger();
+
+  private final ContextScope parent;
+  /** Index of this child scope into nested contexts array. */
+  private final int index;
+  /** Identifier of this child scope, unique among child scopes. */
+  private final int identifier;
+
+  /** The number of slots allocated to child scoped bindings, used as initial capacity for nested contexts. */
+  private final AtomicInteger slotsCount = new AtomicInteger();
+
+  public ChildContextScope(ContextScope parent)
+  {
+    this.parent = parent;
+    this.index = acquireIndex();
+    this.identifier = identifiers.incrementAndGet();
+    int index = this.index;
+    cleaner.register(this, () -> releaseIndex(index));
+  }
+
+  @Override
+  public ContextScopeProvider<T> getScopedProvider(IInjector injector, IBinding<T> provisioningBinding)
+  {
+    return new ContextScopeProvider<>(this, provisioningBinding.provider(), slotsCount.getAndIncrement());
+  }
+
+  @Override
+  public Class<? extends Annotation> getScope()
+  {
+    return parent.getScope();
+  }
+
+  @Override
+  public ScopeContext context()
+  {
+    ScopeContext context = parent.context();
+    return context != null ? context.child(index, identifier, slotsCount.get()) : null;
+  }
+
+  private static int acquireIndex()
+  {
+    synchronized(indices) {
+      int index = indices.nextClearBit(0);
+      indices.set(index);
+      return index;
+    }
+  }
+
+  private static void releaseIndex(int index)
+  {
+    synchronized(indices) {
+      indices.clear(index);
+    }
+  }
+}
@@ -2,62 +2,201 @@ package com.jslib.injector;
 
 import static java.lang.String.format;
 
-import java.util.Stack;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
 
 import com.jslib.api.log.Log;
 import com.jslib.api.log.LogFactory;
 
-class CircularDependencyGuard implements AutoCloseable
+/**
+ * Detect circular dependencies while provisioning providers create instances on current thread. Every provisioning
+ * provider pushes itself on dependencies trace before creating instance; a provider already on trace is a circular
+ * dependency.
+ * 
+ * Trace keeps, besides providers stack, a small fixed table of counters indexed by provider identity hash. A provider
+ * whose counter is zero is certainly not on trace, so that cycle check is constant time in the usual case; only on
+ * counter collision the stack is scanned for provider identity. Trace size does not depend on the number of providers
+ * created by application and trace arrays are reused for nested provisioning, so that nested calls do not allocate.
+ * Trace is bound to current thread only while outermost provisioning is in progress and is removed when it completes,
+ * so that no state is retained by threads that once provisioned instances; this matters when instances are provisioned
+ * from a large number of virtual threads. Released traces are returned to a small lock free pool and borrowed by next
+ * outermost provisioning, on any thread, so that outermost provisioning does not allocate trace arrays either.
+ * 
+ * Providers that are proven not to be part of a dependencies cycle, see {@link DependencyLinker}, do not need to use
+ * this guard at all.
+ * 
+ * @author Iulian Rotaru
+ */
+final class CircularDependencyGuard
 {
   private static final Log log = LogFactory.getLog(CircularDependencyGuard.class);
 
-  /** Thread local storage for dependencies trace stack. Used to prevent circular dependencies. */
-  private static ThreadLocal<Stack<Class<?>>> dependenciesStack = new ThreadLocal<>();
+  /** Thread local storage for dependencies trace, present only while current thread provisions instances. */
+  private static final ThreadLocal<CircularDependencyGuard> traces = new ThreadLocal<>();
 
-  private final Stack<Class<?>> stackTrace;
+  /** Pool of released traces; a trace is borrowed and returned by swapping pool slot, with no locking. */
+  private static final AtomicReferenceArray<CircularDependencyGuard> pool = new AtomicReferenceArray<>(Math.min(Runtime.getRuntime().availableProcessors() * 2, 64));
 
-  public CircularDependencyGuard()
+  private static final int INITIAL_DEPTH = 16;
+  /** Traces grown beyond this depth, on unusually deep dependencies graph, are not returned to pool. */
+  private static final int MAX_POOLED_DEPTH = 256;
+
+  /** Counters table size, power of two. */
+  private static final int BUCKETS = 64;
+
+  /** Counters of providers on trace, indexed by provider identity hash modulo table size. */
+  private final int[] counters;
+  /** Providers on trace, in push order. */
+  private Object[] stack;
+  /** Instance types of providers on trace, used only for error reporting. */
+  private Class<?>[] types;
+  /** Current trace depth. */
+  private int depth;
+  /** The number of nested holds, see {@link #hold()}; trace is not released while held. */
+  private int holds;
+
+  private CircularDependencyGuard()
+  {
+    this.counters = new int[BUCKETS];
+    this.stack = new Object[INITIAL_DEPTH];
+    this.types = new Class<?>[INITIAL_DEPTH];
+  }
+
+  /**
+   * Push provider on current thread dependencies trace. Every successful push should be paired by a {@link #pop()},
+   * usually from a finally block.
+   * 
+   * @param provider provisioning provider, compared by identity,
+   * @param type type of the instance provider is about to create.
+   * @throws IllegalStateException if provider is already on current thread dependencies trace.
+   */
+  public static void push(Object provider, Class<?> type)
+  {
+    CircularDependencyGuard trace = traces.get();
+    if(trace == null) {
+      trace = borrow();
+      traces.set(trace);
+    }
+    trace.add(provider, type);
+  }
+
+  /** Pop provider pushed by the most recent {@link #push(Object, Class)} and release trace after outermost pop. */
+  public static void pop()
   {
-    Stack<Class<?>> stackTrace = dependenciesStack.get();
-    if(stackTrace == null) {
-      stackTrace = new Stack<>();
-      dependenciesStack.set(stackTrace);
+    CircularDependencyGuard trace = traces.get();
+    if(trace.remove() == 0 && trace.holds == 0) {
+      traces.remove();
+      giveBack(trace);
     }
-    this.stackTrace = stackTrace;
   }
 
-  public void push(Class<?> type)
+  /**
+   * Keep current thread trace bound across many outermost provisioning calls, for batch resolution, so that trace is
+   * set up once per batch instead of once per resolved instance. Every hold should be paired by a {@link #release()},
+   * usually from a finally block.
+   */
+  public static void hold()
   {
-    if(stackTrace.contains(type)) {
-      try {
-        // add current dependency class to reveal what dependency from stack is circular
-        stackTrace.add(type);
+    CircularDependencyGuard trace = traces.get();
+    if(trace == null) {
+      trace = borrow();
+      traces.set(trace);
+    }
+    ++trace.holds;
+  }
+
+  /** Release trace held by the most recent {@link #hold()}; trace is removed from thread if not used anymore. */
+  public static void release()
+  {
+    CircularDependencyGuard trace = traces.get();
+    if(--trace.holds == 0 && trace.depth == 0) {
+      traces.remove();
+      giveBack(trace);
+    }
+  }
 
-        StringBuilder builder = new StringBuilder();
-        builder.append(format("Circular dependency on |%s|. Dependencies trace follows:\r\n", type.getName()));
-        for(Class<?> stackTraceClass : stackTrace) {
-          builder.append("\t- ");
-          builder.append(stackTraceClass.getName());
-          builder.append("\r\n");
+  private static CircularDependencyGuard borrow()
+  {
+    for(int i = 0; i < pool.length(); ++i) {
+      if(pool.get(i) != null) {
+        CircularDependencyGuard trace = pool.getAndSet(i, null);
+        if(trace != null) {
+          return trace;
         }
-        log.error(builder.toString());
+      }
+    }
+    return new CircularDependencyGuard();
+  }
 
-        throw new IllegalStateException(format("Circular dependency on |%s|. See stack trace on logger.", type.getName()));
+  private static void giveBack(CircularDependencyGuard trace)
+  {
+    // released trace is empty: depth is zero, counters are zero and stack slots were nulled on remove
+    if(trace.stack.length > MAX_POOLED_DEPTH) {
+      return;
+    }
+    for(int i = 0; i < pool.length(); ++i) {
+      if(pool.get(i) == null && pool.compareAndSet(i, null, trace)) {
+        return;
       }
-      finally {
-        // takes care to current thread stack trace is removed
-        dependenciesStack.remove();
+    }
+  }
+
+  private void add(Object provider, Class<?> type)
+  {
+    int bucket = bucket(provider);
+    if(counters[bucket] != 0 && contains(provider)) {
+      throw circularDependency(type);
+    }
+
+    if(depth == stack.length) {
+      stack = Arrays.copyOf(stack, depth << 1);
+      types = Arrays.copyOf(types, depth << 1);
+    }
+    ++counters[bucket];
+    stack[depth] = provider;
+    types[depth] = type;
+    ++depth;
+  }
+
+  private int remove()
+  {
+    --depth;
+    --counters[bucket(stack[depth])];
+    stack[depth] = null;
+    types[depth] = null;
+    return depth;
+  }
+
+  private boolean contains(Object provider)
+  {
+    for(int i = 0; i < depth; ++i) {
+      if(stack[i] == provider) {
+        return true;
       }
     }
+    return false;
+  }
 
-    stackTrace.push(type);
+  private static int bucket(Object provider)
+  {
+    return System.identityHashCode(provider) & (BUCKETS - 1);
   }
 
-  @Override
-  public void close()
+  private IllegalStateException circularDependency(Class<?> type)
   {
-    stackTrace.pop();
-    // do not remove stack trace after outermost call finished, i.e. when stack trace is empty
-    // leave it on thread local for reuse, in order to avoid unnecessary object creation
+    StringBuilder builder = new StringBuilder();
+    builder.append(format("Circular dependency on |%s|. Dependencies trace follows:\r\n", type.getName()));
+    for(int i = 0; i < depth; ++i) {
+      builder.append("\t- ");
+      builder.append(types[i].getName());
+      builder.append("\r\n");
+    }
+    // add current dependency class to reveal what dependency from trace is circular
+    builder.append("\t- ");
+    builder.append(type.getName());
+    builder.append("\r\n");
+    log.error(builder.toString());
+
+    return new IllegalStateException(format("Circular dependency on |%s|. See stack trace on logger.", type.getName()));
   }
-}
\ No newline at end of file
+}
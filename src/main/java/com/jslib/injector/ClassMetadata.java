@@ -0,0 +1,281 @@
+package com.jslib.injector;
+
+import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import com.jslib.api.injector.Key;
+
+import jakarta.enterprise.context.NormalScope;
+import jakarta.inject.Provider;
+import jakarta.inject.Scope;
+
+/**
+ * Injection metadata for an implementation class, independent of injector instance: selected constructor, injected
+ * fields and methods with their method handles, dependency keys and optional generated factory. Metadata is cached
+ * globally, per class, using {@link ClassValue} so that many injector instances in the same JVM scan a class only once,
+ * while cached metadata does not prevent class unloading since it is reachable only from its class.
+ * 
+ * Scope annotation, used by binding builder to scope bindings, is cached separately since it is looked up on
+ * interfaces too.
+ * 
+ * @author Iulian Rotaru
+ */
+final class ClassMetadata
+{
+  private static final ClassValue<ClassMetadata> metadata = new ClassValue<ClassMetadata>()
+  {
+    @Override
+    protected ClassMetadata computeValue(Class<?> type)
+    {
+      return new ClassMetadata(type);
+    }
+  };
+
+  private static final ClassValue<Optional<Class<? extends Annotation>>> scopes = new ClassValue<Optional<Class<? extends Annotation>>>()
+  {
+    @Override
+    protected Optional<Class<? extends Annotation>> computeValue(Class<?> type)
+    {
+      MetadataSnapshot snapshot = MetadataSnapshot.current();
+      Optional<Class<? extends Annotation>> scope = snapshot != null ? snapshot.scope(type) : null;
+      return scope != null ? scope : Optional.ofNullable(scanScope(type));
+    }
+  };
+
+  /** Generated factory value for classes where factory generation was attempted and failed. */
+  private static final Object NO_FACTORY = new Object();
+
+  /**
+   * Get injection metadata for implementation class, scanning class on first call.
+   * 
+   * @param type implementation class.
+   * @return class injection metadata.
+   * @throws com.jslib.api.injector.ProvisionException if implementation class is not valid; failure is not cached.
+   */
+  public static ClassMetadata of(Class<?> type)
+  {
+    return metadata.get(type);
+  }
+
+  /**
+   * Get scope annotation type declared by implementation class or by any of its interfaces.
+   * 
+   * @param type implementation class or interface.
+   * @return scope annotation type or null if class has no scope.
+   */
+  public static Class<? extends Annotation> scope(Class<?> type)
+  {
+    return scopes.get(type).orElse(null);
+  }
+
+  private final Class<?> type;
+  private final Constructor<?> constructor;
+  private final MethodHandle constructorHandle;
+  private final List<Dependency> constructorParameters;
+  private final List<FieldMember> fields;
+  private final List<MethodMember> methods;
+
+  /** Generated factory, {@link #NO_FACTORY} if generation failed or null if not attempted yet. */
+  private volatile Object factory;
+
+  private ClassMetadata(Class<?> type)
+  {
+    this.type = type;
+
+    List<Field> injectedFields;
+    List<Method> injectedMethods;
+    // prefer metadata snapshot or metadata generated at compile time, if present, over members scanning
+    MetadataSnapshot snapshot = MetadataSnapshot.current();
+    GeneratedMetadata<?> generatedMetadata = snapshot != null ? snapshot.metadata(type) : null;
+    if(generatedMetadata == null) {
+      generatedMetadata = GeneratedMetadata.load(type);
+    }
+    if(generatedMetadata != null) {
+      this.constructor = generatedMetadata.constructor();
+      injectedFields = generatedMetadata.fields();
+      injectedMethods = generatedMetadata.methods();
+    }
+    else {
+      this.constructor = ProvisioningProvider.constructor(type);
+      injectedFields = ProvisioningProvider.injectedFields(type);
+      injectedMethods = ProvisioningProvider.injectedMethods(type);
+    }
+
+    this.constructorHandle = ProvisioningProvider.spread(ProvisioningProvider.unreflect(constructor), constructor.getParameterCount(), ProvisioningProvider.CONSTRUCTOR_TYPE);
+    this.constructorParameters = dependencies(constructor.getParameters());
+
+    List<FieldMember> fields = new ArrayList<>();
+    for(Field field : injectedFields) {
+      field.setAccessible(true);
+      MethodHandle setter = ProvisioningProvider.unreflect(field).asType(ProvisioningProvider.SETTER_TYPE);
+      Key<?> key = key(field.getType(), field.getGenericType(), ProvisioningProvider.qualifier(field));
+      fields.add(new FieldMember(field, setter, new Dependency(key, providerKey(key, field.getType(), field.getGenericType()))));
+    }
+    this.fields = Collections.unmodifiableList(fields);
+
+    List<MethodMember> methods = new ArrayList<>();
+    for(Method method : injectedMethods) {
+      method.setAccessible(true);
+      MethodHandle handle = ProvisioningProvider.spread(ProvisioningProvider.unreflect(method), method.getParameterCount(), ProvisioningProvider.METHOD_TYPE);
+      methods.add(new MethodMember(method, handle, dependencies(method.getParameters())));
+    }
+    this.methods = Collections.unmodifiableList(methods);
+  }
+
+  public Constructor<?> constructor()
+  {
+    return constructor;
+  }
+
+  public MethodHandle constructorHandle()
+  {
+    return constructorHandle;
+  }
+
+  public List<Dependency> constructorParameters()
+  {
+    return constructorParameters;
+  }
+
+  public List<FieldMember> fields()
+  {
+    return fields;
+  }
+
+  public List<MethodMember> methods()
+  {
+    return methods;
+  }
+
+  /**
+   * Get generated factory for this class, generating it on first call. Generated factory class is defined once per
+   * implementation class and shared by all injectors.
+   * 
+   * @return generated factory or null if factory cannot be generated for this class.
+   */
+  public MethodHandle factory()
+  {
+    Object factory = this.factory;
+    if(factory == null) {
+      synchronized(this) {
+        factory = this.factory;
+        if(factory == null) {
+          List<Field> injectedFields = new ArrayList<>();
+          for(FieldMember field : fields) {
+            injectedFields.add(field.field);
+          }
+          List<Method> injectedMethods = new ArrayList<>();
+          for(MethodMember method : methods) {
+            injectedMethods.add(method.method);
+          }
+          factory = FactoryGenerator.factory(type, constructor, injectedFields, injectedMethods);
+          if(factory == null) {
+            factory = NO_FACTORY;
+          }
+          this.factory = factory;
+        }
+      }
+    }
+    return factory != NO_FACTORY ? (MethodHandle)factory : null;
+  }
+
+  private static List<Dependency> dependencies(Parameter[] parameters)
+  {
+    List<Dependency> dependencies = new ArrayList<>(parameters.length);
+    for(Parameter parameter : parameters) {
+      Key<?> key = key(parameter.getType(), parameter.getParameterizedType(), ProvisioningProvider.qualifier(parameter));
+      dependencies.add(new Dependency(key, providerKey(key, parameter.getType(), parameter.getParameterizedType())));
+    }
+    return Collections.unmodifiableList(dependencies);
+  }
+
+  /**
+   * Create dependency key for an injection point. Set, list and map injection points without qualifier are keyed as
+   * multi-bindings, see {@link Multibinder}.
+   */
+  private static Key<?> key(Class<?> type, Type genericType, Annotation qualifier)
+  {
+    if(qualifier == null) {
+      Class<?> elementType = Multibinder.elementType(type, genericType);
+      if(elementType != null) {
+        qualifier = Multibinder.contributions(elementType);
+      }
+    }
+    return Key.get(type, qualifier);
+  }
+
+  private static Key<?> providerKey(Key<?> key, Class<?> type, Type genericType)
+  {
+    return type.equals(Provider.class) ? key.forType(ProvisioningProvider.providerTypeArgument(genericType)) : null;
+  }
+
+  private static Class<? extends Annotation> scanScope(Class<?> type)
+  {
+    for(Annotation annotation : type.getAnnotations()) {
+      if(annotation.annotationType().isAnnotationPresent(Scope.class) || annotation.annotationType().isAnnotationPresent(NormalScope.class)) {
+        return annotation.annotationType();
+      }
+    }
+    for(Class<?> interfaceClass : type.getInterfaces()) {
+      Class<? extends Annotation> scope = scope(interfaceClass);
+      if(scope != null) {
+        return scope;
+      }
+    }
+    return null;
+  }
+
+  /** Constructor parameter, field or method parameter dependency. */
+  static final class Dependency
+  {
+    /** Dependency key, with qualifier if injection point has one. */
+    final Key<?> key;
+    /** Key of provided type if injection point is a provider, null otherwise. */
+    final Key<?> providerKey;
+
+    Dependency(Key<?> key, Key<?> providerKey)
+    {
+      this.key = key;
+      this.providerKey = providerKey;
+    }
+  }
+
+  /** Injected field with its setter handle, of {@link ProvisioningProvider#SETTER_TYPE} type. */
+  static final class FieldMember
+  {
+    final Field field;
+    final MethodHandle setter;
+    final Dependency dependency;
+
+    FieldMember(Field field, MethodHandle setter, Dependency dependency)
+    {
+      this.field = field;
+      this.setter = setter;
+      this.dependency = dependency;
+    }
+  }
+
+  /** Injected method with its handle, of {@link ProvisioningProvider#METHOD_TYPE} type. */
+  static final class MethodMember
+  {
+    final Method method;
+    final MethodHandle handle;
+    final List<Dependency> dependencies;
+
+    MethodMember(Method method, MethodHandle handle, List<Dependency> dependencies)
+    {
+      this.method = method;
+      this.handle = handle;
+      this.dependencies = dependencies;
+    }
+  }
+}
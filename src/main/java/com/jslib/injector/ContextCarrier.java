@@ -0,0 +1,62 @@
+package com.jslib.injector;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Carry scope context for the duration of a call. This is the Java 11 implementation, based on thread local storage;
+ * on Java 25 and later the multi-release JAR replaces it with an implementation based on <code>ScopedValue</code>, see
+ * <code>src/main/java25</code>. Both implementations restore previous context when call completes, so that nothing
+ * stays attached to pooled threads.
+ *
+ * @author Iulian Rotaru
+ */
+final class ContextCarrier
+{
+  private final ThreadLocal<ScopeContext> context = new ThreadLocal<>();
+
+  /**
+   * Get context bound to current thread by an enclosing {@link #call(ScopeContext, Callable)}.
+   *
+   * @return bound context or null.
+   */
+  ScopeContext get()
+  {
+    return context.get();
+  }
+
+  /**
+   * Execute call with given context bound to current thread.
+   *
+   * @param context context to bind,
+   * @param callable call to execute.
+   * @return call result.
+   * @throws Exception if call fails.
+   */
+  <R> R call(ScopeContext context, Callable<R> callable) throws Exception
+  {
+    ScopeContext previousContext = this.context.get();
+    this.context.set(context);
+    try {
+      return callable.call();
+    }
+    finally {
+      if(previousContext != null) {
+        this.context.set(previousContext);
+      }
+      else {
+        this.context.remove();
+      }
+    }
+  }
+
+  /**
+   * Test if this carrier is based on <code>ScopedValue</code>, that is, context is inherited by structured concurrency
+   * subtasks.
+   *
+   * @return true if context is carried by scoped value.
+   */
+  static boolean isScopedValue()
+  {
+    return false;
+  }
+}
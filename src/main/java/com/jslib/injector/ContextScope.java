@@ -0,0 +1,21 @@
+package com.jslib.injector;
+
+import java.lang.annotation.Annotation;
+
+/**
+ * Scope whose instances are stored on a {@link ScopeContext} bound to current execution, implemented by context scope
+ * factories and used by {@link ContextScopeProvider}. Implementations differ only on how active context is carried.
+ *
+ * @author Iulian Rotaru
+ */
+interface ContextScope
+{
+  Class<? extends Annotation> getScope();
+
+  /**
+   * Get context active on current thread.
+   *
+   * @return active context or null.
+   */
+  ScopeContext context();
+}
@@ -0,0 +1,119 @@
+package com.jslib.injector;
+
+import java.lang.annotation.Annotation;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.jslib.api.injector.IBinding;
+import com.jslib.api.injector.IInjector;
+import com.jslib.api.injector.IScopeFactory;
+
+/**
+ * Scope factory for scopes bound to an application context, like HTTP request or session. Every scoped binding gets a
+ * slot index from this factory and stores its instance on that slot of the {@link ScopeContext} active on current
+ * thread. Injector registers built-in factories for <code>RequestScoped</code> and <code>SessionScoped</code>; they
+ * are retrieved with {@link Injector#getScopeFactory(Class)} and cast to this class.
+ *
+ * Application activates a context on request thread with {@link #enter()} or {@link #enter(ScopeContext)} and
+ * deactivates it with {@link #exit()}, usually from a servlet filter. {@link #enter()} uses a context pooled per thread,
+ * cleared on exit, so that request scope does not allocate on hot path. A session context is created once per session
+ * with {@link #newContext()}, stored by application on its session object and entered on every session request.
+ *
+ * Instances are not proxied: a scoped instance should not be injected into a longer lived instance, that should inject
+ * its provider instead.
+ *
+ * @author Iulian Rotaru
+ */
+public class ContextScopeFactory<T> implements IScopeFactory<T>, ContextScope
+{
+  private final Class<? extends Annotation> scope;
+
+  /** The number of slots allocated to scoped bindings, used as initial capacity for new contexts. */
+  private final AtomicInteger slotsCount = new AtomicInteger();
+
+  private final ThreadLocal<Holder> holder = ThreadLocal.withInitial(Holder::new);
+
+  public ContextScopeFactory(Class<? extends Annotation> scope)
+  {
+    this.scope = scope;
+  }
+
+  @Override
+  public ContextScopeProvider<T> getScopedProvider(IInjector injector, IBinding<T> provisioningBinding)
+  {
+    return new ContextScopeProvider<>(this, provisioningBinding.provider(), slotsCount.getAndIncrement());
+  }
+
+  @Override
+  public Class<? extends Annotation> getScope()
+  {
+    return scope;
+  }
+
+  /**
+   * Create a new context, to be stored by application and entered with {@link #enter(ScopeContext)}; intended for
+   * long living contexts, like sessions.
+   *
+   * @return newly created context.
+   */
+  public ScopeContext newContext()
+  {
+    return new ScopeContext(slotsCount.get());
+  }
+
+  /**
+   * Activate on current thread a context pooled per thread. Pooled context is cleared on {@link #exit()}.
+   *
+   * @throws IllegalStateException if a context is already active on current thread.
+   */
+  public void enter()
+  {
+    Holder holder = this.holder.get();
+    if(holder.pooled == null) {
+      holder.pooled = newContext();
+    }
+    enter(holder, holder.pooled);
+  }
+
+  /**
+   * Activate given context on current thread.
+   *
+   * @param context context created by {@link #newContext()}.
+   * @throws IllegalStateException if a context is already active on current thread.
+   */
+  public void enter(ScopeContext context)
+  {
+    enter(holder.get(), context);
+  }
+
+  private void enter(Holder holder, ScopeContext context)
+  {
+    if(holder.current != null) {
+      throw new IllegalStateException("Context already active for scope " + scope);
+    }
+    holder.current = context;
+  }
+
+  /** Deactivate context active on current thread, clearing it if is the pooled context. Does nothing if none active. */
+  public void exit()
+  {
+    Holder holder = this.holder.get();
+    if(holder.current == holder.pooled && holder.pooled != null) {
+      holder.pooled.clear();
+    }
+    holder.current = null;
+  }
+
+  @Override
+  public ScopeContext context()
+  {
+    return holder.get().current;
+  }
+
+  // --------------------------------------------------------------------------------------------
+
+  private static class Holder
+  {
+    ScopeContext current;
+    ScopeContext pooled;
+  }
+}
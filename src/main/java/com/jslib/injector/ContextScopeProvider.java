@@ -0,0 +1,68 @@
+package com.jslib.injector;
+
+import java.lang.annotation.Annotation;
+
+import com.jslib.api.injector.ProvisionException;
+import com.jslib.api.injector.ScopedProvider;
+
+import jakarta.inject.Provider;
+
+/**
+ * Scoped provider that stores instances on the slot allocated to its binding by a context scope factory, in the context
+ * active on current thread, see {@link ContextScope}.
+ *
+ * @author Iulian Rotaru
+ */
+class ContextScopeProvider<T> extends ScopedProvider<T>
+{
+  private final ContextScope factory;
+  /** Context slot allocated for this provider binding. */
+  private final int slot;
+
+  public ContextScopeProvider(ContextScope factory, Provider<T> provisioningProvider, int slot)
+  {
+    super(provisioningProvider);
+    this.factory = factory;
+    this.slot = slot;
+  }
+
+  @Override
+  public Class<? extends Annotation> getScope()
+  {
+    return factory.getScope();
+  }
+
+  @Override
+  public T getScopeInstance()
+  {
+    ScopeContext context = factory.context();
+    return context != null ? context.get(slot) : null;
+  }
+
+  @Override
+  public T get()
+  {
+    ScopeContext context = factory.context();
+    if(context == null) {
+      throw new ProvisionException("No active context for scope |%s|.", factory.getScope());
+    }
+    T instance = context.get(slot);
+    if(instance == null) {
+      // context can be shared by concurrent threads, e.g. session context
+      synchronized(context) {
+        instance = context.get(slot);
+        if(instance == null) {
+          instance = getProvisioningProvider().get();
+          context.put(slot, instance);
+        }
+      }
+    }
+    return instance;
+  }
+
+  @Override
+  public String toString()
+  {
+    return getProvisioningProvider().toString() + ":" + factory.getScope().getSimpleName().toUpperCase();
+  }
+}
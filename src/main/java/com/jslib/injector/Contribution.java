@@ -0,0 +1,24 @@
+package com.jslib.injector;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+import jakarta.inject.Qualifier;
+
+/**
+ * Qualifier for bindings contributed to a multi-binding, created by {@link Multibinder#element()} and
+ * {@link Multibinder#entry(String)}. Every contribution has a unique identifier, in creation order, so that
+ * contributions do not collide on bindings map and multi-binding preserves contribution order.
+ *
+ * @author Iulian Rotaru
+ */
+@Qualifier
+@Retention(RetentionPolicy.RUNTIME)
+@interface Contribution
+{
+  /** Unique contribution identifier, in creation order. */
+  int id();
+
+  /** Map entry key or empty string for set and list elements. */
+  String key();
+}
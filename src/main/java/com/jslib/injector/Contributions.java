@@ -0,0 +1,21 @@
+package com.jslib.injector;
+
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+
+import jakarta.inject.Qualifier;
+
+/**
+ * Qualifier for multi-binding keys, that is, set, list or map types qualified by their element type. Injection points
+ * with parameterized set, list or map types and no qualifier are looked up with this qualifier, see
+ * {@link Multibinder}.
+ *
+ * @author Iulian Rotaru
+ */
+@Qualifier
+@Retention(RetentionPolicy.RUNTIME)
+@interface Contributions
+{
+  /** Multi-binding element type. */
+  Class<?> value();
+}
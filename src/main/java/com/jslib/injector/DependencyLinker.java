@@ -0,0 +1,258 @@
+package com.jslib.injector;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.jslib.api.injector.Key;
+import com.jslib.api.injector.ProvisionException;
+import com.jslib.api.injector.ScopedProvider;
+import com.jslib.api.log.Log;
+import com.jslib.api.log.LogFactory;
+
+import jakarta.inject.Provider;
+
+/**
+ * Link provisioning providers injection points directly to their target providers, after all modules are configured.
+ * Linked injection points get dependency instances from target provider and do not look up injector bindings on every
+ * instance creation. Linker walks dependencies graph depth first so that unresolved dependencies and circular
+ * dependencies are reported when injector is configured, not when an instance is first requested.
+ * 
+ * Provider injection points are not linked since they are resolved lazily, by injected provider, and are allowed to
+ * close a dependencies cycle.
+ * 
+ * A provisioning provider whose dependencies graph contains only providers known to this linker is proven to have no
+ * cycles and is marked as acyclic, so that it does not need {@link CircularDependencyGuard} at instance creation. A
+ * graph reaching a custom provider or custom scope is not proven since that provider can call injector on its own. For
+ * the same reason a graph reaching an injection point for a provider or for injector itself is not proven.
+ * 
+ * Multi-binding providers are linked through their contributors; a multi-binding is acyclic if all its contributors
+ * are.
+ * 
+ * Pooled bindings cannot be injected into other instances nor contributed to multi-bindings, see
+ * {@link PooledScopeFactory}.
+ * 
+ * For child injectors, dependencies not bound by child are resolved on parent injector. Parent providers are already
+ * linked and are not walked again; they cannot depend on child bindings so they cannot close a cycle.
+ * 
+ * @author Iulian Rotaru
+ */
+class DependencyLinker
+{
+  private static final Log log = LogFactory.getLog(DependencyLinker.class);
+
+  private final Map<Key<?>, Provider<?>> bindings;
+  /** Parent injector for child injector bindings, null for root injector. */
+  private final Injector parent;
+
+  /** Provisioning providers already linked, together with all their dependencies, mapped to acyclic proof. */
+  private final Map<ProvisioningProvider<?>, Boolean> linked = new IdentityHashMap<>();
+  /** Provisioning providers currently on dependencies walk, in walk order; used to detect circular dependencies. */
+  private final List<ProvisioningProvider<?>> trace = new ArrayList<>();
+
+  public DependencyLinker(Map<Key<?>, Provider<?>> bindings)
+  {
+    this(bindings, null);
+  }
+
+  public DependencyLinker(Map<Key<?>, Provider<?>> bindings, Injector parent)
+  {
+    this.bindings = bindings;
+    this.parent = parent;
+  }
+
+  /**
+   * Link all provisioning providers from injector bindings, including provisioning providers wrapped by scoped providers.
+   * Also records on every provisioning provider the keys it is bound to, used to select provision listeners.
+   * 
+   * @throws ProvisionException if a dependency has no binding or if dependencies graph has a cycle.
+   */
+  public void link()
+  {
+    addKeys();
+    for(Provider<?> provider : bindings.values()) {
+      link(provider);
+    }
+    log.debug("Linked |{providers_count}| provisioning providers.", linked.size());
+  }
+
+  /**
+   * Record on every provisioning provider from injector bindings the keys it is bound to, without linking. Does not
+   * need provisioning providers metadata.
+   */
+  public void addKeys()
+  {
+    for(Map.Entry<Key<?>, Provider<?>> binding : bindings.entrySet()) {
+      ProvisioningProvider<?> provisioningProvider = provisioningProvider(binding.getValue());
+      if(provisioningProvider != null) {
+        provisioningProvider.addKey(binding.getKey());
+      }
+    }
+  }
+
+  /**
+   * Link provider, if it is a provisioning provider, after linking all its dependencies.
+   * 
+   * @param provider provider from injector bindings.
+   * @return true if provider dependencies graph is proven to have no cycles.
+   */
+  private boolean link(Provider<?> provider)
+  {
+    provider = MeteredProvider.unwrap(provider);
+    if(provider instanceof SingletonScopeProvider || provider instanceof ContextScopeProvider || provider instanceof PooledScopeProvider) {
+      provider = ((ScopedProvider<?>)provider).getProvisioningProvider();
+    }
+    else if(provider instanceof ScopedProvider) {
+      // link provisioning provider but do not trust custom scope implementation
+      link(((ScopedProvider<?>)provider).getProvisioningProvider());
+      return false;
+    }
+    if(provider instanceof MultibindingProvider) {
+      boolean acyclic = true;
+      for(Provider<?> contributor : ((MultibindingProvider<?>)provider).contributors()) {
+        if(isPooled(contributor)) {
+          throw new ProvisionException("Pooled binding |%s| cannot be contributed to a multi-binding.", contributor);
+        }
+        acyclic &= link(contributor);
+      }
+      return acyclic;
+    }
+    if(!(provider instanceof ProvisioningProvider)) {
+      return provider instanceof InstanceProvider || provider instanceof ServiceProvider || provider instanceof ServicesProvider || provider instanceof RemoteProvider;
+    }
+
+    ProvisioningProvider<?> provisioningProvider = (ProvisioningProvider<?>)provider;
+    Boolean acyclic = linked.get(provisioningProvider);
+    if(acyclic != null) {
+      return acyclic;
+    }
+    if(trace.contains(provisioningProvider)) {
+      throw circularDependency(provisioningProvider);
+    }
+
+    trace.add(provisioningProvider);
+    // provider and injector injection points resolve on demand and can close cycles not visible to linker
+    acyclic = !provisioningProvider.hasDynamicDependencies();
+    for(Key<?> dependency : provisioningProvider.dependencies()) {
+      Provider<?> dependencyProvider = localProvider(dependency);
+      if(dependencyProvider == null && parent != null) {
+        dependencyProvider = parent.lookup(dependency);
+        if(dependencyProvider == null) {
+          throw new ProvisionException("No injector binding for |%s| required by |%s|.", dependency, provisioningProvider.type().getCanonicalName());
+        }
+        checkNotPooled(dependency, dependencyProvider, provisioningProvider);
+        acyclic &= isAcyclic(dependencyProvider);
+        continue;
+      }
+      if(dependencyProvider != null) {
+        checkNotPooled(dependency, dependencyProvider, provisioningProvider);
+        // do not short circuit, all dependencies should be linked
+        acyclic &= link(dependencyProvider);
+        continue;
+      }
+      throw new ProvisionException("No injector binding for |%s| required by |%s|.", dependency, provisioningProvider.type().getCanonicalName());
+    }
+    provisioningProvider.link(this::resolve, acyclic);
+    trace.remove(trace.size() - 1);
+    linked.put(provisioningProvider, acyclic);
+    return acyclic;
+  }
+
+  /**
+   * Test if a provider already linked, for example from parent injector, is proven to have no cycles.
+   * 
+   * @param provider provider from injector bindings.
+   * @return true if provider dependencies graph is proven to have no cycles.
+   */
+  static boolean isAcyclic(Provider<?> provider)
+  {
+    provider = MeteredProvider.unwrap(provider);
+    if(provider instanceof SingletonScopeProvider || provider instanceof ContextScopeProvider || provider instanceof PooledScopeProvider) {
+      provider = ((ScopedProvider<?>)provider).getProvisioningProvider();
+    }
+    else if(provider instanceof ScopedProvider) {
+      return false;
+    }
+    if(provider instanceof ProvisioningProvider) {
+      return ((ProvisioningProvider<?>)provider).isAcyclic();
+    }
+    if(provider instanceof MultibindingProvider) {
+      for(Provider<?> contributor : ((MultibindingProvider<?>)provider).contributors()) {
+        if(!isAcyclic(contributor)) {
+          return false;
+        }
+      }
+      return true;
+    }
+    return provider instanceof InstanceProvider || provider instanceof ServiceProvider || provider instanceof ServicesProvider || provider instanceof RemoteProvider;
+  }
+
+  /**
+   * Pooled instances are borrowed and should be released by the code that requested them; an injected pooled instance
+   * would be borrowed and never released.
+   * 
+   * @throws ProvisionException if dependency provider is pooled.
+   */
+  private static void checkNotPooled(Key<?> dependency, Provider<?> dependencyProvider, ProvisioningProvider<?> provisioningProvider)
+  {
+    if(isPooled(dependencyProvider)) {
+      throw new ProvisionException("Pooled binding |%s| cannot be injected into |%s|. Inject its provider and release borrowed instances.", dependency, provisioningProvider.type().getCanonicalName());
+    }
+  }
+
+  private static boolean isPooled(Provider<?> provider)
+  {
+    return MeteredProvider.unwrap(provider) instanceof PooledScopeProvider;
+  }
+
+  private Provider<?> resolve(Key<?> key)
+  {
+    Provider<?> provider = localProvider(key);
+    return provider != null || parent == null ? provider : parent.lookup(key);
+  }
+
+  /**
+   * Get provider from this linker bindings. A multi-binding key without multi-binding falls back to plain collection
+   * type binding, if any.
+   * 
+   * @param key dependency key.
+   * @return provider or null.
+   */
+  private Provider<?> localProvider(Key<?> key)
+  {
+    return Multibinder.lookup(bindings::get, key);
+  }
+
+  /**
+   * Get provisioning provider bound directly or wrapped by a scoped or metered provider.
+   * 
+   * @param provider provider from injector bindings.
+   * @return provisioning provider or null.
+   */
+  static ProvisioningProvider<?> provisioningProvider(Provider<?> provider)
+  {
+    provider = MeteredProvider.unwrap(provider);
+    if(provider instanceof ScopedProvider) {
+      provider = ((ScopedProvider<?>)provider).getProvisioningProvider();
+    }
+    return provider instanceof ProvisioningProvider ? (ProvisioningProvider<?>)provider : null;
+  }
+
+  private ProvisionException circularDependency(ProvisioningProvider<?> provider)
+  {
+    String typeName = provider.type().getName();
+    StringBuilder builder = new StringBuilder();
+    builder.append(String.format("Circular dependency on |%s|. Dependencies trace follows:\r\n", typeName));
+    for(int i = trace.indexOf(provider); i < trace.size(); ++i) {
+      builder.append("\t- ");
+      builder.append(trace.get(i).type().getName());
+      builder.append("\r\n");
+    }
+    builder.append("\t- ");
+    builder.append(typeName);
+    builder.append("\r\n");
+    log.error(builder.toString());
+    return new ProvisionException("Circular dependency on |%s|. See dependencies trace on logger.", typeName);
+  }
+}
@@ -0,0 +1,19 @@
+package com.jslib.injector;
+
+/**
+ * Policy applied by asynchronous provision events delivery when events queue is full. See
+ * {@link Injector#setAsyncEvents(int, EventsOverflowPolicy)}.
+ * 
+ * @author Iulian Rotaru
+ */
+public enum EventsOverflowPolicy
+{
+  /** Provisioning thread waits for free space in events queue; this is back pressure on provisioning. */
+  BLOCK,
+  /** New event is discarded and counted as dropped. */
+  DROP_NEWEST,
+  /** Oldest queued event is discarded, and counted as dropped, to make room for new event. */
+  DROP_OLDEST,
+  /** Provisioning thread delivers the event itself, inline, as when asynchronous delivery is not enabled. */
+  CALLER_RUNS
+}
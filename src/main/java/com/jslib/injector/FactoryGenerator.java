@@ -0,0 +1,427 @@
+package com.jslib.injector;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.jslib.api.log.Log;
+import com.jslib.api.log.LogFactory;
+
+/**
+ * Generate, at runtime, a small factory class for an implementation class. Factory has a single static method that
+ * invokes implementation constructor, assigns injected fields and invokes injected methods with plain bytecode - as
+ * hand written code does, so that JIT is able to inline the whole provisioning.
+ *
+ * Generated factory method has the signature below. Arguments are already resolved by provisioning provider and are in
+ * declaration order, the same order used to create factory.
+ *
+ * <pre>
+ * public static Object newInstance(Object[] constructorArguments, Object[] fieldValues, Object[][] methodsArguments)
+ * </pre>
+ *
+ * Factory class is defined into implementation class package, using a private lookup on implementation class. Since
+ * factory is not a nest mate, private members are not accessible; if implementation has private constructor, private
+ * injected fields or methods, or if a referenced type is not accessible, factory is not generated and
+ * {@link #factory(Class, Constructor, List, List)} returns null. Returns null also if runtime does not permit class
+ * definition. In both cases provisioning provider falls back to reflective method handles.
+ *
+ * @author Iulian Rotaru
+ */
+final class FactoryGenerator
+{
+  private static final Log log = LogFactory.getLog(FactoryGenerator.class);
+
+  /** Type of the generated factory method. */
+  static final MethodType FACTORY_TYPE = MethodType.methodType(Object.class, Object[].class, Object[].class, Object[][].class);
+
+  private static final String FACTORY_METHOD = "newInstance";
+  private static final String FACTORY_DESCRIPTOR = "([Ljava/lang/Object;[Ljava/lang/Object;[[Ljava/lang/Object;)Ljava/lang/Object;";
+
+  /** Suffix for generated factory class names, made unique in order to avoid duplicated class definition. */
+  private static final AtomicInteger FACTORY_INDEX = new AtomicInteger();
+
+  private FactoryGenerator()
+  {
+  }
+
+  /**
+   * Generate and load factory class for given implementation class and return handle to its factory method, of type
+   * {@link #FACTORY_TYPE}. Returns null if factory cannot be generated; caller should use reflective instantiation.
+   *
+   * @param type implementation class,
+   * @param constructor selected constructor,
+   * @param fields injected fields, in declaration order,
+   * @param methods injected methods, in declaration order.
+   * @return factory method handle or null.
+   */
+  static MethodHandle factory(Class<?> type, Constructor<?> constructor, List<Field> fields, List<Method> methods)
+  {
+    if(!isSupported(type, constructor, fields, methods)) {
+      log.debug("Implementation |{java_type}| has private members. Fall back to reflective provisioning.", type);
+      return null;
+    }
+
+    String factoryName = type.getName() + "$$Factory" + FACTORY_INDEX.incrementAndGet();
+    try {
+      byte[] bytecode = new ClassWriter(factoryName, type, constructor, fields, methods).write();
+      MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+      Class<?> factoryClass = lookup.defineClass(bytecode);
+      // force class verification and initialization here, not on first factory invocation
+      Class.forName(factoryClass.getName(), true, factoryClass.getClassLoader());
+      return lookup.findStatic(factoryClass, FACTORY_METHOD, FACTORY_TYPE);
+    }
+    catch(Throwable e) {
+      // class definition not permitted by security manager or module system or verification failure
+      log.debug("Cannot define factory class for |{java_type}|. Fall back to reflective provisioning. Root cause: {exception}", type, e);
+      return null;
+    }
+  }
+
+  private static boolean isSupported(Class<?> type, Constructor<?> constructor, List<Field> fields, List<Method> methods)
+  {
+    if(Modifier.isPrivate(type.getModifiers()) || !isAccessible(constructor)) {
+      return false;
+    }
+    if(type.getName().startsWith("java.")) {
+      return false;
+    }
+    for(Class<?> parameterType : constructor.getParameterTypes()) {
+      if(!isAccessible(type, parameterType)) {
+        return false;
+      }
+    }
+    for(Field field : fields) {
+      if(!isAccessible(field) || Modifier.isFinal(field.getModifiers()) || !isAccessible(type, field.getType())) {
+        return false;
+      }
+    }
+    for(Method method : methods) {
+      if(!isAccessible(method)) {
+        return false;
+      }
+      for(Class<?> parameterType : method.getParameterTypes()) {
+        if(!isAccessible(type, parameterType)) {
+          return false;
+        }
+      }
+    }
+    return true;
+  }
+
+  private static boolean isAccessible(Member member)
+  {
+    return !Modifier.isPrivate(member.getModifiers()) && !Modifier.isStatic(member.getModifiers());
+  }
+
+  /**
+   * Test if referenced type is accessible from a class defined in implementation class package. Primitive types are not
+   * supported since factory does not emit unboxing code.
+   *
+   * @param type implementation class,
+   * @param referencedType type referenced by factory bytecode.
+   * @return true if referenced type is accessible from factory class.
+   */
+  private static boolean isAccessible(Class<?> type, Class<?> referencedType)
+  {
+    while(referencedType.isArray()) {
+      referencedType = referencedType.getComponentType();
+    }
+    if(referencedType.isPrimitive()) {
+      return false;
+    }
+    if(Modifier.isPublic(referencedType.getModifiers())) {
+      return true;
+    }
+    return !Modifier.isPrivate(referencedType.getModifiers()) && referencedType.getPackageName().equals(type.getPackageName()) && referencedType.getClassLoader() == type.getClassLoader();
+  }
+
+  private static String internalName(Class<?> type)
+  {
+    return type.getName().replace('.', '/');
+  }
+
+  private static String descriptor(Class<?> type)
+  {
+    if(type.isArray()) {
+      return internalName(type);
+    }
+    if(!type.isPrimitive()) {
+      return 'L' + internalName(type) + ';';
+    }
+    if(type == void.class) {
+      return "V";
+    }
+    if(type == boolean.class) {
+      return "Z";
+    }
+    if(type == long.class) {
+      return "J";
+    }
+    // the rest of primitive types descriptors are the upper case first letter: byte, char, short, int, float, double
+    return type.getName().substring(0, 1).toUpperCase();
+  }
+
+  private static String descriptor(Class<?>[] parameterTypes, Class<?> returnType)
+  {
+    StringBuilder builder = new StringBuilder("(");
+    for(Class<?> parameterType : parameterTypes) {
+      builder.append(descriptor(parameterType));
+    }
+    builder.append(')');
+    builder.append(descriptor(returnType));
+    return builder.toString();
+  }
+
+  // --------------------------------------------------------------------------------------------
+
+  /**
+   * Minimal class file writer, good only for factory class layout: no fields, no constructor and a single static method
+   * with straight line code, that is, no branches and no stack map frames.
+   *
+   * @author Iulian Rotaru
+   */
+  private static class ClassWriter
+  {
+    private static final int CLASS_FILE_VERSION = 52;
+
+    private static final int ACC_PUBLIC = 0x0001;
+    private static final int ACC_STATIC = 0x0008;
+    private static final int ACC_FINAL = 0x0010;
+    private static final int ACC_SUPER = 0x0020;
+
+    private static final int CONSTANT_UTF8 = 1;
+    private static final int CONSTANT_CLASS = 7;
+    private static final int CONSTANT_FIELDREF = 9;
+    private static final int CONSTANT_METHODREF = 10;
+    private static final int CONSTANT_NAME_AND_TYPE = 12;
+
+    private static final int ICONST_0 = 0x03;
+    private static final int BIPUSH = 0x10;
+    private static final int SIPUSH = 0x11;
+    private static final int ALOAD_0 = 0x2a;
+    private static final int AALOAD = 0x32;
+    private static final int POP = 0x57;
+    private static final int POP2 = 0x58;
+    private static final int DUP = 0x59;
+    private static final int ARETURN = 0xb0;
+    private static final int PUTFIELD = 0xb5;
+    private static final int INVOKEVIRTUAL = 0xb6;
+    private static final int INVOKESPECIAL = 0xb7;
+    private static final int NEW = 0xbb;
+    private static final int CHECKCAST = 0xc0;
+
+    private final ByteArrayOutputStream constantsBytes = new ByteArrayOutputStream();
+    private final DataOutputStream constants = new DataOutputStream(constantsBytes);
+    private final Map<String, Integer> constantsIndex = new HashMap<>();
+    /** Constants pool index starts with 1. */
+    private int constantsCount = 1;
+
+    private final ByteArrayOutputStream codeBytes = new ByteArrayOutputStream();
+    private final DataOutputStream code = new DataOutputStream(codeBytes);
+
+    private final String factoryName;
+    private final Class<?> type;
+    private final Constructor<?> constructor;
+    private final List<Field> fields;
+    private final List<Method> methods;
+
+    public ClassWriter(String factoryName, Class<?> type, Constructor<?> constructor, List<Field> fields, List<Method> methods)
+    {
+      this.factoryName = factoryName;
+      this.type = type;
+      this.constructor = constructor;
+      this.fields = fields;
+      this.methods = methods;
+    }
+
+    public byte[] write() throws IOException
+    {
+      int maxArguments = constructor.getParameterCount();
+      for(Method method : methods) {
+        maxArguments = Math.max(maxArguments, method.getParameterCount());
+      }
+
+      // static Object newInstance(Object[] constructorArguments, Object[] fieldValues, Object[][] methodsArguments)
+      // local 0: constructor arguments, local 1: field values, local 2: methods arguments
+
+      String typeName = internalName(type);
+      code.writeByte(NEW);
+      code.writeShort(classConstant(typeName));
+      code.writeByte(DUP);
+      Class<?>[] parameterTypes = constructor.getParameterTypes();
+      for(int i = 0; i < parameterTypes.length; ++i) {
+        loadElement(0, i, parameterTypes[i]);
+      }
+      code.writeByte(INVOKESPECIAL);
+      code.writeShort(memberConstant(CONSTANT_METHODREF, typeName, "<init>", descriptor(parameterTypes, void.class)));
+
+      for(int i = 0; i < fields.size(); ++i) {
+        Field field = fields.get(i);
+        code.writeByte(DUP);
+        loadElement(1, i, field.getType());
+        code.writeByte(PUTFIELD);
+        code.writeShort(memberConstant(CONSTANT_FIELDREF, typeName, field.getName(), descriptor(field.getType())));
+      }
+
+      for(int i = 0; i < methods.size(); ++i) {
+        Method method = methods.get(i);
+        code.writeByte(DUP);
+        parameterTypes = method.getParameterTypes();
+        for(int j = 0; j < parameterTypes.length; ++j) {
+          code.writeByte(ALOAD_0 + 2);
+          pushInt(i);
+          code.writeByte(AALOAD);
+          pushInt(j);
+          code.writeByte(AALOAD);
+          code.writeByte(CHECKCAST);
+          code.writeShort(classConstant(internalName(parameterTypes[j])));
+        }
+        code.writeByte(INVOKEVIRTUAL);
+        code.writeShort(memberConstant(CONSTANT_METHODREF, typeName, method.getName(), descriptor(parameterTypes, method.getReturnType())));
+        Class<?> returnType = method.getReturnType();
+        if(returnType == long.class || returnType == double.class) {
+          code.writeByte(POP2);
+        }
+        else if(returnType != void.class) {
+          code.writeByte(POP);
+        }
+      }
+      code.writeByte(ARETURN);
+
+      int thisClass = classConstant(factoryName.replace('.', '/'));
+      int superClass = classConstant("java/lang/Object");
+      int methodName = utf8Constant(FACTORY_METHOD);
+      int methodDescriptor = utf8Constant(FACTORY_DESCRIPTOR);
+      int codeAttribute = utf8Constant("Code");
+
+      ByteArrayOutputStream classBytes = new ByteArrayOutputStream();
+      DataOutputStream classFile = new DataOutputStream(classBytes);
+      classFile.writeInt(0xCAFEBABE);
+      classFile.writeShort(0);
+      classFile.writeShort(CLASS_FILE_VERSION);
+      classFile.writeShort(constantsCount);
+      constants.flush();
+      classFile.write(constantsBytes.toByteArray());
+      classFile.writeShort(ACC_FINAL | ACC_SUPER);
+      classFile.writeShort(thisClass);
+      classFile.writeShort(superClass);
+      // interfaces and fields count
+      classFile.writeShort(0);
+      classFile.writeShort(0);
+
+      classFile.writeShort(1);
+      classFile.writeShort(ACC_PUBLIC | ACC_STATIC);
+      classFile.writeShort(methodName);
+      classFile.writeShort(methodDescriptor);
+      classFile.writeShort(1);
+
+      code.flush();
+      byte[] bytecode = codeBytes.toByteArray();
+      classFile.writeShort(codeAttribute);
+      // attribute length: max stack, max locals, code length, code, exception table length and attributes count
+      classFile.writeInt(2 + 2 + 4 + bytecode.length + 2 + 2);
+      // new instance and its dup, arguments already loaded plus array reference and index for current argument
+      classFile.writeShort(maxArguments + 4);
+      classFile.writeShort(3);
+      classFile.writeInt(bytecode.length);
+      classFile.write(bytecode);
+      classFile.writeShort(0);
+      classFile.writeShort(0);
+
+      // class attributes count
+      classFile.writeShort(0);
+      classFile.flush();
+      return classBytes.toByteArray();
+    }
+
+    private void loadElement(int local, int index, Class<?> elementType) throws IOException
+    {
+      code.writeByte(ALOAD_0 + local);
+      pushInt(index);
+      code.writeByte(AALOAD);
+      code.writeByte(CHECKCAST);
+      code.writeShort(classConstant(internalName(elementType)));
+    }
+
+    private void pushInt(int value) throws IOException
+    {
+      if(value <= 5) {
+        code.writeByte(ICONST_0 + value);
+      }
+      else if(value <= Byte.MAX_VALUE) {
+        code.writeByte(BIPUSH);
+        code.writeByte(value);
+      }
+      else if(value <= Short.MAX_VALUE) {
+        code.writeByte(SIPUSH);
+        code.writeShort(value);
+      }
+      else {
+        throw new IOException("Index too large for factory bytecode: " + value);
+      }
+    }
+
+    private int utf8Constant(String value) throws IOException
+    {
+      Integer index = constantsIndex.get("U:" + value);
+      if(index == null) {
+        constants.writeByte(CONSTANT_UTF8);
+        constants.writeUTF(value);
+        index = newConstant("U:" + value);
+      }
+      return index;
+    }
+
+    private int classConstant(String internalName) throws IOException
+    {
+      Integer index = constantsIndex.get("C:" + internalName);
+      if(index == null) {
+        int name = utf8Constant(internalName);
+        constants.writeByte(CONSTANT_CLASS);
+        constants.writeShort(name);
+        index = newConstant("C:" + internalName);
+      }
+      return index;
+    }
+
+    private int memberConstant(int tag, String owner, String name, String descriptor) throws IOException
+    {
+      String constantKey = tag + ":" + owner + "." + name + descriptor;
+      Integer index = constantsIndex.get(constantKey);
+      if(index == null) {
+        int ownerIndex = classConstant(owner);
+        int nameIndex = utf8Constant(name);
+        int descriptorIndex = utf8Constant(descriptor);
+        constants.writeByte(CONSTANT_NAME_AND_TYPE);
+        constants.writeShort(nameIndex);
+        constants.writeShort(descriptorIndex);
+        int nameAndType = constantsCount++;
+
+        constants.writeByte(tag);
+        constants.writeShort(ownerIndex);
+        constants.writeShort(nameAndType);
+        index = newConstant(constantKey);
+      }
+      return index;
+    }
+
+    private int newConstant(String constantKey)
+    {
+      int index = constantsCount++;
+      constantsIndex.put(constantKey, index);
+      return index;
+    }
+  }
+}
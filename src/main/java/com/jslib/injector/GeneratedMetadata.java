@@ -0,0 +1,253 @@
+package com.jslib.injector;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.function.Supplier;
+
+import com.jslib.api.injector.ProvisionException;
+import com.jslib.api.log.Log;
+import com.jslib.api.log.LogFactory;
+
+/**
+ * Provisioning metadata generated at compile time by <code>js-injector-processor</code>. Processor creates a metadata
+ * class for every class that has members annotated with <code>@Inject</code>, so that provisioning provider does not
+ * need to scan all declared constructors, fields and methods; it looks up only the members named by metadata.
+ *
+ * Metadata class is in the same package as implementation class and its simple name is implementation class name,
+ * without package, with dollar replaced by underscore and <code>_ProvisioningMetadata</code> suffix; for example,
+ * metadata for <code>com.app.Outer$Inner</code> is <code>com.app.Outer_Inner_ProvisioningMetadata</code>.
+ *
+ * Processor lists generated metadata classes on {@link #INDEX_RESOURCE} resource. Index resources visible from a class
+ * loader are read once per class loader and metadata class is loaded only if listed, so that implementation classes
+ * without metadata do not cost a class loader look up.
+ *
+ * In order to keep generated code free of dependencies on this library, metadata class implements
+ * {@link Supplier}&lt;String[][]&gt; and returns a table with layout below. Types are stored as class names, as
+ * accepted by {@link Class#forName(String)}, or primitive type names.
+ * <ul>
+ * <li>row 0: selected constructor parameter types, in declaration order,
+ * <li>row 1: injected field names, in declaration order,
+ * <li>row 2 and following: one row per injected method, method name followed by parameter types.
+ * </ul>
+ *
+ * @author Iulian Rotaru
+ */
+class GeneratedMetadata<T>
+{
+  private static final Log log = LogFactory.getLog(GeneratedMetadata.class);
+
+  static final String CLASS_SUFFIX = "_ProvisioningMetadata";
+  static final String INDEX_RESOURCE = "META-INF/js-injector/provisioning-metadata";
+
+  /** Generated metadata class names listed by index resources, per class loader. */
+  private static final Map<ClassLoader, Set<String>> indexes = Collections.synchronizedMap(new WeakHashMap<>());
+
+  private static final int CONSTRUCTOR_ROW = 0;
+  private static final int FIELDS_ROW = 1;
+  private static final int METHODS_ROW = 2;
+
+  private final Constructor<T> constructor;
+  private final List<Field> fields;
+  private final List<Method> methods;
+
+  private GeneratedMetadata(Constructor<T> constructor, List<Field> fields, List<Method> methods)
+  {
+    this.constructor = constructor;
+    this.fields = fields;
+    this.methods = methods;
+  }
+
+  public Constructor<T> constructor()
+  {
+    return constructor;
+  }
+
+  public List<Field> fields()
+  {
+    return fields;
+  }
+
+  public List<Method> methods()
+  {
+    return methods;
+  }
+
+  /**
+   * Load generated metadata for implementation class, if present on implementation class loader. Returns null if there
+   * is no metadata class, in which case caller should scan implementation class members.
+   *
+   * @param type implementation class.
+   * @return generated metadata or null.
+   * @throws ProvisionException if metadata class is present but out of sync with implementation class.
+   */
+  static <T> GeneratedMetadata<T> load(Class<T> type)
+  {
+    ClassLoader classLoader = type.getClassLoader();
+    if(classLoader == null) {
+      return null;
+    }
+    String className = className(type);
+    if(!indexes.computeIfAbsent(classLoader, GeneratedMetadata::index).contains(className)) {
+      return null;
+    }
+
+    try {
+      @SuppressWarnings("unchecked")
+      Class<? extends Supplier<String[][]>> metadataClass = (Class<? extends Supplier<String[][]>>)Class.forName(className, true, classLoader);
+      String[][] metadata = metadataClass.getDeclaredConstructor().newInstance().get();
+      log.debug("Load generated provisioning metadata |{java_type}|.", metadataClass);
+      return of(type, metadata);
+    }
+    catch(ReflectiveOperationException | ClassCastException e) {
+      throw new ProvisionException("Invalid generated metadata |%s|. Root cause: %s: %s", className, e.getClass().getCanonicalName(), e.getMessage());
+    }
+  }
+
+  /**
+   * Read generated metadata class names from all index resources visible from class loader. Index read failure is
+   * logged and metadata from failing resource is not used, since provisioning provider can scan class members.
+   *
+   * @param classLoader implementation classes loader.
+   * @return generated metadata class names, possible empty.
+   */
+  private static Set<String> index(ClassLoader classLoader)
+  {
+    Set<String> index = new HashSet<>();
+    try {
+      Enumeration<URL> resources = classLoader.getResources(INDEX_RESOURCE);
+      while(resources.hasMoreElements()) {
+        URL resource = resources.nextElement();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.openStream(), StandardCharsets.UTF_8))) {
+          String line;
+          while((line = reader.readLine()) != null) {
+            line = line.trim();
+            if(!line.isEmpty()) {
+              index.add(line);
+            }
+          }
+        }
+      }
+    }
+    catch(IOException e) {
+      log.warn("Fail to read generated provisioning metadata index: {exception}", e);
+    }
+    return index;
+  }
+
+  /**
+   * Look up implementation class members listed by a metadata table with the layout described by class description.
+   *
+   * @param type implementation class,
+   * @param metadata metadata table.
+   * @return metadata members.
+   * @throws ReflectiveOperationException if metadata table is out of sync with implementation class.
+   */
+  static <T> GeneratedMetadata<T> of(Class<T> type, String[][] metadata) throws ReflectiveOperationException
+  {
+    ClassLoader classLoader = type.getClassLoader();
+    Constructor<T> constructor = type.getDeclaredConstructor(types(classLoader, metadata[CONSTRUCTOR_ROW], 0));
+    constructor.setAccessible(true);
+
+    List<Field> fields = new ArrayList<>();
+    for(String fieldName : metadata[FIELDS_ROW]) {
+      fields.add(type.getDeclaredField(fieldName));
+    }
+
+    List<Method> methods = new ArrayList<>();
+    for(int i = METHODS_ROW; i < metadata.length; ++i) {
+      methods.add(type.getDeclaredMethod(metadata[i][0], types(classLoader, metadata[i], 1)));
+    }
+    return new GeneratedMetadata<>(constructor, Collections.unmodifiableList(fields), Collections.unmodifiableList(methods));
+  }
+
+  /**
+   * Create metadata table, with the layout described by class description, for given members.
+   *
+   * @param constructor selected constructor,
+   * @param fields injected fields,
+   * @param methods injected methods.
+   * @return metadata table.
+   */
+  static String[][] table(Constructor<?> constructor, List<Field> fields, List<Method> methods)
+  {
+    String[][] metadata = new String[METHODS_ROW + methods.size()][];
+    metadata[CONSTRUCTOR_ROW] = names(null, constructor.getParameterTypes());
+    metadata[FIELDS_ROW] = new String[fields.size()];
+    for(int i = 0; i < fields.size(); ++i) {
+      metadata[FIELDS_ROW][i] = fields.get(i).getName();
+    }
+    for(int i = 0; i < methods.size(); ++i) {
+      Method method = methods.get(i);
+      metadata[METHODS_ROW + i] = names(method.getName(), method.getParameterTypes());
+    }
+    return metadata;
+  }
+
+  private static String[] names(String name, Class<?>[] types)
+  {
+    int offset = name != null ? 1 : 0;
+    String[] names = new String[types.length + offset];
+    if(name != null) {
+      names[0] = name;
+    }
+    for(int i = 0; i < types.length; ++i) {
+      // class name is accepted by class for name, for arrays too; primitive names are handled by type(ClassLoader, String)
+      names[i + offset] = types[i].getName();
+    }
+    return names;
+  }
+
+  static String className(Class<?> type)
+  {
+    String packageName = type.getPackageName();
+    String simpleName = packageName.isEmpty() ? type.getName() : type.getName().substring(packageName.length() + 1);
+    return (packageName.isEmpty() ? "" : packageName + '.') + simpleName.replace('$', '_') + CLASS_SUFFIX;
+  }
+
+  private static Class<?>[] types(ClassLoader classLoader, String[] names, int offset) throws ClassNotFoundException
+  {
+    Class<?>[] types = new Class<?>[names.length - offset];
+    for(int i = 0; i < types.length; ++i) {
+      types[i] = type(classLoader, names[i + offset]);
+    }
+    return types;
+  }
+
+  private static Class<?> type(ClassLoader classLoader, String name) throws ClassNotFoundException
+  {
+    switch(name) {
+    case "boolean":
+      return boolean.class;
+    case "byte":
+      return byte.class;
+    case "char":
+      return char.class;
+    case "short":
+      return short.class;
+    case "int":
+      return int.class;
+    case "long":
+      return long.class;
+    case "float":
+      return float.class;
+    case "double":
+      return double.class;
+    default:
+      return Class.forName(name, false, classLoader);
+    }
+  }
+}
@@ -1,11 +1,20 @@
 package com.jslib.injector;
 
 import java.lang.annotation.Annotation;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
 import java.util.HashMap;
-import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Map;
 import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Predicate;
+
+import javax.management.ObjectName;
 
 import com.jslib.api.injector.IBindingBuilder;
 import com.jslib.api.injector.IInjector;
@@ -13,6 +22,7 @@ import com.jslib.api.injector.IModule;
 import com.jslib.api.injector.IProvisionInvocation;
 import com.jslib.api.injector.IProvisionListener;
 import com.jslib.api.injector.IScopeFactory;
+import com.jslib.api.injector.ITypedProvider;
 import com.jslib.api.injector.Key;
 import com.jslib.api.injector.Names;
 import com.jslib.api.injector.ProvisionException;
@@ -21,6 +31,8 @@ import com.jslib.api.log.LogFactory;
 
 import jakarta.enterprise.context.ApplicationScoped;
 import jakarta.enterprise.context.NormalScope;
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.enterprise.context.SessionScoped;
 import jakarta.inject.Provider;
 import jakarta.inject.Scope;
 import jakarta.inject.Singleton;
@@ -29,19 +41,86 @@ public class Injector implements IInjector
 {
   private static final Log log = LogFactory.getLog(Injector.class);
 
+  /** Parent injector of a child injector, null for root injector; see {@link #createChild(IModule...)}. */
+  private final Injector parent;
+
   private final Map<Class<? extends Annotation>, IScopeFactory<?>> scopeFactories = new HashMap<>();
 
   private final SingletonCache singletonCache = new SingletonCache();
 
+  /** Bindings collected from modules while configuring, not used for look up after configuration completes. */
   private final Map<Key<?>, Provider<?>> bindings = new HashMap<>();
 
-  private final Set<IProvisionListener> provisionListeners = Collections.synchronizedSet(new HashSet<>());
+  /** Immutable bindings table built after configuration; volatile to publish it to all threads. */
+  private volatile BindingTable bindingTable = new BindingTable(Collections.emptyMap());
+
+  /**
+   * Provision listeners snapshot, replaced on every registration change; see {@link ProvisionListeners}. For a child
+   * injector it has only listeners registered on child; see {@link #getProvisionListeners()}.
+   */
+  private volatile ProvisionListeners provisionListeners = ProvisionListeners.EMPTY;
+  /** Lock for provision listeners snapshot replacement; events dispatch does not use it. */
+  private final Object listenersLock = new Object();
+  /** Parent listeners merged with child listeners, null for root injector or until first use. */
+  private volatile MergedListeners mergedListeners;
+  /** Asynchronous provision events delivery, null if events are delivered inline, on provisioning thread. */
+  private AsyncEventsDispatcher asyncEventsDispatcher;
+
+  /** Provisioning providers attempt to use runtime generated factories, see {@link FactoryGenerator}. */
+  private boolean generatedFactories;
+
+  /** Provisioning providers scan implementation classes on first use, see {@link #setLazyMetadata(boolean)}. */
+  private boolean lazyMetadata;
+
+  /** Cache for remote instances created by remote providers, null if caching is disabled. */
+  private RemoteProxyCache remoteProxyCache;
+
+  /** Metadata snapshot file, null if snapshot is not used; see {@link #setMetadataSnapshot(Path)}. */
+  private Path metadataSnapshot;
+
+  /** Pool for eager singletons creation, null if singletons are created lazily, on first use. */
+  private ForkJoinPool eagerSingletonsPool;
+
+  /** Record provisioning metrics for every binding, see {@link MeteredProvider}. */
+  private boolean metrics;
+  /** Provisioning metrics, null if metrics are not enabled or injector is not configured. */
+  private InjectorMetrics injectorMetrics;
+
+  /** Provisioning tracer, null if tracing is not enabled; see {@link #setTracing(boolean)}. */
+  private ProvisioningTracer tracer;
 
   public Injector()
   {
     log.trace("Injector()");
+    this.parent = null;
     bindScopeFactory(Singleton.class, new SingletonScopeProvider.Factory<>());
     bindScopeFactory(ApplicationScoped.class, new SingletonScopeProvider.Factory<>());
+    bindScopeFactory(RequestScoped.class, new ContextScopeFactory<>(RequestScoped.class));
+    bindScopeFactory(SessionScoped.class, new ContextScopeFactory<>(SessionScoped.class));
+    bindScopeFactory(Pooled.class, new PooledScopeFactory<>());
+  }
+
+  /**
+   * Create child injector for given parent. Child inherits parent provisioning options and asynchronous events delivery;
+   * it reads parent current provision listeners, see {@link #getProvisionListeners()}. Every context scope of parent gets a child scope factory, with its own slots, see
+   * {@link ChildContextScope}; other scope factories are resolved on parent.
+   * 
+   * @param parent parent injector, already configured.
+   */
+  private Injector(Injector parent)
+  {
+    log.trace("Injector(Injector)");
+    this.parent = parent;
+    this.generatedFactories = parent.generatedFactories;
+    this.lazyMetadata = parent.lazyMetadata;
+    this.asyncEventsDispatcher = parent.asyncEventsDispatcher;
+    this.remoteProxyCache = parent.remoteProxyCache;
+    this.tracer = parent.tracer;
+    parent.scopeFactories.forEach((annotation, scopeFactory) -> {
+      if(scopeFactory instanceof ContextScope) {
+        scopeFactories.put(annotation, new ChildContextScope<>((ContextScope)scopeFactory));
+      }
+    });
   }
 
   @Override
@@ -55,19 +134,108 @@ public class Injector implements IInjector
     // make this injector instance available via its interface
     bindings.put(Key.get(IInjector.class), new InstanceProvider<>(this));
 
-    for(IModule module : modules) {
-      module.configure(this).bindings().forEach(binding -> {
-        log.debug("Bind |{binding_key}| to provider |{binding_provider}|.", binding.key(), binding.provider());
-        bindings.put(binding.key(), binding.provider());
-      });
+    // snapshot should be active before modules configuration since bindings creation uses class metadata; it is
+    // active only while configuring so that loaded entries are dropped when configuration completes
+    MetadataSnapshot snapshot = metadataSnapshot != null ? MetadataSnapshot.load(metadataSnapshot) : null;
+    MetadataSnapshot.activate(snapshot);
+    try {
+      for(IModule module : modules) {
+        module.configure(this).bindings().forEach(binding -> {
+          log.debug("Bind |{binding_key}| to provider |{binding_provider}|.", binding.key(), binding.provider());
+          bindings.put(binding.key(), binding.provider());
+        });
+      }
+
+      if(metrics) {
+        List<MeteredProvider<?>> meteredProviders = new ArrayList<>();
+        bindings.replaceAll((key, provider) -> {
+          MeteredProvider<?> meteredProvider = new MeteredProvider<>(key, provider);
+          meteredProviders.add(meteredProvider);
+          return meteredProvider;
+        });
+        injectorMetrics = new InjectorMetrics(meteredProviders);
+        injectorMetrics.register();
+      }
+
+      // flatten contributions into multi-bindings after metrics wrapping so that contributors are metered individually
+      bindings.putAll(MultibindingProvider.multibindings(bindings));
+
+      if(lazyMetadata) {
+        // linking requires provisioning providers metadata; keep lazy providers unlinked and resolve them on first use
+        new DependencyLinker(bindings, parent).addKeys();
+      }
+      else {
+        new DependencyLinker(bindings, parent).link();
+      }
+    }
+    finally {
+      MetadataSnapshot.activate(null);
+    }
+    bindingTable = new BindingTable(bindings);
+    if(metadataSnapshot != null) {
+      Collection<Class<?>> implementationClasses = implementationClasses();
+      if(snapshot == null || snapshot.isStale(implementationClasses)) {
+        MetadataSnapshot.write(metadataSnapshot, implementationClasses);
+      }
+    }
+    if(eagerSingletonsPool != null) {
+      new SingletonsInitializer(bindings).initialize(eagerSingletonsPool);
     }
     return this;
   }
 
+  private Collection<Class<?>> implementationClasses()
+  {
+    Set<Class<?>> implementationClasses = new LinkedHashSet<>();
+    for(Provider<?> provider : bindings.values()) {
+      ProvisioningProvider<?> provisioningProvider = DependencyLinker.provisioningProvider(provider);
+      if(provisioningProvider != null) {
+        implementationClasses.add(provisioningProvider.type());
+      }
+    }
+    return implementationClasses;
+  }
+
+  /**
+   * Create and configure a child injector that overlays bindings from given modules on this injector bindings. Child
+   * look up falls through to this injector immutable bindings table, that is not copied; bindings from parent, including
+   * parent singletons, are shared by all children. A child binding with the same key as a parent binding overrides it,
+   * but only for child look up and for child bindings dependencies; parent bindings never see child bindings.
+   * 
+   * Child injector has its own singletons cache for singletons bound by child modules, so it is cheap to create, for
+   * example per tenant or per request. Child inherits parent provisioning options; metrics and eager singletons are not
+   * inherited. Asynchronous events delivery and remote instances cache, if enabled, are shared with parent. Request and
+   * session scoped child bindings store their instances on contexts entered on parent scope factories, but do not
+   * allocate slots on them; a discarded child does not leave anything allocated on parent.
+   * 
+   * @param modules modules with child bindings.
+   * @return child injector, configured.
+   * @throws IllegalStateException if this injector is not configured yet.
+   */
+  public Injector createChild(IModule... modules)
+  {
+    if(bindings.isEmpty()) {
+      throw new IllegalStateException("Injector instance not configured.");
+    }
+    Injector child = new Injector(this);
+    child.configure(modules);
+    return child;
+  }
+
+  /**
+   * Get parent injector of a child injector.
+   * 
+   * @return parent injector or null if this injector is not a child.
+   */
+  public Injector getParent()
+  {
+    return parent;
+  }
+
   @Override
   public <T> IBindingBuilder<T> getBindingBuilder(Class<T> type)
   {
-    Binding<T> binding = type.isInterface() ? new Binding<>(type) : new Binding<>(type, new ProvisioningProvider<>(this, type));
+    Binding<T> binding = type.isInterface() || type.isArray() ? new Binding<>(type) : new Binding<>(type, new ProvisioningProvider<>(this, type));
     return new BindingBuilder<>(this, binding);
   }
 
@@ -87,43 +255,221 @@ public class Injector implements IInjector
   @Override
   public <T> T getInstance(Key<T> key)
   {
-    @SuppressWarnings("unchecked")
-    Provider<T> provider = (Provider<T>)bindings.get(key);
+    Provider<T> provider = lookup(key);
     if(provider == null) {
       throw new ProvisionException("No injector binding for " + key);
     }
     return provider.get();
   }
 
+  /**
+   * Resolve instances for many keys in one call. Intended for callers that resolve the same keys repeatedly, in which
+   * case a precompiled {@link #resolver(Key...)} is even cheaper.
+   * 
+   * @param keys binding keys.
+   * @return resolved instances, in keys order.
+   * @throws ProvisionException if a key is not bound or instance provisioning fails.
+   */
+  public Object[] getInstances(Key<?>... keys)
+  {
+    // providers array is reused for resolved instances
+    Object[] instances = new Object[keys.length];
+    for(int i = 0; i < keys.length; ++i) {
+      instances[i] = boundProvider(keys[i]);
+    }
+    Resolver.resolveInPlace(instances);
+    return instances;
+  }
+
+  /**
+   * Create a precompiled resolver for a fixed set of keys. Keys are looked up once, when resolver is created, and
+   * resolver invokes bound providers directly, see {@link Resolver}.
+   * 
+   * @param keys binding keys.
+   * @return resolver for given keys.
+   * @throws ProvisionException if a key is not bound.
+   */
+  public Resolver resolver(Key<?>... keys)
+  {
+    Provider<?>[] providers = new Provider<?>[keys.length];
+    for(int i = 0; i < keys.length; ++i) {
+      providers[i] = boundProvider(keys[i]);
+    }
+    return new Resolver(providers);
+  }
+
+  private Provider<?> boundProvider(Key<?> key)
+  {
+    Provider<?> provider = lookup(key);
+    if(provider == null) {
+      throw new ProvisionException("No injector binding for " + key);
+    }
+    return provider;
+  }
+
   @Override
   public <T> T getInstance(Class<T> type, String name)
   {
     return getInstance(Key.get(type, Names.named(name)));
   }
 
-  @SuppressWarnings("unchecked")
   @Override
   public <T> Provider<T> getProvider(Class<T> type)
   {
-    return (Provider<T>)bindings.get(Key.get(type));
+    return getProvider(Key.get(type));
+  }
+
+  /**
+   * Get provider bound to given key. A multi-binding key without multi-binding falls back to plain collection type
+   * binding, see {@link Multibinder}. For child injector, if key is not bound by child, look up parent injector.
+   * 
+   * With metrics enabled returned provider is the bound provider itself, not its metered decorator, so that provider
+   * type does not depend on metrics flag; only instances retrieved via injector are metered, see
+   * {@link #setMetrics(boolean)}.
+   * 
+   * @param key binding key.
+   * @return provider bound to key or null if key is not bound.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> Provider<T> getProvider(Key<T> key)
+  {
+    return (Provider<T>)MeteredProvider.unwrap(lookup(key));
+  }
+
+  /**
+   * Look up provider bound to given key, as stored on bindings, that is, metered if metrics are enabled. See
+   * {@link #getProvider(Key)} for look up rules.
+   * 
+   * @param key binding key.
+   * @return bound provider or null if key is not bound.
+   */
+  @SuppressWarnings("unchecked")
+  <T> Provider<T> lookup(Key<T> key)
+  {
+    Provider<T> provider = (Provider<T>)Multibinder.lookup(bindingTable, key);
+    if(provider == null && parent != null) {
+      provider = parent.lookup(key);
+    }
+    return provider;
   }
 
   @Override
   public void bindListener(IProvisionListener provisionListener)
   {
-    provisionListeners.add(provisionListener);
+    bindListener(provisionListener, null, null);
+  }
+
+  /**
+   * Register provision listener only for instances of given type, including subtypes.
+   * 
+   * @param provisionListener provision listener,
+   * @param type type of provisioned instances listener is interested in.
+   */
+  public void bindListener(IProvisionListener provisionListener, Class<?> type)
+  {
+    bindListener(provisionListener, type, null);
+  }
+
+  /**
+   * Register provision listener only for instances provisioned for bindings with keys accepted by given predicate.
+   * Predicate is evaluated once per binding, not on every instance creation.
+   * 
+   * @param provisionListener provision listener,
+   * @param keyPredicate predicate for keys of bindings listener is interested in.
+   */
+  public void bindListener(IProvisionListener provisionListener, Predicate<Key<?>> keyPredicate)
+  {
+    bindListener(provisionListener, null, keyPredicate);
+  }
+
+  private void bindListener(IProvisionListener provisionListener, Class<?> type, Predicate<Key<?>> keyPredicate)
+  {
+    synchronized(listenersLock) {
+      provisionListeners = provisionListeners.add(provisionListener, type, keyPredicate);
+    }
   }
 
   @Override
   public void unbindListener(IProvisionListener provisionListener)
   {
-    provisionListeners.remove(provisionListener);
+    synchronized(listenersLock) {
+      provisionListeners = provisionListeners.remove(provisionListener);
+    }
   }
 
   @Override
   public <T> void fireEvent(IProvisionInvocation<T> provisionInvocation)
   {
-    provisionListeners.forEach(listener -> listener.onProvision(provisionInvocation));
+    ProvisionListeners listeners = getProvisionListeners();
+    if(listeners.isEmpty()) {
+      return;
+    }
+    Provider<T> provider = provisionInvocation.provider();
+    Class<?> type = provider instanceof ITypedProvider ? ((ITypedProvider<T>)provider).type() : null;
+    // external events are not on hot path; look up provider keys only if there are key filtered listeners
+    List<Key<?>> keys = listeners.hasKeyFilters() ? keys(provider) : Collections.emptyList();
+    IProvisionListener[] selectedListeners = listeners.select(type, keys);
+    if(selectedListeners.length > 0) {
+      dispatchEvent(selectedListeners, provisionInvocation);
+    }
+  }
+
+  /**
+   * Deliver provision event to selected listeners, inline or asynchronously if enabled.
+   * 
+   * @param listeners listeners interested in event, not empty,
+   * @param provisionInvocation provision event.
+   */
+  void dispatchEvent(IProvisionListener[] listeners, IProvisionInvocation<?> provisionInvocation)
+  {
+    if(asyncEventsDispatcher != null) {
+      asyncEventsDispatcher.dispatch(listeners, provisionInvocation);
+      return;
+    }
+    for(IProvisionListener listener : listeners) {
+      listener.onProvision(provisionInvocation);
+    }
+  }
+
+  /**
+   * Get binding keys of given provider, on this injector and its parents. Provider is matched against bound providers
+   * and against provisioning providers decorated by them.
+   * 
+   * @param provider provider of a provision event.
+   * @return provider binding keys, possible empty.
+   */
+  private List<Key<?>> keys(Provider<?> provider)
+  {
+    List<Key<?>> keys = parent != null ? parent.keys(provider) : new ArrayList<>();
+    for(Map.Entry<Key<?>, Provider<?>> binding : bindings.entrySet()) {
+      Provider<?> boundProvider = binding.getValue();
+      if(boundProvider == provider || MeteredProvider.unwrap(boundProvider) == provider || DependencyLinker.provisioningProvider(boundProvider) == provider) {
+        keys.add(binding.getKey());
+      }
+    }
+    return keys;
+  }
+
+  /**
+   * Get provision listeners snapshot. For a child injector, snapshot has parent current listeners followed by listeners
+   * registered on child, merged only when one of them changes, so that listeners registered on parent after child
+   * creation are notified about child instances too.
+   * 
+   * @return provision listeners snapshot.
+   */
+  ProvisionListeners getProvisionListeners()
+  {
+    if(parent == null) {
+      return provisionListeners;
+    }
+    ProvisionListeners parentListeners = parent.getProvisionListeners();
+    ProvisionListeners ownListeners = provisionListeners;
+    MergedListeners mergedListeners = this.mergedListeners;
+    if(mergedListeners == null || mergedListeners.parent != parentListeners || mergedListeners.own != ownListeners) {
+      mergedListeners = new MergedListeners(parentListeners, ownListeners);
+      this.mergedListeners = mergedListeners;
+    }
+    return mergedListeners.merged;
   }
 
   @Override
@@ -140,11 +486,285 @@ public class Injector implements IInjector
   @Override
   public <T> IScopeFactory<T> getScopeFactory(Class<? extends Annotation> annotation)
   {
-    return (IScopeFactory<T>)scopeFactories.get(annotation);
+    IScopeFactory<T> scopeFactory = (IScopeFactory<T>)scopeFactories.get(annotation);
+    if(scopeFactory == null && parent != null) {
+      scopeFactory = parent.getScopeFactory(annotation);
+    }
+    return scopeFactory;
+  }
+
+  /**
+   * Enable or disable runtime generated factories for provisioning providers. When enabled, every provisioning provider
+   * created after this call attempts to generate a factory class that creates instances and injects dependencies with
+   * plain bytecode; it falls back to reflective method handles if factory class cannot be defined. Default is disabled.
+   * Should be called before {@link #configure(IModule...)}.
+   * 
+   * @param generatedFactories flag true to enable generated factories.
+   * @throws IllegalStateException if this injector is already configured.
+   */
+  public void setGeneratedFactories(boolean generatedFactories)
+  {
+    if(!bindings.isEmpty()) {
+      throw new IllegalStateException("Injector instance already configured.");
+    }
+    this.generatedFactories = generatedFactories;
+  }
+
+  public boolean isGeneratedFactories()
+  {
+    return generatedFactories;
+  }
+
+  /**
+   * Enable or disable lazy provisioning metadata. When enabled, provisioning providers created after this call do not
+   * scan implementation class on construction but on first instance creation, with safe one time initialization.
+   * Configuration time dependency linking and validation is skipped: missing bindings and circular dependencies are
+   * reported on first use, dependencies are resolved by injector bindings look up and pooled injection points are not
+   * rejected. Intended for short lived processes
+   * that use a small part of configured bindings. Default is disabled.
+   * 
+   * @param lazyMetadata flag true to scan implementation classes on first use.
+   * @throws IllegalStateException if this injector is already configured.
+   */
+  public void setLazyMetadata(boolean lazyMetadata)
+  {
+    if(!bindings.isEmpty()) {
+      throw new IllegalStateException("Injector instance already configured.");
+    }
+    this.lazyMetadata = lazyMetadata;
+  }
+
+  public boolean isLazyMetadata()
+  {
+    return lazyMetadata;
+  }
+
+  /**
+   * Configure cache for remote instances created by remote bindings, that is, client proxies, keyed by remote type and
+   * implementation URL. Cached instances expire after given time to live and cache size is bounded; for interface types,
+   * a cached instance is invalidated when a remote call fails with an exception not declared by invoked method. Zero time
+   * to live disables cache, so that every remote provider invocation creates a new remote instance. Default is disabled,
+   * since a cached remote instance is shared by all callers and remote instance implementation may not be thread safe.
+   * 
+   * @param ttl time to live for cached remote instances, zero to disable cache,
+   * @param unit time unit for time to live,
+   * @param maxSize maximum number of cached remote instances.
+   * @throws IllegalStateException if this injector is already configured.
+   * @throws IllegalArgumentException if time to live is negative or maximum size is not positive.
+   */
+  public void setRemoteProxyCache(long ttl, TimeUnit unit, int maxSize)
+  {
+    if(!bindings.isEmpty()) {
+      throw new IllegalStateException("Injector instance already configured.");
+    }
+    remoteProxyCache = ttl != 0 ? new RemoteProxyCache(unit.toNanos(ttl), maxSize) : null;
+  }
+
+  RemoteProxyCache getRemoteProxyCache()
+  {
+    return remoteProxyCache;
+  }
+
+  /**
+   * Use a metadata snapshot file for fast restarts. On configuration, if snapshot file exists and was written for the
+   * same class path, implementation classes metadata is rebuilt from memory mapped snapshot instead of scanning classes
+   * members; otherwise, or if snapshot misses or rejects some implementation classes, injector writes a new snapshot
+   * after configuration completes. Snapshot is used only while configuring, so it does not speed up class metadata
+   * resolved lazily, see {@link #setLazyMetadata(boolean)}. See {@link MetadataSnapshot}. Default is no snapshot.
+   * 
+   * @param file metadata snapshot file, null to disable snapshot.
+   * @throws IllegalStateException if this injector is already configured.
+   */
+  public void setMetadataSnapshot(Path file)
+  {
+    if(!bindings.isEmpty()) {
+      throw new IllegalStateException("Injector instance already configured.");
+    }
+    this.metadataSnapshot = file;
+  }
+
+  /**
+   * Enable eager singletons creation on common fork join pool. See {@link #setEagerSingletons(ForkJoinPool)}.
+   * 
+   * @param eagerSingletons flag true to create singletons while configuring injector.
+   * @throws IllegalStateException if this injector is already configured.
+   */
+  public void setEagerSingletons(boolean eagerSingletons)
+  {
+    setEagerSingletons(eagerSingletons ? ForkJoinPool.commonPool() : null);
+  }
+
+  /**
+   * Enable eager singletons creation on given fork join pool or disable it if pool is null. When enabled,
+   * {@link #configure(IModule...)} creates all singletons before returning; independent singletons are created in
+   * parallel, see {@link SingletonsInitializer}. Default is disabled, that is, singletons are created on first use.
+   * 
+   * @param pool fork join pool used to create singletons, null to disable eager creation.
+   * @throws IllegalStateException if this injector is already configured.
+   */
+  public void setEagerSingletons(ForkJoinPool pool)
+  {
+    if(!bindings.isEmpty()) {
+      throw new IllegalStateException("Injector instance already configured.");
+    }
+    this.eagerSingletonsPool = pool;
+  }
+
+  /**
+   * Enable or disable provisioning metrics. When enabled, every binding provider is decorated with a metered provider
+   * that records invocations, created instances, scope cache hits and latency histogram, with lock free counters. Metered
+   * decorators are internal: providers returned by {@link #getProvider(Key)} are not decorated and calls made directly
+   * on them are not recorded. Metrics are available from {@link #getMetrics()} and over JMX, see
+   * {@link InjectorMetricsMXBean}. JMX registration holds injector bindings; application should call
+   * {@link #closeMetrics()} when injector is discarded. Default is disabled.
+   * 
+   * @param metrics flag true to enable provisioning metrics.
+   * @throws IllegalStateException if this injector is already configured.
+   */
+  public void setMetrics(boolean metrics)
+  {
+    if(!bindings.isEmpty()) {
+      throw new IllegalStateException("Injector instance already configured.");
+    }
+    this.metrics = metrics;
+  }
+
+  /**
+   * Get snapshot of provisioning metrics for all bindings. Returns empty list if metrics are not enabled.
+   * 
+   * @return bindings metrics snapshot, possible empty.
+   */
+  public List<BindingMetrics> getMetrics()
+  {
+    return injectorMetrics != null ? injectorMetrics.getBindingMetrics() : Collections.emptyList();
+  }
+
+  /**
+   * Get JMX object name of provisioning metrics MBean.
+   * 
+   * @return metrics object name or null if metrics are not enabled, not registered or closed.
+   */
+  public ObjectName getMetricsName()
+  {
+    return injectorMetrics != null ? injectorMetrics.getName() : null;
+  }
+
+  /**
+   * Unregister provisioning metrics MBean from platform MBean server; intended for application shutdown or for
+   * discarding an injector. Metrics remain available from {@link #getMetrics()}. Does nothing if metrics are not
+   * enabled or already closed.
+   */
+  public void closeMetrics()
+  {
+    if(injectorMetrics != null) {
+      injectorMetrics.unregister();
+    }
+  }
+
+  /**
+   * Enable or disable provisioning tracing. When enabled, every instance created by a provisioning provider is recorded
+   * as a node of the dependencies tree, with wall time and allocated bytes; see {@link ProvisioningTracer}. Tracing is
+   * a diagnostic tool, for example for slow cold start, and adds overhead to every instance creation. Default is
+   * disabled.
+   * 
+   * @param tracing flag true to enable provisioning tracing.
+   * @throws IllegalStateException if this injector is already configured.
+   */
+  public void setTracing(boolean tracing)
+  {
+    if(!bindings.isEmpty()) {
+      throw new IllegalStateException("Injector instance already configured.");
+    }
+    this.tracer = tracing ? new ProvisioningTracer() : null;
+  }
+
+  /**
+   * Get provisioning tracer. Child injectors share parent tracer.
+   * 
+   * @return provisioning tracer or null if tracing is not enabled.
+   */
+  public ProvisioningTracer getTracer()
+  {
+    return tracer;
+  }
+
+  /**
+   * Enable asynchronous provision events delivery. Provision events are put on a bounded queue and delivered to
+   * listeners, in batches, by a background daemon thread, so that listeners doing I/O do not slow down provisioning
+   * threads. When queue is full given overflow policy is applied. Default is inline delivery, on provisioning thread.
+   * 
+   * @param capacity events queue capacity,
+   * @param overflowPolicy policy applied when events queue is full.
+   * @throws IllegalStateException if this injector is already configured or asynchronous events are already enabled.
+   */
+  public void setAsyncEvents(int capacity, EventsOverflowPolicy overflowPolicy)
+  {
+    if(!bindings.isEmpty()) {
+      throw new IllegalStateException("Injector instance already configured.");
+    }
+    if(asyncEventsDispatcher != null) {
+      throw new IllegalStateException("Asynchronous events already enabled.");
+    }
+    asyncEventsDispatcher = new AsyncEventsDispatcher(capacity, overflowPolicy);
+  }
+
+  /**
+   * Wait for provision events queued before this call to be delivered. Returns immediately if asynchronous events are
+   * not enabled.
+   * 
+   * @param timeout maximum waiting time,
+   * @param unit time unit for timeout.
+   * @return true if all events were delivered, false on timeout.
+   * @throws InterruptedException if current thread is interrupted while waiting.
+   */
+  public boolean flushEvents(long timeout, TimeUnit unit) throws InterruptedException
+  {
+    return asyncEventsDispatcher == null || asyncEventsDispatcher.flush(timeout, unit);
+  }
+
+  /**
+   * Flush provision events and stop asynchronous delivery thread; intended for application shutdown. Events fired after
+   * this call are delivered inline. Returns immediately if asynchronous events are not enabled.
+   * 
+   * @param timeout maximum waiting time for queued events,
+   * @param unit time unit for timeout.
+   * @return true if all events were delivered, false on timeout.
+   * @throws InterruptedException if current thread is interrupted while waiting.
+   */
+  public boolean closeEvents(long timeout, TimeUnit unit) throws InterruptedException
+  {
+    return asyncEventsDispatcher == null || asyncEventsDispatcher.close(timeout, unit);
+  }
+
+  /**
+   * Get the number of provision events dropped because of asynchronous events queue overflow.
+   * 
+   * @return dropped events count, 0 if asynchronous events are not enabled.
+   */
+  public long getDroppedEventsCount()
+  {
+    return asyncEventsDispatcher != null ? asyncEventsDispatcher.getDroppedCount() : 0;
   }
 
   public SingletonCache getSingletonCache()
   {
     return singletonCache;
   }
+
+  // --------------------------------------------------------------------------------------------
+
+  /** Child injector listeners snapshot merged from parent and own snapshots. */
+  private static final class MergedListeners
+  {
+    final ProvisionListeners parent;
+    final ProvisionListeners own;
+    final ProvisionListeners merged;
+
+    MergedListeners(ProvisionListeners parent, ProvisionListeners own)
+    {
+      this.parent = parent;
+      this.own = own;
+      this.merged = parent.concat(own);
+    }
+  }
 }
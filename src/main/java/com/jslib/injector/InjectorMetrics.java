@@ -0,0 +1,112 @@
+package com.jslib.injector;
+
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+
+import com.jslib.api.log.Log;
+import com.jslib.api.log.LogFactory;
+
+/**
+ * Provisioning metrics for all injector bindings, collected from metered providers. Metrics are exposed programmatically
+ * by {@link Injector#getMetrics()} and over JMX, on platform MBean server, with object name
+ * <code>com.jslib.injector:type=InjectorMetrics,id=&lt;sequence&gt;</code>, where sequence is unique per process.
+ * Platform MBean server keeps registered metrics, and through them injector bindings, until {@link #unregister()} is
+ * called; see {@link Injector#closeMetrics()}.
+ * 
+ * @author Iulian Rotaru
+ */
+class InjectorMetrics implements InjectorMetricsMXBean
+{
+  private static final Log log = LogFactory.getLog(InjectorMetrics.class);
+
+  /** Sequence for MBean object names, unique per process. */
+  private static final AtomicLong sequence = new AtomicLong();
+
+  private final List<MeteredProvider<?>> providers;
+
+  /** Object name this metrics is registered with, null if not registered. */
+  private volatile ObjectName name;
+
+  public InjectorMetrics(List<MeteredProvider<?>> providers)
+  {
+    this.providers = providers;
+  }
+
+  @Override
+  public List<BindingMetrics> getBindingMetrics()
+  {
+    List<BindingMetrics> metrics = new ArrayList<>(providers.size());
+    for(MeteredProvider<?> provider : providers) {
+      metrics.add(provider.snapshot());
+    }
+    return metrics;
+  }
+
+  @Override
+  public long getInvocationsCount()
+  {
+    long count = 0;
+    for(BindingMetrics metrics : getBindingMetrics()) {
+      count += metrics.getInvocationsCount();
+    }
+    return count;
+  }
+
+  @Override
+  public long getInstancesCount()
+  {
+    long count = 0;
+    for(BindingMetrics metrics : getBindingMetrics()) {
+      count += metrics.getInstancesCount();
+    }
+    return count;
+  }
+
+  /**
+   * Register this metrics on platform MBean server. Registration failure is logged but not propagated since metrics
+   * remain available programmatically.
+   * 
+   * @return registered object name or null if registration fails.
+   */
+  public ObjectName register()
+  {
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    try {
+      ObjectName name = new ObjectName("com.jslib.injector:type=InjectorMetrics,id=" + sequence.incrementAndGet());
+      server.registerMBean(this, name);
+      this.name = name;
+      return name;
+    }
+    catch(JMException e) {
+      log.warn("Fail to register injector metrics MBean: {exception}", e);
+      return null;
+    }
+  }
+
+  /** Unregister this metrics from platform MBean server. Does nothing if not registered or already unregistered. */
+  public void unregister()
+  {
+    ObjectName name = this.name;
+    if(name == null) {
+      return;
+    }
+    this.name = null;
+    try {
+      ManagementFactory.getPlatformMBeanServer().unregisterMBean(name);
+    }
+    catch(JMException e) {
+      log.warn("Fail to unregister injector metrics MBean: {exception}", e);
+    }
+  }
+
+  public ObjectName getName()
+  {
+    return name;
+  }
+}
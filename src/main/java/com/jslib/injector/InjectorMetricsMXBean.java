@@ -0,0 +1,21 @@
+package com.jslib.injector;
+
+import java.util.List;
+
+/**
+ * Management interface for injector provisioning metrics, registered on platform MBean server when injector has
+ * {@link Injector#setMetrics(boolean) metrics} enabled.
+ * 
+ * @author Iulian Rotaru
+ */
+public interface InjectorMetricsMXBean
+{
+  /** Snapshot of metrics for all injector bindings. */
+  List<BindingMetrics> getBindingMetrics();
+
+  /** Total provider invocations for all injector bindings. */
+  long getInvocationsCount();
+
+  /** Total instances created for all injector bindings. */
+  long getInstancesCount();
+}
@@ -0,0 +1,446 @@
+package com.jslib.injector;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.stream.Stream;
+
+import com.jslib.api.injector.ProvisionException;
+import com.jslib.api.log.Log;
+import com.jslib.api.log.LogFactory;
+
+/**
+ * Binary snapshot of implementation classes metadata, written by a configured injector and read back on next start
+ * with the same class path. For every implementation class bound to a provisioning provider, snapshot stores the
+ * selected constructor, injected fields and injected methods, with the table layout of {@link GeneratedMetadata}, and
+ * the class scope annotation. Class metadata created while snapshot is active looks up only the listed members, the
+ * same as for compile time generated metadata, instead of scanning all declared members and their annotations.
+ *
+ * Snapshot file is memory mapped on read. It starts with a format version and a fingerprint of Java version and class
+ * path; a snapshot with different fingerprint is ignored and rewritten. Every entry also records the code source
+ * location its class was loaded from, archive or directory, and snapshot stores a stamp per location: size and last
+ * modification time for archives and, since directory time does not reflect nested files changes, the same values of
+ * all nested files for directories. A location stamp is validated once per snapshot, on first class loaded from it; an
+ * entry is used only if its class comes from the recorded location and location stamp matches. This way a recompiled
+ * class is not served stale metadata and a class with the same name from another location is not served metadata of a
+ * different class, while restart does not read class files.
+ *
+ * A loaded snapshot is active only on the thread configuring the injector and only while configuring, see
+ * {@link #activate(MetadataSnapshot)}; it holds class names, not classes, and is discarded after configuration so
+ * that it does not retain class loaders. If a configured implementation class was not in snapshot or its entry was
+ * rejected, snapshot is {@link #isStale(Collection) stale} and injector writes a new one.
+ *
+ * @author Iulian Rotaru
+ */
+final class MetadataSnapshot
+{
+  private static final Log log = LogFactory.getLog(MetadataSnapshot.class);
+
+  private static final int MAGIC = 0x4A53494D;
+  private static final int FORMAT_VERSION = 3;
+  private static final String NO_SCOPE = "";
+  /** Stamp value for code source locations that are not local archives or directories. */
+  static final long NO_STAMP = -1;
+
+  /** Snapshot active on thread configuring an injector, see {@link #activate(MetadataSnapshot)}. */
+  private static final ThreadLocal<MetadataSnapshot> current = new ThreadLocal<>();
+
+  /** Snapshot entries mapped to implementation class names. */
+  private final Map<String, Entry> entries;
+  /** Code source locations stamps recorded by snapshot. */
+  private final Map<String, Long> stamps;
+  /** Code source locations already validated, mapped to validation result. */
+  private final Map<String, Boolean> validatedLocations = new HashMap<>();
+  /** An implementation class was not found in snapshot or its entry was rejected. */
+  private boolean stale;
+
+  private MetadataSnapshot(Map<String, Entry> entries, Map<String, Long> stamps)
+  {
+    this.entries = entries;
+    this.stamps = stamps;
+  }
+
+  /**
+   * Load snapshot file. Returns null if file does not exist, was written for a different class path or cannot be read,
+   * in which case injector should write a new snapshot.
+   *
+   * @param file snapshot file.
+   * @return loaded snapshot or null.
+   */
+  public static MetadataSnapshot load(Path file)
+  {
+    try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+      ByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+      if(buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION || buffer.getLong() != fingerprint()) {
+        log.info("Stale metadata snapshot |{file_path}|. Ignore it.", file);
+        return null;
+      }
+
+      String[] strings = new String[buffer.getInt()];
+      for(int i = 0; i < strings.length; ++i) {
+        byte[] bytes = new byte[buffer.getInt()];
+        buffer.get(bytes);
+        strings[i] = new String(bytes, StandardCharsets.UTF_8);
+      }
+
+      Map<String, Long> stamps = new HashMap<>();
+      int locationsCount = buffer.getInt();
+      for(int i = 0; i < locationsCount; ++i) {
+        String location = strings[buffer.getInt()];
+        stamps.put(location, buffer.getLong());
+      }
+
+      Map<String, Entry> entries = new HashMap<>();
+      int entriesCount = buffer.getInt();
+      for(int i = 0; i < entriesCount; ++i) {
+        String className = strings[buffer.getInt()];
+        String scope = strings[buffer.getInt()];
+        String location = strings[buffer.getInt()];
+        String[][] metadata = new String[buffer.getInt()][];
+        for(int row = 0; row < metadata.length; ++row) {
+          metadata[row] = new String[buffer.getInt()];
+          for(int column = 0; column < metadata[row].length; ++column) {
+            metadata[row][column] = strings[buffer.getInt()];
+          }
+        }
+        entries.put(className, new Entry(scope, location, metadata));
+      }
+      log.debug("Load metadata snapshot |{file_path}| with |{classes_count}| classes.", file, entriesCount);
+      return new MetadataSnapshot(entries, stamps);
+    }
+    catch(NoSuchFileException e) {
+      return null;
+    }
+    catch(IOException | BufferUnderflowException | IndexOutOfBoundsException | NegativeArraySizeException e) {
+      log.warn("Invalid metadata snapshot |{file_path}|. Ignore it. Root cause: {exception_class}: {exception_message}", file, e.getClass().getCanonicalName(), e.getMessage());
+      return null;
+    }
+  }
+
+  /**
+   * Write snapshot for given implementation classes. File is written to a temporary file and moved over target, so
+   * that a concurrent reader never sees a partial snapshot. Classes without a local code source location, for example
+   * runtime generated classes, are not included. Write failure is logged and otherwise ignored.
+   *
+   * @param file snapshot file,
+   * @param types implementation classes.
+   */
+  public static void write(Path file, Collection<Class<?>> types)
+  {
+    Map<String, Integer> strings = new LinkedHashMap<>();
+    Map<String, Long> stamps = new LinkedHashMap<>();
+    List<int[]> records = new ArrayList<>();
+    for(Class<?> type : types) {
+      String location = location(type);
+      if(location == null || stamps.computeIfAbsent(location, MetadataSnapshot::stamp) == NO_STAMP) {
+        continue;
+      }
+      ClassMetadata classMetadata;
+      try {
+        classMetadata = ClassMetadata.of(type);
+      }
+      catch(ProvisionException e) {
+        // invalid implementation class, possible with lazy metadata; it will be reported on first use
+        continue;
+      }
+      List<Field> fields = new ArrayList<>();
+      classMetadata.fields().forEach(field -> fields.add(field.field));
+      List<Method> methods = new ArrayList<>();
+      classMetadata.methods().forEach(method -> methods.add(method.method));
+      String[][] metadata = GeneratedMetadata.table(classMetadata.constructor(), fields, methods);
+
+      Class<? extends Annotation> scope = ClassMetadata.scope(type);
+      List<Integer> record = new ArrayList<>();
+      record.add(index(strings, type.getName()));
+      record.add(index(strings, scope != null ? scope.getName() : NO_SCOPE));
+      record.add(index(strings, location));
+      record.add(metadata.length);
+      for(String[] row : metadata) {
+        record.add(row.length);
+        for(String value : row) {
+          record.add(index(strings, value));
+        }
+      }
+      records.add(record.stream().mapToInt(Integer::intValue).toArray());
+    }
+    stamps.values().removeIf(stamp -> stamp == NO_STAMP);
+    stamps.keySet().forEach(location -> index(strings, location));
+
+    try {
+      Path directory = file.toAbsolutePath().getParent();
+      Files.createDirectories(directory);
+      Path temporaryFile = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+      try (DataOutputStream stream = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporaryFile)))) {
+        stream.writeInt(MAGIC);
+        stream.writeInt(FORMAT_VERSION);
+        stream.writeLong(fingerprint());
+        stream.writeInt(strings.size());
+        for(String value : strings.keySet()) {
+          byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+          stream.writeInt(bytes.length);
+          stream.write(bytes);
+        }
+        stream.writeInt(stamps.size());
+        for(Map.Entry<String, Long> stamp : stamps.entrySet()) {
+          stream.writeInt(strings.get(stamp.getKey()));
+          stream.writeLong(stamp.getValue());
+        }
+        stream.writeInt(records.size());
+        for(int[] record : records) {
+          for(int value : record) {
+            stream.writeInt(value);
+          }
+        }
+      }
+      Files.move(temporaryFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+      log.debug("Write metadata snapshot |{file_path}| with |{classes_count}| classes.", file, records.size());
+    }
+    catch(IOException e) {
+      log.warn("Fail to write metadata snapshot |{file_path}|. Root cause: {exception_class}: {exception_message}", file, e.getClass().getCanonicalName(), e.getMessage());
+    }
+  }
+
+  /**
+   * Activate snapshot on current thread, used by class metadata created while injector is configured. Caller should
+   * deactivate it, with null argument, from a finally block.
+   *
+   * @param snapshot snapshot to activate, null to deactivate.
+   */
+  static void activate(MetadataSnapshot snapshot)
+  {
+    if(snapshot != null) {
+      current.set(snapshot);
+    }
+    else {
+      current.remove();
+    }
+  }
+
+  /**
+   * Get snapshot active on current thread.
+   *
+   * @return active snapshot or null.
+   */
+  static MetadataSnapshot current()
+  {
+    return current.get();
+  }
+
+  /**
+   * Get class members listed by this snapshot for given implementation class.
+   *
+   * @param type implementation class.
+   * @return snapshot members or null if class is not in snapshot or its entry is out of sync with class.
+   */
+  <T> GeneratedMetadata<T> metadata(Class<T> type)
+  {
+    Entry entry = entry(type);
+    if(entry == null) {
+      return null;
+    }
+    try {
+      return GeneratedMetadata.of(type, entry.metadata);
+    }
+    catch(ReflectiveOperationException | LinkageError e) {
+      log.debug("Metadata snapshot out of sync for |{java_type}|. Scan class members.", type);
+      stale = true;
+      return null;
+    }
+  }
+
+  /**
+   * Get scope annotation recorded by this snapshot for given implementation class.
+   *
+   * @param type implementation class.
+   * @return scope annotation type, empty if snapshot records no scope, or null if class is not in snapshot.
+   */
+  Optional<Class<? extends Annotation>> scope(Class<?> type)
+  {
+    Entry entry = entry(type);
+    if(entry == null) {
+      return null;
+    }
+    if(entry.scope.equals(NO_SCOPE)) {
+      return Optional.empty();
+    }
+    try {
+      return Optional.of(Class.forName(entry.scope, false, type.getClassLoader()).asSubclass(Annotation.class));
+    }
+    catch(ClassNotFoundException | ClassCastException | LinkageError e) {
+      stale = true;
+      return null;
+    }
+  }
+
+  /**
+   * Test if snapshot should be rewritten: an entry was rejected while configuring or a configured implementation class
+   * that could be recorded is missing. Missing classes are checked here too since class metadata cached by a previous
+   * injector does not consult snapshot.
+   *
+   * @param types configured implementation classes.
+   * @return true if snapshot is stale.
+   */
+  boolean isStale(Collection<Class<?>> types)
+  {
+    if(stale) {
+      return true;
+    }
+    for(Class<?> type : types) {
+      if(!entries.containsKey(type.getName()) && location(type) != null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Get entry for given class, if class was loaded from entry location and location stamp matches. Entry that is
+   * missing or rejected marks this snapshot stale.
+   *
+   * @param type implementation class.
+   * @return snapshot entry or null if class is not in snapshot or its location changed since snapshot was written.
+   */
+  private Entry entry(Class<?> type)
+  {
+    Entry entry = entries.get(type.getName());
+    if(entry == null || !entry.location.equals(location(type)) || !validatedLocations.computeIfAbsent(entry.location, this::validate)) {
+      log.debug("Metadata snapshot misses |{java_type}|. Scan class members.", type);
+      stale = true;
+      return null;
+    }
+    return entry;
+  }
+
+  private boolean validate(String location)
+  {
+    Long stamp = stamps.get(location);
+    return stamp != null && stamp == stamp(location);
+  }
+
+  /**
+   * Get code source location of given class, as URL string.
+   *
+   * @param type implementation class.
+   * @return class location or null if class has no code source, e.g. runtime generated class.
+   */
+  static String location(Class<?> type)
+  {
+    try {
+      CodeSource codeSource = type.getProtectionDomain().getCodeSource();
+      return codeSource != null && codeSource.getLocation() != null ? codeSource.getLocation().toString() : null;
+    }
+    catch(SecurityException e) {
+      return null;
+    }
+  }
+
+  /**
+   * Compute stamp for a code source location: size and last modification time for an archive, and size, last
+   * modification time and relative path of all nested files for a directory.
+   *
+   * @param location code source location, as URL string.
+   * @return location stamp or {@link #NO_STAMP} if location is not a local archive or directory.
+   */
+  static long stamp(String location)
+  {
+    try {
+      URI uri = new URI(location);
+      if(!"file".equals(uri.getScheme())) {
+        return NO_STAMP;
+      }
+      Path path = Paths.get(uri);
+      BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+      if(!attributes.isDirectory()) {
+        return stamp(attributes);
+      }
+      try (Stream<Path> files = Files.walk(path)) {
+        // sum is independent of walk order
+        return files.filter(Files::isRegularFile).mapToLong(file -> {
+          try {
+            return 31 * path.relativize(file).toString().hashCode() + stamp(Files.readAttributes(file, BasicFileAttributes.class));
+          }
+          catch(IOException e) {
+            throw new UncheckedIOException(e);
+          }
+        }).sum();
+      }
+    }
+    catch(URISyntaxException | IllegalArgumentException | IOException | UncheckedIOException | SecurityException e) {
+      return NO_STAMP;
+    }
+  }
+
+  private static long stamp(BasicFileAttributes attributes)
+  {
+    return 31 * attributes.size() + attributes.lastModifiedTime().toMillis();
+  }
+
+  /**
+   * Compute fingerprint from Java version, class path entries names and archives sizes and last modification times.
+   * Directories are covered by code source location stamps.
+   *
+   * @return class path fingerprint.
+   */
+  static long fingerprint()
+  {
+    long fingerprint = FORMAT_VERSION;
+    fingerprint = 31 * fingerprint + System.getProperty("java.version").hashCode();
+    for(String entry : System.getProperty("java.class.path").split(File.pathSeparator)) {
+      File file = new File(entry);
+      fingerprint = 31 * fingerprint + entry.hashCode();
+      if(file.isFile()) {
+        fingerprint = 31 * fingerprint + file.length();
+        fingerprint = 31 * fingerprint + file.lastModified();
+      }
+    }
+    return fingerprint;
+  }
+
+  private static int index(Map<String, Integer> strings, String value)
+  {
+    return strings.computeIfAbsent(value, key -> strings.size());
+  }
+
+  // --------------------------------------------------------------------------------------------
+
+  private static final class Entry
+  {
+    final String scope;
+    /** Code source location implementation class was loaded from when snapshot was written. */
+    final String location;
+    final String[][] metadata;
+
+    Entry(String scope, String location, String[][] metadata)
+    {
+      this.scope = scope;
+      this.location = location;
+      this.metadata = metadata;
+    }
+  }
+}
@@ -0,0 +1,110 @@
+package com.jslib.injector;
+
+import java.util.concurrent.atomic.LongAdder;
+
+import com.jslib.api.injector.Key;
+import com.jslib.api.injector.ScopedProvider;
+
+import jakarta.inject.Provider;
+
+/**
+ * Provider decorator that records provisioning metrics for a binding: invocations count, created instances count, scope
+ * cache hits count and provisioning latency histogram. Counters are striped {@link LongAdder} instances so that
+ * recording takes no locks and has low contention when the same binding is provisioned from many threads.
+ * 
+ * Latency histogram has a bucket per power of two: bucket <code>n</code> counts provisioning calls that took from
+ * <code>2^n</code> up to, but excluding, <code>2^(n+1)</code> nanoseconds; bucket 0 counts calls under 2 nanoseconds.
+ * 
+ * Scope cache hit is recorded when decorated provider is a scoped provider and scope instance exists before invocation.
+ * Instance creation is recorded on scope cache miss and on every invocation of a provisioning provider.
+ * 
+ * @author Iulian Rotaru
+ */
+class MeteredProvider<T> implements Provider<T>
+{
+  static final int HISTOGRAM_SIZE = Long.SIZE;
+
+  private final Key<?> key;
+  private final Provider<T> provider;
+  private final ScopedProvider<T> scopedProvider;
+  private final boolean provisioning;
+
+  private final LongAdder invocations = new LongAdder();
+  private final LongAdder instances = new LongAdder();
+  private final LongAdder cacheHits = new LongAdder();
+  private final LongAdder[] latencies = new LongAdder[HISTOGRAM_SIZE];
+
+  public MeteredProvider(Key<?> key, Provider<T> provider)
+  {
+    this.key = key;
+    this.provider = provider;
+    this.scopedProvider = provider instanceof ScopedProvider ? (ScopedProvider<T>)provider : null;
+    this.provisioning = provider instanceof ProvisioningProvider;
+    for(int i = 0; i < HISTOGRAM_SIZE; ++i) {
+      latencies[i] = new LongAdder();
+    }
+  }
+
+  @Override
+  public T get()
+  {
+    long start = System.nanoTime();
+    invocations.increment();
+    if(scopedProvider != null) {
+      if(scopedProvider.getScopeInstance() != null) {
+        cacheHits.increment();
+      }
+      else {
+        instances.increment();
+      }
+    }
+    else if(provisioning) {
+      instances.increment();
+    }
+
+    try {
+      return provider.get();
+    }
+    finally {
+      long latency = System.nanoTime() - start;
+      latencies[Long.SIZE - 1 - Long.numberOfLeadingZeros(latency | 1)].increment();
+    }
+  }
+
+  public Provider<T> getProvider()
+  {
+    return provider;
+  }
+
+  /**
+   * Take a snapshot of this provider metrics. Snapshot is not atomic: counters updated concurrently may be slightly
+   * out of sync.
+   * 
+   * @return metrics snapshot.
+   */
+  public BindingMetrics snapshot()
+  {
+    long[] histogram = new long[HISTOGRAM_SIZE];
+    for(int i = 0; i < HISTOGRAM_SIZE; ++i) {
+      histogram[i] = latencies[i].sum();
+    }
+    return new BindingMetrics(key.toString(), invocations.sum(), instances.sum(), scopedProvider != null ? cacheHits.sum() : -1, histogram);
+  }
+
+  @Override
+  public String toString()
+  {
+    return provider.toString();
+  }
+
+  /**
+   * Get provider decorated by metered provider or given provider itself if not metered.
+   * 
+   * @param provider provider, possible metered.
+   * @return decorated provider.
+   */
+  static Provider<?> unwrap(Provider<?> provider)
+  {
+    return provider instanceof MeteredProvider ? ((MeteredProvider<?>)provider).provider : provider;
+  }
+}
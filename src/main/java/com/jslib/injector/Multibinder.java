@@ -0,0 +1,251 @@
+package com.jslib.injector;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import com.jslib.api.injector.Key;
+
+import jakarta.inject.Provider;
+
+/**
+ * Multi-bindings support: many modules contribute bindings for the same element type and injector flattens all
+ * contributions into a single immutable collection, injected into <code>Set&lt;T&gt;</code>, <code>List&lt;T&gt;</code>
+ * or <code>Map&lt;String, T&gt;</code> injection points. Contributions are regular bindings qualified with a
+ * contribution qualifier returned by this class:
+ *
+ * <pre>
+ * bind(Handler.class).with(Multibinder.element()).to(AuditHandler.class);
+ * bind(Handler.class).with(Multibinder.entry("metrics")).to(MetricsHandler.class);
+ * ...
+ * &#64;Inject
+ * List&lt;Handler&gt; handlers;
+ * &#64;Inject
+ * Map&lt;String, Handler&gt; handlersMap;
+ * </pre>
+ *
+ * Set and list multi-bindings collect {@link #element()} contributions and map multi-binding collects
+ * {@link #entry(String)} contributions, all in contribution order; see {@link MultibindingProvider}. Injection points
+ * with set, list or map types are first looked up as multi-bindings and, if there is none, as plain bindings of the
+ * collection type.
+ *
+ * @author Iulian Rotaru
+ */
+public final class Multibinder
+{
+  private static final AtomicInteger ids = new AtomicInteger();
+
+  private Multibinder()
+  {
+  }
+
+  /**
+   * Create qualifier for a binding contributed to set and list multi-bindings of bound type.
+   *
+   * @return unique contribution qualifier.
+   */
+  public static Annotation element()
+  {
+    return new ContributionQualifier(ids.getAndIncrement(), "");
+  }
+
+  /**
+   * Create qualifier for a binding contributed to map multi-binding of bound type.
+   *
+   * @param key map entry key, not empty.
+   * @return unique contribution qualifier.
+   * @throws IllegalArgumentException if key is null or empty.
+   */
+  public static Annotation entry(String key)
+  {
+    if(key == null || key.isEmpty()) {
+      throw new IllegalArgumentException("Null or empty map entry key.");
+    }
+    return new ContributionQualifier(ids.getAndIncrement(), key);
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <T> Key<Set<T>> setKey(Class<T> elementType)
+  {
+    return (Key<Set<T>>)(Key<?>)Key.get(Set.class, contributions(elementType));
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <T> Key<List<T>> listKey(Class<T> elementType)
+  {
+    return (Key<List<T>>)(Key<?>)Key.get(List.class, contributions(elementType));
+  }
+
+  @SuppressWarnings("unchecked")
+  public static <T> Key<Map<String, T>> mapKey(Class<T> elementType)
+  {
+    return (Key<Map<String, T>>)(Key<?>)Key.get(Map.class, contributions(elementType));
+  }
+
+  static Annotation contributions(Class<?> elementType)
+  {
+    return new ContributionsQualifier(elementType);
+  }
+
+  /**
+   * Get multi-binding element type for an injection point type: set or list type argument or map value type argument
+   * for maps with string keys.
+   *
+   * @param type injection point raw type,
+   * @param genericType injection point generic type.
+   * @return element type or null if injection point is not a multi-binding.
+   */
+  static Class<?> elementType(Class<?> type, Type genericType)
+  {
+    if(!(genericType instanceof ParameterizedType)) {
+      return null;
+    }
+    Type[] arguments = ((ParameterizedType)genericType).getActualTypeArguments();
+    if(type == Set.class || type == List.class) {
+      return arguments[0] instanceof Class ? (Class<?>)arguments[0] : null;
+    }
+    if(type == Map.class) {
+      return arguments[0] == String.class && arguments[1] instanceof Class ? (Class<?>)arguments[1] : null;
+    }
+    return null;
+  }
+
+  /**
+   * Get plain collection type key for a multi-binding key, used when there is no multi-binding for an injection point.
+   *
+   * @param key binding key.
+   * @return unqualified collection type key or null if given key is not a multi-binding key.
+   */
+  static Key<?> plainKey(Key<?> key)
+  {
+    return key.qualifier() instanceof Contributions ? Key.get(key.type()) : null;
+  }
+
+  /**
+   * Look up provider bound to a key on given bindings. A multi-binding key without multi-binding falls back to plain
+   * collection type binding, see {@link #plainKey(Key)}. This is the look up used by injector, dependency linker and
+   * singletons initializer, so that they all resolve an injection point to the same provider.
+   *
+   * @param bindings bindings look up function, returning null for not bound keys,
+   * @param key binding key.
+   * @return bound provider or null if key is not bound.
+   */
+  static Provider<?> lookup(Function<Key<?>, Provider<?>> bindings, Key<?> key)
+  {
+    Provider<?> provider = bindings.apply(key);
+    if(provider == null) {
+      Key<?> plainKey = plainKey(key);
+      if(plainKey != null) {
+        provider = bindings.apply(plainKey);
+      }
+    }
+    return provider;
+  }
+
+  // --------------------------------------------------------------------------------------------
+
+  /** Contribution qualifier instance, implemented according to {@link Annotation} contract. */
+  private static final class ContributionQualifier implements Contribution
+  {
+    private final int id;
+    private final String key;
+
+    ContributionQualifier(int id, String key)
+    {
+      this.id = id;
+      this.key = key;
+    }
+
+    @Override
+    public Class<? extends Annotation> annotationType()
+    {
+      return Contribution.class;
+    }
+
+    @Override
+    public int id()
+    {
+      return id;
+    }
+
+    @Override
+    public String key()
+    {
+      return key;
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return ((127 * "id".hashCode()) ^ Integer.hashCode(id)) + ((127 * "key".hashCode()) ^ key.hashCode());
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+      if(this == obj) {
+        return true;
+      }
+      if(!(obj instanceof Contribution)) {
+        return false;
+      }
+      Contribution other = (Contribution)obj;
+      return id == other.id() && key.equals(other.key());
+    }
+
+    @Override
+    public String toString()
+    {
+      return "@" + Contribution.class.getName() + "(id=" + id + ", key=\"" + key + "\")";
+    }
+  }
+
+  /** Multi-binding qualifier instance, implemented according to {@link Annotation} contract. */
+  private static final class ContributionsQualifier implements Contributions
+  {
+    private final Class<?> value;
+
+    ContributionsQualifier(Class<?> value)
+    {
+      this.value = value;
+    }
+
+    @Override
+    public Class<? extends Annotation> annotationType()
+    {
+      return Contributions.class;
+    }
+
+    @Override
+    public Class<?> value()
+    {
+      return value;
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return (127 * "value".hashCode()) ^ value.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+      if(this == obj) {
+        return true;
+      }
+      return obj instanceof Contributions && value == ((Contributions)obj).value();
+    }
+
+    @Override
+    public String toString()
+    {
+      return "@" + Contributions.class.getName() + "(" + value.getName() + ".class)";
+    }
+  }
+}
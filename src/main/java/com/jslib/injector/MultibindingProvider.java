@@ -0,0 +1,177 @@
+package com.jslib.injector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import com.jslib.api.injector.Key;
+import com.jslib.api.injector.ProvisionException;
+
+import jakarta.inject.Provider;
+
+/**
+ * Provider for a multi-binding collection, see {@link Multibinder}. Contributions from all modules are flattened at
+ * injector configuration into arrays of contributor providers, in contribution order, so that collection creation only
+ * invokes contributor providers and wraps resulting array into an immutable collection.
+ *
+ * If all contributors are singletons or instances the collection never changes and is created once, on first request,
+ * then returned as a constant. Concurrent first requests may create equivalent collections but only one is retained.
+ *
+ * @author Iulian Rotaru
+ */
+class MultibindingProvider<T> implements Provider<T>
+{
+  enum Kind
+  {
+    SET, LIST, MAP
+  }
+
+  private final Kind kind;
+  private final Class<?> elementType;
+  /** Contributor binding keys, in contribution order. */
+  private final Key<?>[] keys;
+  /** Contributor providers, in contribution order. */
+  private final Provider<?>[] contributors;
+  /** Map entry keys, in contribution order, for map multi-binding; null otherwise. */
+  private final String[] entryKeys;
+  /** True if all contributors are singletons or instances. */
+  private final boolean constant;
+
+  private volatile T collection;
+
+  private MultibindingProvider(Kind kind, Class<?> elementType, List<Map.Entry<Key<?>, Provider<?>>> contributions)
+  {
+    this.kind = kind;
+    this.elementType = elementType;
+    this.keys = new Key<?>[contributions.size()];
+    this.contributors = new Provider<?>[contributions.size()];
+    this.entryKeys = kind == Kind.MAP ? new String[contributions.size()] : null;
+
+    boolean constant = true;
+    for(int i = 0; i < contributors.length; ++i) {
+      keys[i] = contributions.get(i).getKey();
+      contributors[i] = contributions.get(i).getValue();
+      Provider<?> provider = MeteredProvider.unwrap(contributors[i]);
+      constant &= provider instanceof SingletonScopeProvider || provider instanceof InstanceProvider;
+      if(entryKeys != null) {
+        String entryKey = contribution(keys[i]).key();
+        if(Arrays.asList(entryKeys).subList(0, i).contains(entryKey)) {
+          throw new ProvisionException("Duplicated map multi-binding key |%s| for |%s|.", entryKey, elementType.getCanonicalName());
+        }
+        entryKeys[i] = entryKey;
+      }
+    }
+    this.constant = constant;
+  }
+
+  /**
+   * Create multi-binding providers for all contributions from given injector bindings: set and list for element
+   * contributions and map for entry contributions, every one keyed by element type.
+   *
+   * @param bindings injector bindings.
+   * @return multi-binding providers mapped to multi-binding keys, possible empty.
+   * @throws ProvisionException if a map multi-binding has duplicated keys.
+   */
+  public static Map<Key<?>, Provider<?>> multibindings(Map<Key<?>, Provider<?>> bindings)
+  {
+    Map<Class<?>, List<Map.Entry<Key<?>, Provider<?>>>> elements = new LinkedHashMap<>();
+    Map<Class<?>, List<Map.Entry<Key<?>, Provider<?>>>> entries = new LinkedHashMap<>();
+    for(Map.Entry<Key<?>, Provider<?>> binding : bindings.entrySet()) {
+      Contribution contribution = contribution(binding.getKey());
+      if(contribution != null) {
+        Map<Class<?>, List<Map.Entry<Key<?>, Provider<?>>>> contributions = contribution.key().isEmpty() ? elements : entries;
+        contributions.computeIfAbsent(binding.getKey().type(), type -> new ArrayList<>()).add(binding);
+      }
+    }
+
+    Map<Key<?>, Provider<?>> multibindings = new HashMap<>();
+    Comparator<Map.Entry<Key<?>, Provider<?>>> order = Comparator.comparingInt(binding -> contribution(binding.getKey()).id());
+    elements.forEach((elementType, contributions) -> {
+      contributions.sort(order);
+      multibindings.put(Multibinder.setKey(elementType), new MultibindingProvider<>(Kind.SET, elementType, contributions));
+      multibindings.put(Multibinder.listKey(elementType), new MultibindingProvider<>(Kind.LIST, elementType, contributions));
+    });
+    entries.forEach((elementType, contributions) -> {
+      contributions.sort(order);
+      multibindings.put(Multibinder.mapKey(elementType), new MultibindingProvider<>(Kind.MAP, elementType, contributions));
+    });
+    return multibindings;
+  }
+
+  private static Contribution contribution(Key<?> key)
+  {
+    return key.qualifier() instanceof Contribution ? (Contribution)key.qualifier() : null;
+  }
+
+  /**
+   * Get contributor providers, in contribution order. Returned array is not copied and should not be altered.
+   *
+   * @return contributor providers.
+   */
+  Provider<?>[] contributors()
+  {
+    return contributors;
+  }
+
+  /**
+   * Get contributor binding keys, used to find singleton contributors creation order.
+   *
+   * @return contributor keys.
+   */
+  List<Key<?>> dependencies()
+  {
+    return Arrays.asList(keys);
+  }
+
+  boolean isConstant()
+  {
+    return constant;
+  }
+
+  @Override
+  public T get()
+  {
+    T collection = this.collection;
+    if(collection != null) {
+      return collection;
+    }
+
+    Object[] instances = new Object[contributors.length];
+    for(int i = 0; i < contributors.length; ++i) {
+      instances[i] = contributors[i].get();
+    }
+    collection = collection(instances);
+    if(constant) {
+      this.collection = collection;
+    }
+    return collection;
+  }
+
+  @SuppressWarnings("unchecked")
+  private T collection(Object[] instances)
+  {
+    switch(kind) {
+    case SET:
+      return (T)ArrayCollections.set(instances);
+
+    case LIST:
+      return (T)ArrayCollections.list(instances);
+
+    case MAP:
+      return (T)ArrayCollections.map(entryKeys, instances);
+
+    default:
+      throw new IllegalStateException();
+    }
+  }
+
+  @Override
+  public String toString()
+  {
+    return elementType.getCanonicalName() + ":" + kind;
+  }
+}
@@ -0,0 +1,16 @@
+package com.jslib.injector;
+
+/**
+ * Policy applied by pooled scope when all instances allowed by pool bound are borrowed. See {@link Pooled#exhausted()}.
+ * 
+ * @author Iulian Rotaru
+ */
+public enum PoolExhaustedPolicy
+{
+  /** Requesting thread waits for an instance to be returned, up to {@link Pooled#waitTimeout()}; this is back pressure. */
+  BLOCK,
+  /** Provisioning fails with provision exception. */
+  FAIL,
+  /** A new instance is created beyond pool bound; on return it is kept only if there is room for it on idle pool. */
+  GROW
+}
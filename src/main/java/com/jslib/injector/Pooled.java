@@ -0,0 +1,35 @@
+package com.jslib.injector;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+import jakarta.inject.Scope;
+
+/**
+ * Pooled scope for instances too expensive to create on every request but not thread safe, like parsers, codec
+ * contexts or large buffers. Requesting a pooled instance borrows it from a bounded pool and application returns it
+ * with {@link PooledScopeFactory#release(Object)}, after use. See {@link PooledScopeFactory}.
+ *
+ * @author Iulian Rotaru
+ */
+@Scope
+@Documented
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface Pooled
+{
+  /** Maximum number of instances borrowed at a time, that is also the maximum number of idle instances. */
+  int max() default 8;
+
+  /** Idle instances older than this timeout, in milliseconds, are discarded. Zero means idle instances never expire. */
+  long idleTimeout() default 60000;
+
+  /** Policy applied when all <code>max</code> instances are borrowed. */
+  PoolExhaustedPolicy exhausted() default PoolExhaustedPolicy.BLOCK;
+
+  /** Maximum time, in milliseconds, to wait for a returned instance, with {@link PoolExhaustedPolicy#BLOCK} policy. */
+  long waitTimeout() default 10000;
+}
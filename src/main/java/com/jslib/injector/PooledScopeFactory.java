@@ -0,0 +1,138 @@
+package com.jslib.injector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.jslib.api.injector.IBinding;
+import com.jslib.api.injector.IInjector;
+import com.jslib.api.injector.IScopeFactory;
+import com.jslib.api.injector.ITypedProvider;
+
+/**
+ * Scope factory for {@link Pooled} scope. Every pooled binding gets its own bounded pool, configured from
+ * <code>@Pooled</code> annotation on implementation class or with annotation defaults if binding is scoped with
+ * <code>in(Pooled.class)</code>. Injector registers this factory for {@link Pooled} annotation; it is retrieved with
+ * {@link Injector#getScopeFactory(Class)} and cast to this class.
+ *
+ * Requesting a pooled instance borrows it and application should return it after use, from a finally block:
+ *
+ * <pre>
+ * Parser parser = injector.getInstance(Parser.class);
+ * try {
+ *   ...
+ * }
+ * finally {
+ *   pooledScope.release(parser);
+ * }
+ * </pre>
+ *
+ * Every borrowed instance is mapped, by identity, to the pool it was borrowed from, so that it is returned to the right
+ * pool whatever bindings share its implementation class; releasing an instance not borrowed, or already released, is
+ * rejected. Since a borrowed instance should be released by the code that requested it, pooled bindings cannot be
+ * injected into other instances or contributed to multi-bindings, see {@link DependencyLinker}; inject the provider
+ * instead and release every instance it provides.
+ *
+ * Idle instances expire lazily, on borrow; application can also call {@link #evictIdle()} periodically, to free idle
+ * instances for pools not in use.
+ *
+ * @author Iulian Rotaru
+ */
+public class PooledScopeFactory<T> implements IScopeFactory<T>
+{
+  /** Pooled annotation with default values, for implementation classes without annotation. */
+  private static final Pooled DEFAULTS = Defaults.class.getAnnotation(Pooled.class);
+
+  /** Pools created by this factory, weakly referenced so that pools of discarded injectors are not retained. */
+  private final Map<PooledScopeProvider<?>, Boolean> pools = Collections.synchronizedMap(new WeakHashMap<>());
+  /** Borrowed instances mapped to pools they were borrowed from. */
+  private final Map<Borrowed, PooledScopeProvider<?>> borrowed = new ConcurrentHashMap<>();
+
+  @Override
+  public PooledScopeProvider<T> getScopedProvider(IInjector injector, IBinding<T> provisioningBinding)
+  {
+    Class<?> type = provisioningBinding.provider() instanceof ITypedProvider ? ((ITypedProvider<?>)provisioningBinding.provider()).type() : null;
+    Pooled pooled = type != null ? type.getAnnotation(Pooled.class) : null;
+    PooledScopeProvider<T> provider = new PooledScopeProvider<>(this, provisioningBinding.provider(), pooled != null ? pooled : DEFAULTS);
+    pools.put(provider, Boolean.TRUE);
+    return provider;
+  }
+
+  /**
+   * Return a borrowed instance to the pool it was borrowed from.
+   *
+   * @param instance instance borrowed from a pooled binding.
+   * @throws IllegalArgumentException if instance is not borrowed from a pool or was already released.
+   */
+  @SuppressWarnings("unchecked")
+  public void release(Object instance)
+  {
+    PooledScopeProvider<Object> pool = (PooledScopeProvider<Object>)borrowed.remove(new Borrowed(instance));
+    if(pool == null) {
+      throw new IllegalArgumentException("Not a borrowed pooled instance: " + instance.getClass());
+    }
+    pool.release(instance);
+  }
+
+  /**
+   * Record instance borrowed from a pool.
+   *
+   * @param instance borrowed instance,
+   * @param pool pool instance was borrowed from.
+   */
+  void borrow(Object instance, PooledScopeProvider<?> pool)
+  {
+    borrowed.put(new Borrowed(instance), pool);
+  }
+
+  /**
+   * Discard idle instances older than their pool idle timeout, from all pools.
+   *
+   * @return the number of discarded instances.
+   */
+  public int evictIdle()
+  {
+    List<PooledScopeProvider<?>> pools;
+    synchronized(this.pools) {
+      pools = new ArrayList<>(this.pools.keySet());
+    }
+    int evicted = 0;
+    for(PooledScopeProvider<?> pool : pools) {
+      evicted += pool.evictIdle();
+    }
+    return evicted;
+  }
+
+  // --------------------------------------------------------------------------------------------
+
+  @Pooled
+  private static final class Defaults
+  {
+  }
+
+  /** Borrowed instance key, compared by instance identity. */
+  private static final class Borrowed
+  {
+    private final Object instance;
+
+    Borrowed(Object instance)
+    {
+      this.instance = instance;
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return System.identityHashCode(instance);
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+      return obj instanceof Borrowed && ((Borrowed)obj).instance == instance;
+    }
+  }
+}
@@ -0,0 +1,274 @@
+package com.jslib.injector;
+
+import java.lang.annotation.Annotation;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+import com.jslib.api.injector.ProvisionException;
+import com.jslib.api.injector.ScopedProvider;
+import com.jslib.api.log.Log;
+import com.jslib.api.log.LogFactory;
+
+import jakarta.inject.Provider;
+
+/**
+ * Scoped provider for {@link Pooled} scope. Provider {@link #get()} borrows an idle instance or creates a new one and
+ * records it on scope factory; {@link PooledScopeFactory#release(Object)} checks instance was borrowed and returns it
+ * to idle pool with {@link #release(Object)}. Idle pool is a fixed array of slots updated with compare and set,
+ * so that borrow and return do not lock. Only {@link PoolExhaustedPolicy#BLOCK} policy waits on a monitor, and only
+ * when pool is exhausted; returning an instance signals the monitor only if there are waiting threads.
+ *
+ * Idle instances older than idle timeout are discarded when found on borrow and by {@link #evictIdle()}. Discarded
+ * instances that are auto closeable are closed.
+ *
+ * @author Iulian Rotaru
+ */
+class PooledScopeProvider<T> extends ScopedProvider<T>
+{
+  private static final Log log = LogFactory.getLog(PooledScopeProvider.class);
+
+  private final PooledScopeFactory<?> factory;
+  private final int max;
+  /** Idle timeout, in nanoseconds, or zero if idle instances never expire. */
+  private final long idleTimeout;
+  private final PoolExhaustedPolicy exhaustedPolicy;
+  /** Wait timeout, in nanoseconds, for blocking exhausted policy. */
+  private final long waitTimeout;
+
+  /** Idle instances, null for empty slot. */
+  private final AtomicReferenceArray<Idle<T>> slots;
+  /** The number of instances currently borrowed. */
+  private final AtomicInteger active = new AtomicInteger();
+  /** The number of threads waiting for a returned instance. */
+  private final AtomicInteger waiters = new AtomicInteger();
+  private final Object monitor = new Object();
+
+  public PooledScopeProvider(PooledScopeFactory<?> factory, Provider<T> provisioningProvider, Pooled pooled)
+  {
+    super(provisioningProvider);
+    this.factory = factory;
+    if(pooled.max() <= 0) {
+      throw new IllegalArgumentException("Invalid pool size " + pooled.max());
+    }
+    this.max = pooled.max();
+    this.idleTimeout = TimeUnit.MILLISECONDS.toNanos(pooled.idleTimeout());
+    this.exhaustedPolicy = pooled.exhausted();
+    this.waitTimeout = TimeUnit.MILLISECONDS.toNanos(pooled.waitTimeout());
+    this.slots = new AtomicReferenceArray<>(max);
+  }
+
+  @Override
+  public Class<? extends Annotation> getScope()
+  {
+    return Pooled.class;
+  }
+
+  /** Pooled scope has no instance bound to scope; every request borrows a different instance. */
+  @Override
+  public T getScopeInstance()
+  {
+    return null;
+  }
+
+  /**
+   * Borrow an idle instance or create a new one if there is none idle. If all allowed instances are borrowed apply
+   * exhausted policy.
+   *
+   * @return borrowed instance.
+   * @throws ProvisionException if pool is exhausted and policy does not allow waiting or growing, or wait times out.
+   */
+  @Override
+  public T get()
+  {
+    acquire();
+    try {
+      T instance = poll();
+      if(instance == null) {
+        instance = getProvisioningProvider().get();
+      }
+      factory.borrow(instance, this);
+      return instance;
+    }
+    catch(RuntimeException | Error e) {
+      deactivate();
+      throw e;
+    }
+  }
+
+  /**
+   * Return borrowed instance to idle pool. If idle pool has no room, that is possible only with growing exhausted
+   * policy, instance is discarded. Scope factory has already checked instance was borrowed from this provider.
+   *
+   * @param instance instance borrowed from this provider.
+   */
+  void release(T instance)
+  {
+    if(!offer(instance)) {
+      discard(instance);
+    }
+    deactivate();
+  }
+
+  /**
+   * Discard idle instances older than idle timeout.
+   *
+   * @return the number of discarded instances.
+   */
+  public int evictIdle()
+  {
+    if(idleTimeout == 0) {
+      return 0;
+    }
+    long now = System.nanoTime();
+    int evicted = 0;
+    for(int i = 0; i < slots.length(); ++i) {
+      Idle<T> idle = slots.get(i);
+      if(idle != null && now - idle.timestamp >= idleTimeout && slots.compareAndSet(i, idle, null)) {
+        discard(idle.instance);
+        ++evicted;
+      }
+    }
+    return evicted;
+  }
+
+  int activeCount()
+  {
+    return active.get();
+  }
+
+  int idleCount()
+  {
+    int count = 0;
+    for(int i = 0; i < slots.length(); ++i) {
+      if(slots.get(i) != null) {
+        ++count;
+      }
+    }
+    return count;
+  }
+
+  private void acquire()
+  {
+    if(active.incrementAndGet() <= max) {
+      return;
+    }
+    switch(exhaustedPolicy) {
+    case GROW:
+      return;
+
+    case FAIL:
+      active.decrementAndGet();
+      throw new ProvisionException("Pool exhausted for |%s|.", getProvisioningProvider());
+
+    case BLOCK:
+      active.decrementAndGet();
+      await();
+      return;
+
+    default:
+      throw new IllegalStateException();
+    }
+  }
+
+  private void await()
+  {
+    long deadline = System.nanoTime() + waitTimeout;
+    waiters.incrementAndGet();
+    try {
+      synchronized(monitor) {
+        for(;;) {
+          int count = active.get();
+          if(count < max) {
+            if(active.compareAndSet(count, count + 1)) {
+              return;
+            }
+            continue;
+          }
+          long remaining = deadline - System.nanoTime();
+          if(remaining <= 0) {
+            throw new ProvisionException("Timeout waiting for pooled instance of |%s|.", getProvisioningProvider());
+          }
+          TimeUnit.NANOSECONDS.timedWait(monitor, remaining);
+        }
+      }
+    }
+    catch(InterruptedException e) {
+      Thread.currentThread().interrupt();
+      throw new ProvisionException(e);
+    }
+    finally {
+      waiters.decrementAndGet();
+    }
+  }
+
+  private void deactivate()
+  {
+    active.decrementAndGet();
+    if(waiters.get() > 0) {
+      synchronized(monitor) {
+        monitor.notify();
+      }
+    }
+  }
+
+  private T poll()
+  {
+    long now = System.nanoTime();
+    for(int i = 0; i < slots.length(); ++i) {
+      Idle<T> idle = slots.get(i);
+      if(idle != null && slots.compareAndSet(i, idle, null)) {
+        if(idleTimeout != 0 && now - idle.timestamp >= idleTimeout) {
+          discard(idle.instance);
+          continue;
+        }
+        return idle.instance;
+      }
+    }
+    return null;
+  }
+
+  private boolean offer(T instance)
+  {
+    Idle<T> idle = new Idle<>(instance, System.nanoTime());
+    for(int i = 0; i < slots.length(); ++i) {
+      if(slots.get(i) == null && slots.compareAndSet(i, null, idle)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  private static void discard(Object instance)
+  {
+    if(instance instanceof AutoCloseable) {
+      try {
+        ((AutoCloseable)instance).close();
+      }
+      catch(Exception e) {
+        log.warn("Fail to close discarded pooled instance |{java_type}|. Root cause: {exception_class}: {exception_message}", instance.getClass(), e.getClass().getCanonicalName(), e.getMessage());
+      }
+    }
+  }
+
+  @Override
+  public String toString()
+  {
+    return getProvisioningProvider().toString() + ":POOLED";
+  }
+
+  // --------------------------------------------------------------------------------------------
+
+  private static final class Idle<T>
+  {
+    final T instance;
+    /** Time instance was returned to idle pool, in nanoseconds. */
+    final long timestamp;
+
+    Idle(T instance, long timestamp)
+    {
+      this.instance = instance;
+      this.timestamp = timestamp;
+    }
+  }
+}
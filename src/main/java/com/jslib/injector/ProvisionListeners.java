@@ -0,0 +1,167 @@
+package com.jslib.injector;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.function.Predicate;
+
+import com.jslib.api.injector.IProvisionListener;
+import com.jslib.api.injector.Key;
+
+/**
+ * Immutable snapshot of provision listeners registered on injector. Injector replaces its snapshot on every listener
+ * registration change, copy on write, so that events dispatch reads listeners without locking.
+ * 
+ * A listener is registered for all provisioned instances or filtered by instance type or by binding key predicate.
+ * Provisioning providers select listeners interested in their bindings once per snapshot, see
+ * {@link #select(Class, Collection)}, so that filters are not evaluated on every instance creation.
+ * 
+ * @author Iulian Rotaru
+ */
+final class ProvisionListeners
+{
+  static final ProvisionListeners EMPTY = new ProvisionListeners(new Entry[0]);
+
+  static final IProvisionListener[] NO_LISTENERS = new IProvisionListener[0];
+
+  private final Entry[] entries;
+
+  private ProvisionListeners(Entry[] entries)
+  {
+    this.entries = entries;
+  }
+
+  public boolean isEmpty()
+  {
+    return entries.length == 0;
+  }
+
+  /**
+   * Test if there is at least one listener filtered by binding key predicate.
+   * 
+   * @return true if there are key filtered listeners.
+   */
+  public boolean hasKeyFilters()
+  {
+    for(Entry entry : entries) {
+      if(entry.keyPredicate != null) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Create a snapshot with registrations from this snapshot followed by registrations from given snapshot. Used by child
+   * injectors to merge parent listeners with their own.
+   * 
+   * @param other listeners snapshot to append.
+   * @return merged listeners snapshot, this or other snapshot if one is empty.
+   */
+  public ProvisionListeners concat(ProvisionListeners other)
+  {
+    if(other.entries.length == 0) {
+      return this;
+    }
+    if(entries.length == 0) {
+      return other;
+    }
+    Entry[] newEntries = Arrays.copyOf(entries, entries.length + other.entries.length);
+    System.arraycopy(other.entries, 0, newEntries, entries.length, other.entries.length);
+    return new ProvisionListeners(newEntries);
+  }
+
+  /**
+   * Create a new snapshot with given listener added. Returns this snapshot if listener is already registered with the
+   * same filters.
+   * 
+   * @param listener provision listener,
+   * @param type optional instance type filter, null to match all types,
+   * @param keyPredicate optional binding key filter, null to match all keys.
+   * @return listeners snapshot with listener added.
+   */
+  public ProvisionListeners add(IProvisionListener listener, Class<?> type, Predicate<Key<?>> keyPredicate)
+  {
+    for(Entry entry : entries) {
+      if(entry.listener == listener && entry.type == type && entry.keyPredicate == keyPredicate) {
+        return this;
+      }
+    }
+    Entry[] newEntries = Arrays.copyOf(entries, entries.length + 1);
+    newEntries[entries.length] = new Entry(listener, type, keyPredicate);
+    return new ProvisionListeners(newEntries);
+  }
+
+  /**
+   * Create a new snapshot with all registrations for given listener removed.
+   * 
+   * @param listener provision listener.
+   * @return listeners snapshot without listener.
+   */
+  public ProvisionListeners remove(IProvisionListener listener)
+  {
+    List<Entry> newEntries = new ArrayList<>();
+    for(Entry entry : entries) {
+      if(entry.listener != listener) {
+        newEntries.add(entry);
+      }
+    }
+    if(newEntries.size() == entries.length) {
+      return this;
+    }
+    return newEntries.isEmpty() ? EMPTY : new ProvisionListeners(newEntries.toArray(new Entry[0]));
+  }
+
+  /**
+   * Select listeners interested in instances created by a provisioning provider. Key filters are matched against
+   * provider binding keys; a listener with key filter is not selected if provider has no bindings.
+   * 
+   * @param type type of instances created by provider,
+   * @param keys provider binding keys, possible empty.
+   * @return selected listeners, possible empty.
+   */
+  public IProvisionListener[] select(Class<?> type, Collection<Key<?>> keys)
+  {
+    if(entries.length == 0) {
+      return NO_LISTENERS;
+    }
+    List<IProvisionListener> listeners = new ArrayList<>();
+    for(Entry entry : entries) {
+      if(entry.accept(type, keys) && !listeners.contains(entry.listener)) {
+        listeners.add(entry.listener);
+      }
+    }
+    return listeners.toArray(NO_LISTENERS);
+  }
+
+  private static final class Entry
+  {
+    final IProvisionListener listener;
+    final Class<?> type;
+    final Predicate<Key<?>> keyPredicate;
+
+    Entry(IProvisionListener listener, Class<?> type, Predicate<Key<?>> keyPredicate)
+    {
+      this.listener = listener;
+      this.type = type;
+      this.keyPredicate = keyPredicate;
+    }
+
+    boolean accept(Class<?> instanceType, Collection<Key<?>> keys)
+    {
+      if(type != null && (instanceType == null || !type.isAssignableFrom(instanceType))) {
+        return false;
+      }
+      if(keyPredicate == null) {
+        return true;
+      }
+      for(Key<?> key : keys) {
+        if(keyPredicate.test(key)) {
+          return true;
+        }
+      }
+      return false;
+    }
+  }
+}
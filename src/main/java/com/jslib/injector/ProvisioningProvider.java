@@ -1,20 +1,25 @@
 package com.jslib.injector;
 
 import java.lang.annotation.Annotation;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.lang.reflect.AnnotatedElement;
 import java.lang.reflect.Constructor;
-import java.lang.reflect.Executable;
 import java.lang.reflect.Field;
-import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Member;
 import java.lang.reflect.Method;
-import java.lang.reflect.Parameter;
+import java.lang.reflect.Modifier;
 import java.lang.reflect.ParameterizedType;
 import java.lang.reflect.Type;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
 
 import com.jslib.api.injector.IInjector;
 import com.jslib.api.injector.IProvisionInvocation;
+import com.jslib.api.injector.IProvisionListener;
 import com.jslib.api.injector.ITypedProvider;
 import com.jslib.api.injector.Key;
 import com.jslib.api.injector.ProvisionException;
@@ -29,19 +34,46 @@ import jakarta.inject.Qualifier;
 /**
  * Provisioning provider creates new instances every time it is invoked; it has no scope cache.
  * 
+ * Constructor, injected fields and injected methods are compiled to method handles when provider is created, so that
+ * access checks are performed once and not on every instance creation, as reflective invocation does. If injector has
+ * {@link Injector#setGeneratedFactories(boolean) generated factories} enabled, provider attempts to generate a factory
+ * class that performs instantiation and injection with plain bytecode, see {@link FactoryGenerator}. If factory cannot
+ * be generated provider falls back to method handles.
+ * 
+ * If injector has {@link Injector#setLazyMetadata(boolean) lazy metadata} enabled, implementation class is not scanned
+ * when provider is created but on first instance creation, so that bindings never used do not pay scanning cost.
+ * 
  * @author Iulian Rotaru
  */
 class ProvisioningProvider<T> implements ITypedProvider<T>
 {
   private static final Log log = LogFactory.getLog(ProvisioningProvider.class);
 
+  /** Constructor handle type after arguments spreading: takes arguments array and returns created instance. */
+  static final MethodType CONSTRUCTOR_TYPE = MethodType.methodType(Object.class, Object[].class);
+  /** Field setter handle type: takes instance and field value. */
+  static final MethodType SETTER_TYPE = MethodType.methodType(void.class, Object.class, Object.class);
+  /** Method handle type after arguments spreading: takes instance and arguments array; return value, if any, is dropped. */
+  static final MethodType METHOD_TYPE = MethodType.methodType(void.class, Object.class, Object[].class);
+
   private final IInjector injector;
   private final Class<? extends T> type;
 
-  private final Constructor<? extends T> constructor;
-  private final List<ParameterKey<?>> constructorParameters;
-  private final List<FieldKey<?>> fields;
-  private final List<MethodKey> methods;
+  /** Injection members, scanned on construction or on first use if injector has lazy metadata enabled. */
+  private volatile Members members;
+
+  /** Provider dependencies graph is proven to have no cycles so that circular dependency guard is not necessary. */
+  private boolean acyclic;
+
+  /** Injector owning provision listeners or null if injector is not an {@link Injector} instance. */
+  private final Injector listenersInjector;
+  /** Binding keys this provider is bound to, replaced copy on write; used to select provision listeners. */
+  private volatile List<Key<?>> keys = Collections.emptyList();
+  /** Provision listeners selected for this provider from injector listeners snapshot. */
+  private volatile Listeners listeners = new Listeners(ProvisionListeners.EMPTY, ProvisionListeners.NO_LISTENERS);
+
+  /** Provisioning tracer of owning injector, null if tracing is not enabled. */
+  private final ProvisioningTracer tracer;
 
   public ProvisioningProvider(IInjector injector, Class<? extends T> type)
   {
@@ -50,11 +82,32 @@ class ProvisioningProvider<T> implements ITypedProvider<T>
 
     this.injector = injector;
     this.type = type;
+    this.listenersInjector = injector instanceof Injector ? (Injector)injector : null;
+    this.tracer = listenersInjector != null ? listenersInjector.getTracer() : null;
+    if(listenersInjector == null || !listenersInjector.isLazyMetadata()) {
+      this.members = new Members();
+    }
+  }
 
-    this.constructor = constructor(type);
-    this.constructorParameters = parameterKeys(this.constructor);
-    this.fields = fields(type);
-    this.methods = methods(type);
+  /**
+   * Get injection members, scanning implementation class on first call if members were not scanned on construction.
+   * 
+   * @return injection members.
+   * @throws ProvisionException if implementation class is not valid.
+   */
+  private Members members()
+  {
+    Members members = this.members;
+    if(members == null) {
+      synchronized(this) {
+        members = this.members;
+        if(members == null) {
+          members = new Members();
+          this.members = members;
+        }
+      }
+    }
+    return members;
   }
 
   @Override
@@ -66,33 +119,282 @@ class ProvisioningProvider<T> implements ITypedProvider<T>
   @Override
   public T get()
   {
-    try (CircularDependencyGuard guard = new CircularDependencyGuard()) {
-      // guard pop is performed by AutoCloseable#close()
-      guard.push(type);
+    if(tracer == null) {
+      return guardedCreate();
+    }
+    tracer.enter(type);
+    try {
+      return guardedCreate();
+    }
+    finally {
+      tracer.exit();
+    }
+  }
 
-      List<Object> arguments = new ArrayList<>();
-      for(ParameterKey<?> parameter : constructorParameters) {
-        arguments.add(parameter.value());
-      }
-      T instance = constructor.newInstance(arguments.toArray());
+  private T guardedCreate()
+  {
+    if(acyclic) {
+      return create();
+    }
+    CircularDependencyGuard.push(this, type);
+    try {
+      return create();
+    }
+    finally {
+      CircularDependencyGuard.pop();
+    }
+  }
+
+  private T create()
+  {
+    Members members = members();
+    Object[] arguments = new Object[members.constructorParameters.size()];
+    for(int i = 0; i < arguments.length; ++i) {
+      arguments[i] = members.constructorParameters.get(i).value();
+    }
 
-      for(FieldKey<?> field : fields) {
+    T instance;
+    if(members.factory != null) {
+      instance = newInstance(members.factory, arguments, fieldValues(members.fields), methodsArguments(members.methods));
+    }
+    else {
+      instance = newInstance(members.constructorHandle, arguments);
+      for(FieldKey<?> field : members.fields) {
         field.set(instance);
       }
-      for(MethodKey method : methods) {
+      for(MethodKey method : members.methods) {
         method.invoke(instance);
       }
+    }
 
-      log.trace("Create instance {java_type}.", type);
+    log.trace("Create instance {java_type}.", type);
+    fireEvent(instance);
+    return instance;
+  }
+
+  /**
+   * Notify provision listeners about created instance. Provision invocation is not created if there are no listeners
+   * interested in this provider instances.
+   * 
+   * @param instance newly created instance.
+   */
+  private void fireEvent(T instance)
+  {
+    if(listenersInjector == null) {
       injector.fireEvent(IProvisionInvocation.create(this, instance));
-      return instance;
+      return;
+    }
+    IProvisionListener[] selectedListeners = listeners(listenersInjector.getProvisionListeners());
+    if(selectedListeners.length == 0) {
+      return;
+    }
+    listenersInjector.dispatchEvent(selectedListeners, IProvisionInvocation.create(this, instance));
+  }
+
+  /**
+   * Get listeners selected for this provider from injector listeners snapshot. Selection is performed only when
+   * injector listeners snapshot changes.
+   * 
+   * @param source injector provision listeners snapshot.
+   * @return selected listeners, possible empty.
+   */
+  private IProvisionListener[] listeners(ProvisionListeners source)
+  {
+    Listeners listeners = this.listeners;
+    if(listeners.source != source) {
+      listeners = new Listeners(source, source.select(type, keys));
+      this.listeners = listeners;
+    }
+    return listeners.selected;
+  }
+
+  /**
+   * Record a binding key this provider is bound to. Invoked while injector is configured.
+   * 
+   * @param key binding key.
+   */
+  void addKey(Key<?> key)
+  {
+    List<Key<?>> newKeys = new ArrayList<>(keys);
+    newKeys.add(key);
+    keys = Collections.unmodifiableList(newKeys);
+    // force listeners selection since keys changed
+    listeners = new Listeners(ProvisionListeners.EMPTY, ProvisionListeners.NO_LISTENERS);
+  }
+
+  @SuppressWarnings("unchecked")
+  private T newInstance(MethodHandle constructorHandle, Object[] arguments)
+  {
+    try {
+      return (T)constructorHandle.invokeExact(arguments);
+    }
+    catch(Error e) {
+      throw e;
+    }
+    catch(Throwable e) {
+      log.dump(String.format("Provider fails to create instance %s:", type.getCanonicalName()), e);
+      throw new ProvisionException(e);
+    }
+  }
+
+  /**
+   * Create instance and inject its fields and methods using generated factory. All dependencies are already resolved.
+   * 
+   * @param factory generated factory,
+   * @param arguments constructor arguments,
+   * @param fieldValues values for injected fields,
+   * @param methodsArguments arguments for injected methods.
+   * @return newly created instance.
+   */
+  @SuppressWarnings("unchecked")
+  private T newInstance(MethodHandle factory, Object[] arguments, Object[] fieldValues, Object[][] methodsArguments)
+  {
+    try {
+      return (T)factory.invokeExact(arguments, fieldValues, methodsArguments);
     }
-    catch(InstantiationException | IllegalAccessException | IllegalArgumentException | InvocationTargetException e) {
+    catch(Error e) {
+      throw e;
+    }
+    catch(Throwable e) {
       log.dump(String.format("Provider fails to create instance %s:", type.getCanonicalName()), e);
       throw new ProvisionException(e);
     }
   }
 
+  private Object[] fieldValues(List<FieldKey<?>> fields)
+  {
+    Object[] values = new Object[fields.size()];
+    for(int i = 0; i < values.length; ++i) {
+      values[i] = fields.get(i).value();
+    }
+    return values;
+  }
+
+  private Object[][] methodsArguments(List<MethodKey> methods)
+  {
+    Object[][] arguments = new Object[methods.size()][];
+    for(int i = 0; i < arguments.length; ++i) {
+      arguments[i] = methods.get(i).arguments();
+    }
+    return arguments;
+  }
+
+  private static boolean isGeneratedFactories(IInjector injector)
+  {
+    return injector instanceof Injector && ((Injector)injector).isGeneratedFactories();
+  }
+
+  boolean isAcyclic()
+  {
+    return acyclic;
+  }
+
+  /**
+   * Test if instance creation can resolve dependencies on demand, not visible to dependencies graph: provider injection
+   * points and injected injector. Constructor or injected methods can use them to request instances that close a
+   * dependencies cycle, so that a provider with dynamic dependencies is never proven acyclic.
+   * 
+   * @return true if provider has provider or injector injection points.
+   */
+  boolean hasDynamicDependencies()
+  {
+    Members members = members();
+    for(ParameterKey<?> parameter : members.constructorParameters) {
+      if(parameter.proxy != null || isInjector(parameter.key)) {
+        return true;
+      }
+    }
+    for(FieldKey<?> field : members.fields) {
+      if(field.proxy != null || isInjector(field.key)) {
+        return true;
+      }
+    }
+    for(MethodKey method : members.methods) {
+      for(int i = 0; i < method.keys.length; ++i) {
+        if(method.proxies[i] != null || isInjector(method.keys[i])) {
+          return true;
+        }
+      }
+    }
+    return false;
+  }
+
+  private static boolean isInjector(Key<?> key)
+  {
+    return IInjector.class.isAssignableFrom(key.type());
+  }
+
+  /**
+   * Get keys of dependencies resolved on every instance creation, in injection order: constructor parameters, fields and
+   * methods parameters. Provider injection points are not included since they are resolved lazily, by injected
+   * provider.
+   * 
+   * @return dependency keys, possible empty.
+   */
+  List<Key<?>> dependencies()
+  {
+    Members members = members();
+    List<Key<?>> dependencies = new ArrayList<>();
+    for(ParameterKey<?> parameter : members.constructorParameters) {
+      if(parameter.proxy == null) {
+        dependencies.add(parameter.key);
+      }
+    }
+    for(FieldKey<?> field : members.fields) {
+      if(field.proxy == null) {
+        dependencies.add(field.key);
+      }
+    }
+    for(MethodKey method : members.methods) {
+      for(int i = 0; i < method.keys.length; ++i) {
+        if(method.proxies[i] == null) {
+          dependencies.add(method.keys[i]);
+        }
+      }
+    }
+    return dependencies;
+  }
+
+  /**
+   * Link injection points to providers from injector bindings so that dependencies are got directly from target
+   * providers, without bindings look up. Provider injection points are linked via their shared proxy provider.
+   * Dependencies without binding are not linked; they keep resolving through injector.
+   * 
+   * @param bindings injector bindings look up, already configured,
+   * @param acyclic flag true if provider dependencies graph is proven to have no cycles.
+   */
+  void link(Function<Key<?>, Provider<?>> bindings, boolean acyclic)
+  {
+    this.acyclic = acyclic;
+    Members members = members();
+    for(ParameterKey<?> parameter : members.constructorParameters) {
+      if(parameter.proxy == null) {
+        parameter.provider = bindings.apply(parameter.key);
+      }
+      else {
+        parameter.proxy.link(bindings);
+      }
+    }
+    for(FieldKey<?> field : members.fields) {
+      if(field.proxy == null) {
+        field.provider = bindings.apply(field.key);
+      }
+      else {
+        field.proxy.link(bindings);
+      }
+    }
+    for(MethodKey method : members.methods) {
+      for(int i = 0; i < method.keys.length; ++i) {
+        if(method.proxies[i] == null) {
+          method.providers[i] = bindings.apply(method.keys[i]);
+        }
+        else {
+          method.proxies[i].link(bindings);
+        }
+      }
+    }
+  }
+
   @Override
   public String toString()
   {
@@ -139,52 +441,70 @@ class ProvisioningProvider<T> implements ITypedProvider<T>
     return constructor;
   }
 
-  private List<FieldKey<?>> fields(Class<?> type)
+  /**
+   * Get method handle for a constructor, field setter or method. Given member should be already made accessible so that
+   * access check is performed here, once, and not on handle invocation. Handles for static fields and methods take an
+   * instance argument too, that is ignored.
+   * 
+   * @param member constructor, field or method, already made accessible.
+   * @return method handle for requested member.
+   * @throws ProvisionException if member is not accessible.
+   */
+  static MethodHandle unreflect(Object member)
+  {
+    MethodHandles.Lookup lookup = MethodHandles.lookup();
+    try {
+      if(member instanceof Constructor) {
+        return lookup.unreflectConstructor((Constructor<?>)member);
+      }
+      MethodHandle handle = member instanceof Field ? lookup.unreflectSetter((Field)member) : lookup.unreflect((Method)member);
+      if(Modifier.isStatic(((Member)member).getModifiers())) {
+        // static members have no instance argument; accept and ignore instance so that all members have the same type
+        handle = MethodHandles.dropArguments(handle, 0, Object.class);
+      }
+      return handle;
+    }
+    catch(IllegalAccessException e) {
+      throw new ProvisionException("Cannot access |%s|. Root cause: %s", member, e.getMessage());
+    }
+  }
+
+  /**
+   * Adapt method handle to generic type with trailing arguments collected into an objects array. Returned handle is
+   * suitable for {@link MethodHandle#invokeExact(Object...)} with arguments array as resolved by injector.
+   * 
+   * @param handle method handle with trailing arguments not spread,
+   * @param argumentsCount the number of trailing arguments to collect into array,
+   * @param type generic method type to adapt handle to.
+   * @return adapted method handle.
+   */
+  static MethodHandle spread(MethodHandle handle, int argumentsCount, MethodType type)
+  {
+    return handle.asSpreader(Object[].class, argumentsCount).asType(type);
+  }
+
+  static List<Field> injectedFields(Class<?> type)
   {
-    List<FieldKey<?>> fields = new ArrayList<>();
+    List<Field> fields = new ArrayList<>();
     for(Field field : type.getDeclaredFields()) {
       if(field.isAnnotationPresent(Inject.class)) {
-        field.setAccessible(true);
-        fields.add(new FieldKey<>(field, Key.get(field.getType(), qualifier(field))));
+        fields.add(field);
       }
     }
     return fields;
   }
 
-  private List<MethodKey> methods(Class<?> type)
+  static List<Method> injectedMethods(Class<?> type)
   {
-    List<MethodKey> methods = new ArrayList<>();
+    List<Method> methods = new ArrayList<>();
     for(Method method : type.getDeclaredMethods()) {
       if(method.isAnnotationPresent(Inject.class)) {
-        List<ParameterKey<?>> parameterKeys = parameterKeys(method);
-        Key<?>[] keys = new Key<?>[parameterKeys.size()];
-        for(int i = 0; i < keys.length; ++i) {
-          keys[i] = parameterKeys.get(i).key;
-        }
-
-        method.setAccessible(true);
-        methods.add(new MethodKey(method, keys));
+        methods.add(method);
       }
     }
     return methods;
   }
 
-  /**
-   * Get instance keys for constructor or method parameters that can be qualified. Returned list is in declaration
-   * order. Returned keys may return qualifier annotation if present on parameter.
-   * 
-   * @param executable executable element: constructor or method.
-   * @return executable parameter keys.
-   */
-  private List<ParameterKey<?>> parameterKeys(Executable executable)
-  {
-    List<ParameterKey<?>> keys = new ArrayList<>();
-    for(Parameter parameter : executable.getParameters()) {
-      keys.add(new ParameterKey<>(parameter, Key.get(parameter.getType(), qualifier(parameter))));
-    }
-    return keys;
-  }
-
   /**
    * Return qualifier annotation of the requested annotated element or null if not present. A qualifier is an annotation
    * that has {@link Qualifier} annotation.
@@ -192,7 +512,7 @@ class ProvisioningProvider<T> implements ITypedProvider<T>
    * @param element annotated element: method or field.
    * @return qualifier annotation or null if not present.
    */
-  private static Annotation qualifier(AnnotatedElement element)
+  static Annotation qualifier(AnnotatedElement element)
   {
     for(Annotation annotation : element.getAnnotations()) {
       if(annotation.annotationType().isAnnotationPresent(Qualifier.class)) {
@@ -202,7 +522,7 @@ class ProvisioningProvider<T> implements ITypedProvider<T>
     return null;
   }
 
-  private static Class<?> providerTypeArgument(Type type)
+  static Class<?> providerTypeArgument(Type type)
   {
     if(!(type instanceof ParameterizedType)) {
       throw new ProvisionException("Missing parameter argument from provider.");
@@ -210,86 +530,222 @@ class ProvisioningProvider<T> implements ITypedProvider<T>
     return (Class<?>)((ParameterizedType)type).getActualTypeArguments()[0];
   }
 
+  /**
+   * Implementation class members used for instance creation and injection: selected constructor, injected fields and
+   * injected methods, with their method handles and dependency keys, and optional generated factory.
+   */
+  private final class Members
+  {
+    final MethodHandle constructorHandle;
+    final List<ParameterKey<?>> constructorParameters;
+    final List<FieldKey<?>> fields;
+    final List<MethodKey> methods;
+    /** Optional generated factory, of {@link FactoryGenerator#FACTORY_TYPE} type, null if not enabled or not possible. */
+    final MethodHandle factory;
+
+    Members()
+    {
+      // class metadata is shared by all injectors; keys and proxies created here hold this provider linking state
+      ClassMetadata metadata = ClassMetadata.of(type);
+      this.constructorHandle = metadata.constructorHandle();
+
+      List<ParameterKey<?>> constructorParameters = new ArrayList<>();
+      for(ClassMetadata.Dependency dependency : metadata.constructorParameters()) {
+        constructorParameters.add(new ParameterKey<>(dependency.key, dependency.providerKey));
+      }
+      this.constructorParameters = constructorParameters;
+
+      List<FieldKey<?>> fields = new ArrayList<>();
+      for(ClassMetadata.FieldMember field : metadata.fields()) {
+        fields.add(new FieldKey<>(field.field, field.setter, field.dependency.key, field.dependency.providerKey));
+      }
+      this.fields = fields;
+
+      List<MethodKey> methods = new ArrayList<>();
+      for(ClassMetadata.MethodMember method : metadata.methods()) {
+        Key<?>[] keys = new Key<?>[method.dependencies.size()];
+        ProxyProvider<?>[] proxies = new ProxyProvider<?>[keys.length];
+        for(int i = 0; i < keys.length; ++i) {
+          keys[i] = method.dependencies.get(i).key;
+          proxies[i] = proxy(method.dependencies.get(i).providerKey);
+        }
+        methods.add(new MethodKey(method.method, method.handle, keys, proxies));
+      }
+      this.methods = methods;
+
+      this.factory = isGeneratedFactories(injector) ? metadata.factory() : null;
+    }
+  }
+
+  /** Provision listeners selected from an injector listeners snapshot. */
+  private static class Listeners
+  {
+    final ProvisionListeners source;
+    final IProvisionListener[] selected;
+
+    Listeners(ProvisionListeners source, IProvisionListener[] selected)
+    {
+      this.source = source;
+      this.selected = selected;
+    }
+  }
+
+  /**
+   * Create proxy provider for a provider injection point. Proxy provider is created once, when injection point is
+   * created, and is shared by all instances created by this provisioning provider.
+   * 
+   * @param providerKey key of provided type or null if injection point is not a provider.
+   * @return proxy provider or null if injection point is not a provider.
+   */
+  private ProxyProvider<?> proxy(Key<?> providerKey)
+  {
+    return providerKey != null ? new ProxyProvider<>(injector, providerKey) : null;
+  }
+
   private class ParameterKey<P>
   {
-    final Parameter parameter;
     final Key<P> key;
+    /** Shared proxy provider if parameter is a provider, null otherwise. */
+    final ProxyProvider<?> proxy;
+    /** Linked target provider, null if not linked. */
+    Provider<?> provider;
 
-    public ParameterKey(Parameter parameter, Key<P> key)
+    public ParameterKey(Key<P> key, Key<?> providerKey)
     {
-      this.parameter = parameter;
       this.key = key;
+      this.proxy = proxy(providerKey);
     }
 
     Object value()
     {
-      if(!parameter.getType().equals(Provider.class)) {
-        return injector.getInstance(key);
+      if(provider != null) {
+        return provider.get();
+      }
+      if(proxy != null) {
+        return proxy;
       }
-      return new ProxyProvider<>(injector, key.forType(providerTypeArgument(parameter.getParameterizedType())));
+      return injector.getInstance(key);
     }
   }
 
   private class FieldKey<F>
   {
     final Field field;
+    final MethodHandle setter;
     final Key<F> key;
+    /** Shared proxy provider if field is a provider, null otherwise. */
+    final ProxyProvider<?> proxy;
+    /** Linked target provider, null if not linked. */
+    Provider<?> provider;
 
-    public FieldKey(Field field, Key<F> key)
+    public FieldKey(Field field, MethodHandle setter, Key<F> key, Key<?> providerKey)
     {
       this.field = field;
+      this.setter = setter;
       this.key = key;
+      this.proxy = proxy(providerKey);
     }
 
-    void set(Object instance) throws IllegalArgumentException, IllegalAccessException
+    Object value()
     {
       try {
-        Object value = null;
-        if(field.getType().equals(Provider.class)) {
-          value = new ProxyProvider<>(injector, key.forType(providerTypeArgument(field.getGenericType())));
+        if(provider != null) {
+          return provider.get();
         }
-        else {
-          value = injector.getInstance(key);
+        if(proxy != null) {
+          return proxy;
         }
+        return injector.getInstance(key);
+      }
+      catch(RuntimeException e) {
+        throw exception(e);
+      }
+    }
 
-        field.set(instance, value);
+    void set(Object instance)
+    {
+      Object value = value();
+      try {
+        setter.invokeExact(instance, value);
       }
       catch(RuntimeException e) {
-        throw new ProvisionException("Fail to inject |%s| to field |%s:%s|. Root cause: %s: %s", key, field.getDeclaringClass().getCanonicalName(), field.getName(), e.getClass().getCanonicalName(), e.getMessage());
+        throw exception(e);
+      }
+      catch(Error e) {
+        throw e;
       }
+      catch(Throwable e) {
+        throw new ProvisionException(e);
+      }
+    }
+
+    private ProvisionException exception(RuntimeException e)
+    {
+      return new ProvisionException("Fail to inject |%s| to field |%s:%s|. Root cause: %s: %s", key, field.getDeclaringClass().getCanonicalName(), field.getName(), e.getClass().getCanonicalName(), e.getMessage());
     }
   }
 
   private class MethodKey
   {
     final Method method;
+    final MethodHandle handle;
     final Key<?>[] keys;
+    /** Shared proxy providers, with null items for parameters that are not providers. */
+    final ProxyProvider<?>[] proxies;
+    /** Linked target providers, with null items for not linked parameters. */
+    final Provider<?>[] providers;
 
-    public MethodKey(Method method, Key<?>[] keys)
+    public MethodKey(Method method, MethodHandle handle, Key<?>[] keys, ProxyProvider<?>[] proxies)
     {
       this.method = method;
+      this.handle = handle;
       this.keys = keys;
+      this.proxies = proxies;
+      this.providers = new Provider<?>[keys.length];
     }
 
-    void invoke(Object instance) throws IllegalAccessException, IllegalArgumentException, InvocationTargetException
+    Object[] arguments()
     {
       try {
-        Class<?>[] parameterTypes = method.getParameterTypes();
         Object[] arguments = new Object[keys.length];
         for(int i = 0; i < arguments.length; ++i) {
-          if(parameterTypes[i].equals(Provider.class)) {
-            arguments[i] = new ProxyProvider<>(injector, keys[i].forType(providerTypeArgument(method.getGenericParameterTypes()[i])));
+          if(providers[i] != null) {
+            arguments[i] = providers[i].get();
+          }
+          else if(proxies[i] != null) {
+            arguments[i] = proxies[i];
           }
           else {
             arguments[i] = injector.getInstance(keys[i]);
           }
         }
+        return arguments;
+      }
+      catch(RuntimeException e) {
+        throw exception(e);
+      }
+    }
 
-        method.invoke(instance, arguments);
+    void invoke(Object instance)
+    {
+      Object[] arguments = arguments();
+      try {
+        handle.invokeExact(instance, arguments);
       }
       catch(RuntimeException e) {
-        throw new ProvisionException("Fail to inject |%s| to method |%s:%s|. Root cause: %s: %s", keys, method.getDeclaringClass().getCanonicalName(), method.getName(), e.getClass().getCanonicalName(), e.getMessage());
+        throw exception(e);
+      }
+      catch(Error e) {
+        throw e;
+      }
+      catch(Throwable e) {
+        throw new ProvisionException(e);
       }
     }
+
+    private ProvisionException exception(RuntimeException e)
+    {
+      return new ProvisionException("Fail to inject |%s| to method |%s:%s|. Root cause: %s: %s", keys, method.getDeclaringClass().getCanonicalName(), method.getName(), e.getClass().getCanonicalName(), e.getMessage());
+    }
   }
 }
@@ -0,0 +1,214 @@
+package com.jslib.injector;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Provisioning tracer records wall time and allocated bytes for every instance created by a provisioning provider, as a
+ * node of the dependencies tree. Nested creations, including dependencies resolved lazily through injector, are
+ * children of the instance being created on the same thread so that time and allocations of a node are split into
+ * self values and values of its dependencies. See {@link Injector#setTracing(boolean)}.
+ *
+ * Trace is available as folded stacks, one line per dependencies path with its self value, ready for flame graph tools,
+ * and as a report with implementation classes ordered by self time. Instances served from a scope cache are not
+ * created and are not traced.
+ *
+ * Allocated bytes are measured with per thread allocation counters from <code>com.sun.management.ThreadMXBean</code>
+ * and are zero on virtual machines that do not support them. Counters are virtual machine wide; creating a tracer
+ * enables them if disabled, and they stay enabled. Values are approximate: tracer own bookkeeping is
+ * included in self values of the parent node.
+ *
+ * @author Iulian Rotaru
+ */
+public final class ProvisioningTracer
+{
+  /** Per thread allocation counters, null if not supported. */
+  private final com.sun.management.ThreadMXBean allocationBean;
+
+  /** Node currently created on thread, null if none. */
+  private final ThreadLocal<Frame> current = new ThreadLocal<>();
+
+  /** Counters per folded stack, that is, per dependencies path. */
+  private final Map<String, Counters> stacks = new ConcurrentHashMap<>();
+  /** Counters per implementation class. */
+  private final Map<Class<?>, Counters> types = new ConcurrentHashMap<>();
+
+  ProvisioningTracer()
+  {
+    this.allocationBean = allocationBean();
+  }
+
+  /**
+   * Start a node for an instance about to be created on current thread, as child of the node currently created, if any.
+   *
+   * @param type implementation class.
+   */
+  void enter(Class<?> type)
+  {
+    Frame parent = current.get();
+    String path = parent != null ? parent.path + ';' + type.getName() : type.getName();
+    Frame frame = new Frame(parent, type, path);
+    current.set(frame);
+    frame.startBytes = allocatedBytes();
+    frame.startNanos = System.nanoTime();
+  }
+
+  /** End the node started by the last {@link #enter(Class)} on current thread, successful or not. */
+  void exit()
+  {
+    long nanos = System.nanoTime();
+    long bytes = allocatedBytes();
+    Frame frame = current.get();
+    if(frame.parent != null) {
+      current.set(frame.parent);
+    }
+    else {
+      // do not leave an entry on pooled threads for every tracer
+      current.remove();
+    }
+
+    long totalNanos = nanos - frame.startNanos;
+    long totalBytes = bytes - frame.startBytes;
+    if(frame.parent != null) {
+      frame.parent.childrenNanos += totalNanos;
+      frame.parent.childrenBytes += totalBytes;
+    }
+    long selfNanos = totalNanos - frame.childrenNanos;
+    long selfBytes = totalBytes - frame.childrenBytes;
+    stacks.computeIfAbsent(frame.path, path -> new Counters()).add(totalNanos, selfNanos, totalBytes, selfBytes);
+    types.computeIfAbsent(frame.type, type -> new Counters()).add(totalNanos, selfNanos, totalBytes, selfBytes);
+  }
+
+  /**
+   * Write folded stacks, one line per dependencies path, in path order. Every line has the path, with implementation
+   * class names separated by semicolon, followed by space and self value; paths with zero self value are omitted.
+   *
+   * @param writer output,
+   * @param allocations write allocated bytes if true, wall time in nanoseconds otherwise.
+   * @throws IOException if writing fails.
+   */
+  public void writeFolded(Appendable writer, boolean allocations) throws IOException
+  {
+    for(Map.Entry<String, Counters> entry : new TreeMap<>(stacks).entrySet()) {
+      long value = allocations ? entry.getValue().selfBytes.sum() : entry.getValue().selfNanos.sum();
+      if(value > 0) {
+        writer.append(entry.getKey()).append(' ').append(Long.toString(value)).append('\n');
+      }
+    }
+  }
+
+  /**
+   * Get traced implementation classes with highest self time, in descending order.
+   *
+   * @param count maximum number of entries.
+   * @return trace entries, possible empty.
+   */
+  public List<TraceEntry> top(int count)
+  {
+    List<TraceEntry> entries = new ArrayList<>();
+    types.forEach((type, counters) -> entries.add(counters.entry(type.getName())));
+    entries.sort(Comparator.comparingLong(TraceEntry::getSelfNanos).reversed());
+    return entries.size() > count ? new ArrayList<>(entries.subList(0, count)) : entries;
+  }
+
+  /**
+   * Format a report with traced implementation classes with highest self time, one line per class.
+   *
+   * @param count maximum number of entries.
+   * @return report text.
+   */
+  public String report(int count)
+  {
+    StringBuilder builder = new StringBuilder();
+    builder.append(String.format("%10s %12s %12s %12s %12s  %s%n", "COUNT", "TOTAL_MS", "SELF_MS", "TOTAL_KB", "SELF_KB", "TYPE"));
+    for(TraceEntry entry : top(count)) {
+      builder.append(String.format("%10d %12.3f %12.3f %12.1f %12.1f  %s%n", entry.getInstancesCount(), entry.getTotalNanos() / 1e6, entry.getSelfNanos() / 1e6, entry.getTotalBytes() / 1024.0, entry.getSelfBytes() / 1024.0, entry.getType()));
+    }
+    return builder.toString();
+  }
+
+  /** Discard all recorded values. Nodes in progress are recorded when they end. */
+  public void reset()
+  {
+    stacks.clear();
+    types.clear();
+  }
+
+  private long allocatedBytes()
+  {
+    return allocationBean != null ? allocationBean.getThreadAllocatedBytes(Thread.currentThread().getId()) : 0;
+  }
+
+  private static com.sun.management.ThreadMXBean allocationBean()
+  {
+    java.lang.management.ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    if(!(threadBean instanceof com.sun.management.ThreadMXBean)) {
+      return null;
+    }
+    com.sun.management.ThreadMXBean allocationBean = (com.sun.management.ThreadMXBean)threadBean;
+    try {
+      if(!allocationBean.isThreadAllocatedMemorySupported()) {
+        return null;
+      }
+      if(!allocationBean.isThreadAllocatedMemoryEnabled()) {
+        allocationBean.setThreadAllocatedMemoryEnabled(true);
+      }
+      return allocationBean;
+    }
+    catch(UnsupportedOperationException | SecurityException e) {
+      return null;
+    }
+  }
+
+  // --------------------------------------------------------------------------------------------
+
+  /** Node in progress; accessed only by the thread creating the instance. */
+  private static final class Frame
+  {
+    final Frame parent;
+    final Class<?> type;
+    /** Folded stack of this node: implementation class names from root, separated by semicolon. */
+    final String path;
+    long startNanos;
+    long startBytes;
+    long childrenNanos;
+    long childrenBytes;
+
+    Frame(Frame parent, Class<?> type, String path)
+    {
+      this.parent = parent;
+      this.type = type;
+      this.path = path;
+    }
+  }
+
+  private static final class Counters
+  {
+    final LongAdder count = new LongAdder();
+    final LongAdder totalNanos = new LongAdder();
+    final LongAdder selfNanos = new LongAdder();
+    final LongAdder totalBytes = new LongAdder();
+    final LongAdder selfBytes = new LongAdder();
+
+    void add(long totalNanos, long selfNanos, long totalBytes, long selfBytes)
+    {
+      this.count.increment();
+      this.totalNanos.add(totalNanos);
+      this.selfNanos.add(selfNanos);
+      this.totalBytes.add(totalBytes);
+      this.selfBytes.add(selfBytes);
+    }
+
+    TraceEntry entry(String type)
+    {
+      return new TraceEntry(type, count.sum(), totalNanos.sum(), selfNanos.sum(), totalBytes.sum(), selfBytes.sum());
+    }
+  }
+}
@@ -1,15 +1,28 @@
 package com.jslib.injector;
 
+import java.util.function.Function;
+
 import com.jslib.api.injector.IInjector;
 import com.jslib.api.injector.Key;
+import com.jslib.api.injector.ProvisionException;
 
 import jakarta.inject.Provider;
 
+/**
+ * Provider that delegates to the provider bound to a key. Target provider is resolved once and cached: it is linked
+ * when injector configuration completes or looked up on first {@link #get()}, if proxy was not linked. If injector is
+ * not an {@link Injector} instance proxy cannot look up target provider and delegates to injector on every call.
+ * 
+ * @author Iulian Rotaru
+ */
 public class ProxyProvider<T> implements Provider<T>
 {
   private final IInjector injector;
   private final Key<T> key;
 
+  /** Cached target provider, null if not resolved yet. */
+  private volatile Provider<T> provider;
+
   public ProxyProvider(IInjector injector, Key<T> key)
   {
     this.injector = injector;
@@ -19,6 +32,31 @@ public class ProxyProvider<T> implements Provider<T>
   @Override
   public T get()
   {
-    return injector.getInstance(key);
+    Provider<T> provider = this.provider;
+    if(provider == null) {
+      if(!(injector instanceof Injector)) {
+        return injector.getInstance(key);
+      }
+      provider = ((Injector)injector).lookup(key);
+      if(provider == null) {
+        throw new ProvisionException("No injector binding for " + key);
+      }
+      this.provider = provider;
+    }
+    return provider.get();
+  }
+
+  /**
+   * Link this proxy to the provider bound to its key, if any.
+   * 
+   * @param bindings injector bindings look up, already configured.
+   */
+  @SuppressWarnings("unchecked")
+  void link(Function<Key<?>, Provider<?>> bindings)
+  {
+    Provider<T> provider = (Provider<T>)bindings.apply(key);
+    if(provider != null) {
+      this.provider = provider;
+    }
   }
 }
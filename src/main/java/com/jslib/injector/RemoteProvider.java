@@ -33,9 +33,18 @@ class RemoteProvider<T> implements ITypedProvider<T>
   private final Class<T> type;
   private final String implementationURL;
 
+  /** Remote instances cache, null if remote instance is created on every provider invocation. */
+  private final RemoteProxyCache cache;
+  private final RemoteProxyCache.Key cacheKey;
+
   public RemoteProvider(Class<T> type, String implementationURL)
   {
-    log.trace("RemoteProvider(Class<T>, String)");
+    this(type, implementationURL, null);
+  }
+
+  public RemoteProvider(Class<T> type, String implementationURL, RemoteProxyCache cache)
+  {
+    log.trace("RemoteProvider(Class<T>, String, RemoteProxyCache)");
     Params.notNullOrEmpty(implementationURL, "Implementation URL");
 
     String protocol = Strings.getProtocol(implementationURL);
@@ -49,6 +58,8 @@ class RemoteProvider<T> implements ITypedProvider<T>
 
     this.type = type;
     this.implementationURL = implementationURL;
+    this.cache = cache;
+    this.cacheKey = cache != null ? new RemoteProxyCache.Key(type, implementationURL) : null;
   }
 
   @Override
@@ -60,6 +71,9 @@ class RemoteProvider<T> implements ITypedProvider<T>
   @Override
   public T get()
   {
+    if(cache != null) {
+      return cache.get(remoteFactory, cacheKey);
+    }
     return remoteFactory.getRemoteInstance(type, implementationURL);
   }
 
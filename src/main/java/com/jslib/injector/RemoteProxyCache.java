@@ -0,0 +1,167 @@
+package com.jslib.injector;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import com.jslib.api.log.Log;
+import com.jslib.api.log.LogFactory;
+import com.jslib.rmi.RemoteFactory;
+
+/**
+ * Cache for remote instances, that is, client proxies created by remote factories, keyed by remote type and
+ * implementation URL. Cached instances expire after configured time to live; when cache size exceeds configured
+ * maximum, the entry closest to expiration is evicted. Look up on hit is a concurrent map read with no locking and no
+ * writes, so that hot paths injecting remote providers reuse client proxy and its connection state.
+ *
+ * For interface types, cached instance is wrapped by a Java proxy that invalidates cache entry when a remote call
+ * fails with an exception not declared by invoked method, that is, a transport or remote server failure. Next provider
+ * invocation creates a fresh client proxy.
+ *
+ * @author Iulian Rotaru
+ */
+class RemoteProxyCache
+{
+  private static final Log log = LogFactory.getLog(RemoteProxyCache.class);
+
+  /** Time to live, in nanoseconds. */
+  private final long ttl;
+  private final int maxSize;
+  private final Map<Key, Entry> entries = new ConcurrentHashMap<>();
+
+  public RemoteProxyCache(long ttl, int maxSize)
+  {
+    if(ttl <= 0) {
+      throw new IllegalArgumentException("Not positive time to live.");
+    }
+    if(maxSize <= 0) {
+      throw new IllegalArgumentException("Not positive cache size.");
+    }
+    this.ttl = ttl;
+    this.maxSize = maxSize;
+  }
+
+  /**
+   * Get cached remote instance or create and cache a new one if missing or expired.
+   *
+   * @param remoteFactory factory for remote instances,
+   * @param key cache key, created once per remote provider.
+   * @return remote instance, possible wrapped by failure detection proxy.
+   */
+  @SuppressWarnings("unchecked")
+  public <T> T get(RemoteFactory remoteFactory, Key key)
+  {
+    long now = System.nanoTime();
+    Entry entry = entries.get(key);
+    if(entry != null && now - entry.expirationTime < 0) {
+      return (T)entry.proxy;
+    }
+
+    // concurrent misses may create more than one remote instance; last one wins, the rest are just garbage
+    entry = new Entry(remoteFactory.getRemoteInstance(key.type, key.implementationURL), now + ttl);
+    entry.proxy = key.type.isInterface() ? proxy(key, entry) : entry.instance;
+    entries.put(key, entry);
+    if(entries.size() > maxSize) {
+      evict();
+    }
+    return (T)entry.proxy;
+  }
+
+  public int size()
+  {
+    return entries.size();
+  }
+
+  private void evict()
+  {
+    Map.Entry<Key, Entry> eldest = null;
+    for(Map.Entry<Key, Entry> entry : entries.entrySet()) {
+      if(eldest == null || entry.getValue().expirationTime - eldest.getValue().expirationTime < 0) {
+        eldest = entry;
+      }
+    }
+    if(eldest != null) {
+      entries.remove(eldest.getKey(), eldest.getValue());
+    }
+  }
+
+  private Object proxy(Key key, Entry entry)
+  {
+    InvocationHandler handler = (proxy, method, arguments) -> {
+      try {
+        return method.invoke(entry.instance, arguments);
+      }
+      catch(InvocationTargetException e) {
+        Throwable cause = e.getCause();
+        if(!isDeclared(method, cause)) {
+          log.debug("Remote call |{java_method}| failed. Invalidate cached remote instance |{remote_url}|.", method, key.implementationURL);
+          entries.remove(key, entry);
+        }
+        throw cause;
+      }
+    };
+    return Proxy.newProxyInstance(key.type.getClassLoader(), new Class<?>[] { key.type }, handler);
+  }
+
+  private static boolean isDeclared(Method method, Throwable exception)
+  {
+    for(Class<?> exceptionType : method.getExceptionTypes()) {
+      if(exceptionType.isInstance(exception)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  // --------------------------------------------------------------------------------------------
+
+  static final class Key
+  {
+    final Class<?> type;
+    final String implementationURL;
+    private final int hashCode;
+
+    public Key(Class<?> type, String implementationURL)
+    {
+      this.type = type;
+      this.implementationURL = implementationURL;
+      this.hashCode = 31 * type.hashCode() + implementationURL.hashCode();
+    }
+
+    @Override
+    public int hashCode()
+    {
+      return hashCode;
+    }
+
+    @Override
+    public boolean equals(Object obj)
+    {
+      if(this == obj) {
+        return true;
+      }
+      if(!(obj instanceof Key)) {
+        return false;
+      }
+      Key other = (Key)obj;
+      return type == other.type && implementationURL.equals(other.implementationURL);
+    }
+  }
+
+  private static final class Entry
+  {
+    final Object instance;
+    final long expirationTime;
+    /** Instance returned to callers, either remote instance or failure detection proxy; set before entry publishing. */
+    Object proxy;
+
+    Entry(Object instance, long expirationTime)
+    {
+      this.instance = instance;
+      this.expirationTime = expirationTime;
+    }
+  }
+}
@@ -0,0 +1,106 @@
+package com.jslib.injector;
+
+import jakarta.inject.Provider;
+
+/**
+ * Precompiled resolver for a fixed set of keys, created by {@link Injector#resolver(com.jslib.api.injector.Key...)}.
+ * Keys are looked up once, at resolver creation, so that resolving does not hash keys or look up bindings table; on
+ * every resolution resolver only invokes bound providers, in keys order.
+ *
+ * If any bound provider is not proven free of dependency cycles, circular dependencies guard trace is set up once per
+ * resolution, not once per key. Resolver is thread safe and intended to be created once, for example per message
+ * handler, and reused for every message.
+ *
+ * @author Iulian Rotaru
+ */
+public final class Resolver
+{
+  private final Provider<?>[] providers;
+  /** True if resolution needs circular dependencies guard. */
+  private final boolean guarded;
+
+  Resolver(Provider<?>[] providers)
+  {
+    this.providers = providers;
+    this.guarded = isGuarded(providers);
+  }
+
+  /**
+   * Get the number of keys this resolver was created for.
+   *
+   * @return keys count.
+   */
+  public int size()
+  {
+    return providers.length;
+  }
+
+  /**
+   * Resolve instances for all keys, in keys order, into a newly created array.
+   *
+   * @return resolved instances.
+   */
+  public Object[] resolve()
+  {
+    Object[] instances = new Object[providers.length];
+    resolve(instances);
+    return instances;
+  }
+
+  /**
+   * Resolve instances for all keys, in keys order, into caller array, possible reused between calls.
+   *
+   * @param instances array for resolved instances, with length at least {@link #size()}.
+   */
+  public void resolve(Object[] instances)
+  {
+    if(!guarded) {
+      for(int i = 0; i < providers.length; ++i) {
+        instances[i] = providers[i].get();
+      }
+      return;
+    }
+    CircularDependencyGuard.hold();
+    try {
+      for(int i = 0; i < providers.length; ++i) {
+        instances[i] = providers[i].get();
+      }
+    }
+    finally {
+      CircularDependencyGuard.release();
+    }
+  }
+
+  /**
+   * Replace in place every provider from given array with the instance it provides.
+   *
+   * @param providers providers, replaced by their instances on return.
+   */
+  static void resolveInPlace(Object[] providers)
+  {
+    boolean guarded = isGuarded(providers);
+    if(guarded) {
+      CircularDependencyGuard.hold();
+    }
+    try {
+      for(int i = 0; i < providers.length; ++i) {
+        providers[i] = ((Provider<?>)providers[i]).get();
+      }
+    }
+    finally {
+      if(guarded) {
+        CircularDependencyGuard.release();
+      }
+    }
+  }
+
+  private static boolean isGuarded(Object[] providers)
+  {
+    for(Object provider : providers) {
+      if(!DependencyLinker.isAcyclic((Provider<?>)provider)) {
+        return true;
+      }
+    }
+    return false;
+  }
+}
@@ -0,0 +1,130 @@
+package com.jslib.injector;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
+
+/**
+ * Instances storage for a context scope, for example a single HTTP request or session. Scoped instances are stored in
+ * a slot array indexed by the slot allocated to their binding by {@link ContextScopeFactory}, so that instance look up
+ * is a single array element load, with no key hashing and no entry allocation.
+ *
+ * A context can be accessed concurrently, as is the case with a session context; reads use acquire semantic and writes
+ * are serialized on context instance and use release semantic, like {@link SingletonCache}. Slots array grows only when
+ * bindings are added after context creation.
+ *
+ * Child injectors do not allocate slots on this context; they store their instances on nested contexts, kept on an
+ * array indexed by the child scope factory index, see {@link ChildContextScope}. Nested context look up is lock free,
+ * like slots read. Indices of discarded child scope factories are reused; a nested context records its owner
+ * identifier and a nested context left by a previous owner of the same index is replaced, never served.
+ *
+ * @author Iulian Rotaru
+ */
+public final class ScopeContext
+{
+  private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Object[].class);
+  private static final VarHandle CHILDREN = MethodHandles.arrayElementVarHandle(ScopeContext[].class);
+  private static final ScopeContext[] NO_CHILDREN = new ScopeContext[0];
+
+  private static final int MIN_CAPACITY = 16;
+
+  private volatile Object[] slots;
+
+  /** Upper bound of used slots, that is, the highest written slot plus one. Guarded by this context monitor. */
+  private int usedSlots;
+
+  /** Nested contexts of child injectors scopes, indexed by child scope index. Writes guarded by this context monitor. */
+  private volatile ScopeContext[] children = NO_CHILDREN;
+
+  /** Identifier of child scope owning this nested context, zero for a top level context. */
+  private final int owner;
+
+  ScopeContext(int capacity)
+  {
+    this(capacity, 0);
+  }
+
+  private ScopeContext(int capacity, int owner)
+  {
+    this.slots = new Object[Math.max(capacity, MIN_CAPACITY)];
+    this.owner = owner;
+  }
+
+  /**
+   * Get instance from context slot, or null if slot is empty.
+   *
+   * @param slot binding slot.
+   * @return context instance, possible null.
+   */
+  @SuppressWarnings("unchecked")
+  <T> T get(int slot)
+  {
+    Object[] slots = this.slots;
+    return slot < slots.length ? (T)SLOTS.getAcquire(slots, slot) : null;
+  }
+
+  /**
+   * Store instance on context slot, growing slots array if necessary.
+   *
+   * @param slot binding slot,
+   * @param instance instance to store.
+   */
+  synchronized void put(int slot, Object instance)
+  {
+    if(slot >= slots.length) {
+      slots = Arrays.copyOf(slots, Math.max(slots.length * 2, slot + 1));
+    }
+    SLOTS.setRelease(slots, slot, instance);
+    if(slot >= usedSlots) {
+      usedSlots = slot + 1;
+    }
+  }
+
+  /**
+   * Get nested context for a child injector scope, creating it if missing.
+   *
+   * @param index child scope index,
+   * @param owner child scope identifier, unique among child scopes,
+   * @param capacity initial capacity for nested context.
+   * @return nested context.
+   */
+  ScopeContext child(int index, int owner, int capacity)
+  {
+    ScopeContext[] children = this.children;
+    if(index < children.length) {
+      ScopeContext child = (ScopeContext)CHILDREN.getAcquire(children, index);
+      if(child != null && child.owner == owner) {
+        return child;
+      }
+    }
+    return createChild(index, owner, capacity);
+  }
+
+  private synchronized ScopeContext createChild(int index, int owner, int capacity)
+  {
+    if(index >= children.length) {
+      children = Arrays.copyOf(children, Math.max(children.length * 2, index + 1));
+    }
+    ScopeContext child = children[index];
+    if(child == null || child.owner != owner) {
+      child = new ScopeContext(capacity, owner);
+      CHILDREN.setRelease(children, index, child);
+    }
+    return child;
+  }
+
+  /**
+   * Remove all instances from this context so that it can be reused, including instances from nested contexts. Does
+   * not shrink slots array and keeps nested contexts.
+   */
+  synchronized void clear()
+  {
+    Arrays.fill(slots, 0, usedSlots, null);
+    usedSlots = 0;
+    for(ScopeContext child : children) {
+      if(child != null) {
+        child.clear();
+      }
+    }
+  }
+}
@@ -0,0 +1,117 @@
+package com.jslib.injector;
+
+import java.lang.annotation.Annotation;
+import java.util.concurrent.Callable;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.jslib.api.injector.IBinding;
+import com.jslib.api.injector.IInjector;
+import com.jslib.api.injector.IScopeFactory;
+
+/**
+ * Context scope factory whose active context is bound for the duration of a call, instead of being entered and exited
+ * on a thread like {@link ContextScopeFactory}. On Java 25 and later context is carried by <code>ScopedValue</code>:
+ * it is inherited by subtasks forked with <code>StructuredTaskScope</code> and nothing is stored per virtual thread.
+ * On older runtimes it falls back to thread local storage, restored when call completes; see {@link ContextCarrier}.
+ *
+ * Not registered by default; application replaces built-in request scope before configuring injector:
+ *
+ * <pre>
+ * ScopedValueScopeFactory&lt;?&gt; requestScope = new ScopedValueScopeFactory&lt;&gt;(RequestScoped.class);
+ * injector.bindScopeFactory(RequestScoped.class, requestScope);
+ * ...
+ * requestScope.run(requestScope.newContext(), () -&gt; handle(request));
+ * </pre>
+ *
+ * @author Iulian Rotaru
+ */
+public class ScopedValueScopeFactory<T> implements IScopeFactory<T>, ContextScope
+{
+  private final Class<? extends Annotation> scope;
+
+  /** The number of slots allocated to scoped bindings, used as initial capacity for new contexts. */
+  private final AtomicInteger slotsCount = new AtomicInteger();
+
+  private final ContextCarrier carrier = new ContextCarrier();
+
+  public ScopedValueScopeFactory(Class<? extends Annotation> scope)
+  {
+    this.scope = scope;
+  }
+
+  @Override
+  public ContextScopeProvider<T> getScopedProvider(IInjector injector, IBinding<T> provisioningBinding)
+  {
+    return new ContextScopeProvider<>(this, provisioningBinding.provider(), slotsCount.getAndIncrement());
+  }
+
+  @Override
+  public Class<? extends Annotation> getScope()
+  {
+    return scope;
+  }
+
+  /**
+   * Create a new context, to be bound with {@link #run(ScopeContext, Runnable)} or
+   * {@link #call(ScopeContext, Callable)}.
+   *
+   * @return newly created context.
+   */
+  public ScopeContext newContext()
+  {
+    return new ScopeContext(slotsCount.get());
+  }
+
+  /**
+   * Run task with given context active. Nested calls are allowed; outer context is active again when nested call
+   * completes.
+   *
+   * @param context context created by {@link #newContext()},
+   * @param task task to run.
+   */
+  public void run(ScopeContext context, Runnable task)
+  {
+    try {
+      carrier.call(context, () -> {
+        task.run();
+        return null;
+      });
+    }
+    catch(RuntimeException e) {
+      throw e;
+    }
+    catch(Exception e) {
+      // runnable cannot throw checked exceptions
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * Execute call with given context active and return its result.
+   *
+   * @param context context created by {@link #newContext()},
+   * @param callable call to execute.
+   * @return call result.
+   * @throws Exception if call fails.
+   */
+  public <R> R call(ScopeContext context, Callable<R> callable) throws Exception
+  {
+    return carrier.call(context, callable);
+  }
+
+  @Override
+  public ScopeContext context()
+  {
+    return carrier.get();
+  }
+
+  /**
+   * Test if active context is carried by <code>ScopedValue</code>, that is, running on Java 25 or later.
+   *
+   * @return true if context is carried by scoped value.
+   */
+  public static boolean isScopedValue()
+  {
+    return ContextCarrier.isScopedValue();
+  }
+}
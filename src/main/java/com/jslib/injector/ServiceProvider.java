@@ -1,17 +1,27 @@
 package com.jslib.injector;
 
+import java.util.List;
+import java.util.ServiceConfigurationError;
+import java.util.ServiceLoader;
+import java.util.stream.Collectors;
+
 import com.jslib.api.injector.IProvisionInvocation;
 import com.jslib.api.injector.ITypedProvider;
 import com.jslib.api.injector.ProvisionException;
 import com.jslib.lang.NoProviderException;
-import com.jslib.util.Classes;
 
 /**
  * Load instance using Java services loader. This provider is a provisioning one that creates a new instance every time
  * {@link #get()} is invoked. Throws provisioning exception if Java services loader fails to load requested type.
- * 
+ *
+ * Service implementation is discovered once, on first {@link #get()}, and its services loader provider is cached so
+ * that services configuration files are not parsed again; following instances are created by cached provider, that
+ * supports both public default constructor and, for modular implementations, static <code>provider()</code> method.
+ * Only the first implementation is resolved; other implementations listed for the same service are not loaded. For a
+ * single instance bind service in singleton scope. For all discovered implementations see {@link ServicesProvider}.
+ *
  * This provider fires {@link IProvisionInvocation} event after instance successfully loaded.
- * 
+ *
  * @param <T> instance generic type.
  * @author Iulian Rotaru
  */
@@ -19,6 +29,9 @@ class ServiceProvider<T> implements ITypedProvider<T>
 {
   private final Class<T> type;
 
+  /** Services loader provider for discovered service implementation, null until first instance creation. */
+  private volatile ServiceLoader.Provider<T> provider;
+
   public ServiceProvider(Class<T> type)
   {
     this.type = type;
@@ -32,18 +45,24 @@ class ServiceProvider<T> implements ITypedProvider<T>
 
   /**
    * Creates a new instance using Java services loader and fires {@link IProvisionInvocation} event.
-   * 
-   * @throws ProvisionException if Java services loader fails to load this type.
+   *
+   * @throws ProvisionException if Java services loader fails to load this type or service implementation fails.
    */
   @Override
   public T get()
   {
-    try {
-      return Classes.loadService(type);
-    }
-    catch(NoProviderException e) {
-      throw new ProvisionException(e);
+    ServiceLoader.Provider<T> provider = this.provider;
+    if(provider == null) {
+      // concurrent first calls may discover service more than once; the result is the same
+      try {
+        provider = ServiceLoader.load(type).stream().findFirst().orElseThrow(() -> new ProvisionException(new NoProviderException(type)));
+      }
+      catch(ServiceConfigurationError e) {
+        throw new ProvisionException(e);
+      }
+      this.provider = provider;
     }
+    return newInstance(provider);
   }
 
   @Override
@@ -51,4 +70,40 @@ class ServiceProvider<T> implements ITypedProvider<T>
   {
     return type.getCanonicalName() + ":SERVICE";
   }
+
+  /**
+   * Discover implementations for given service type, in services loader order. Service implementations are not
+   * instantiated and, for implementations from class path, not checked for public default constructor.
+   *
+   * @param type service type.
+   * @return services loader providers, possible empty.
+   * @throws ProvisionException if services configuration is invalid.
+   */
+  static <T> List<ServiceLoader.Provider<T>> providers(Class<T> type)
+  {
+    try {
+      return ServiceLoader.load(type).stream().collect(Collectors.toList());
+    }
+    catch(ServiceConfigurationError e) {
+      throw new ProvisionException(e);
+    }
+  }
+
+  /**
+   * Create service instance with given services loader provider. Services loader errors and exceptions thrown by
+   * service implementation are wrapped in provisioning exception.
+   *
+   * @param provider services loader provider.
+   * @return service instance.
+   * @throws ProvisionException if instance creation fails.
+   */
+  static <T> T newInstance(ServiceLoader.Provider<T> provider)
+  {
+    try {
+      return provider.get();
+    }
+    catch(ServiceConfigurationError | RuntimeException e) {
+      throw new ProvisionException(e);
+    }
+  }
 }
@@ -0,0 +1,68 @@
+package com.jslib.injector;
+
+import java.lang.reflect.Array;
+import java.util.List;
+import java.util.ServiceLoader;
+
+import com.jslib.api.injector.ITypedProvider;
+
+/**
+ * Multi-binding provider for all implementations of a service type discovered by Java services loader. Provided value
+ * is an array with one instance per discovered implementation, in services loader order, and is intended to be bound
+ * on service array type:
+ *
+ * <pre>
+ * bind(IService[].class).provider(new ServicesProvider&lt;&gt;(IService.class));
+ * </pre>
+ *
+ * Like {@link ServiceProvider}, implementations are discovered once, on first {@link #get()}, and following instances
+ * are created by cached services loader providers. A new array with new instances is created on every invocation; bind in
+ * singleton scope for shared instances. Empty array is provided if there are no implementations.
+ *
+ * @param <T> service type.
+ * @author Iulian Rotaru
+ */
+public class ServicesProvider<T> implements ITypedProvider<T[]>
+{
+  private final Class<T> type;
+  private final Class<T[]> arrayType;
+
+  /** Services loader providers for discovered service implementations, null until first instances creation. */
+  private volatile List<ServiceLoader.Provider<T>> providers;
+
+  @SuppressWarnings("unchecked")
+  public ServicesProvider(Class<T> type)
+  {
+    this.type = type;
+    this.arrayType = (Class<T[]>)Array.newInstance(type, 0).getClass();
+  }
+
+  @Override
+  public Class<? extends T[]> type()
+  {
+    return arrayType;
+  }
+
+  @SuppressWarnings("unchecked")
+  @Override
+  public T[] get()
+  {
+    List<ServiceLoader.Provider<T>> providers = this.providers;
+    if(providers == null) {
+      providers = ServiceProvider.providers(type);
+      this.providers = providers;
+    }
+
+    T[] instances = (T[])Array.newInstance(type, providers.size());
+    for(int i = 0; i < instances.length; ++i) {
+      instances[i] = ServiceProvider.newInstance(providers.get(i));
+    }
+    return instances;
+  }
+
+  @Override
+  public String toString()
+  {
+    return type.getCanonicalName() + ":SERVICES";
+  }
+}
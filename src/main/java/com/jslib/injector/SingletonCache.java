@@ -1,22 +1,65 @@
 package com.jslib.injector;
 
-import java.util.HashMap;
-import java.util.Map;
-
-import com.jslib.api.injector.Key;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.Arrays;
 
+/**
+ * Singleton instances cache, indexed by slots. Every singleton binding allocates a slot when its scoped provider is
+ * created, that is, while injector is configured, and uses it for all subsequent cache accesses. Reading a cached
+ * instance is a single array element load with acquire semantic, with no locking and no key hashing.
+ * 
+ * Writes are rare - once per singleton - and are serialized on cache instance; slots array is replaced only while slots
+ * are allocated and new array is published through volatile field. A reader still holding a stale array may miss an
+ * instance just created; this is not a problem since singleton provider double checks cache under its own lock.
+ * 
+ * @author Iulian Rotaru
+ */
 class SingletonCache
 {
-  private final Map<Key<?>, Object> cache = new HashMap<>();
+  private static final VarHandle SLOTS = MethodHandles.arrayElementVarHandle(Object[].class);
+
+  private static final int INITIAL_CAPACITY = 16;
+
+  private volatile Object[] slots = new Object[INITIAL_CAPACITY];
+
+  /** The number of allocated slots. Guarded by this cache instance monitor. */
+  private int slotsCount;
+
+  /**
+   * Allocate a new slot for a singleton binding. Returned slot is valid for this cache instance lifetime.
+   * 
+   * @return newly allocated slot.
+   */
+  public synchronized int allocateSlot()
+  {
+    if(slotsCount == slots.length) {
+      slots = Arrays.copyOf(slots, slots.length * 2);
+    }
+    return slotsCount++;
+  }
 
+  /**
+   * Get instance from cache slot, or null if slot is still empty.
+   * 
+   * @param slot cache slot, as returned by {@link #allocateSlot()}.
+   * @return cached instance, possible null.
+   */
   @SuppressWarnings("unchecked")
-  public <T> T get(Key<T> key)
+  public <T> T get(int slot)
   {
-    return (T)cache.get(key);
+    return (T)SLOTS.getAcquire(slots, slot);
   }
 
-  public void put(Key<?> key, Object instance)
+  /**
+   * Store instance on cache slot. Instance is safely published: a thread that sees it through {@link #get(int)} sees
+   * also its fully initialized state.
+   * 
+   * @param slot cache slot, as returned by {@link #allocateSlot()},
+   * @param instance instance to store.
+   */
+  public synchronized void put(int slot, Object instance)
   {
-    cache.put(key, instance);
+    SLOTS.setRelease(slots, slot, instance);
   }
 }
@@ -5,7 +5,6 @@ import java.lang.annotation.Annotation;
 import com.jslib.api.injector.IBinding;
 import com.jslib.api.injector.IInjector;
 import com.jslib.api.injector.IScopeFactory;
-import com.jslib.api.injector.Key;
 import com.jslib.api.injector.ScopedProvider;
 
 import jakarta.inject.Singleton;
@@ -13,7 +12,8 @@ import jakarta.inject.Singleton;
 class SingletonScopeProvider<T> extends ScopedProvider<T>
 {
   private final SingletonCache cache;
-  private final Key<T> key;
+  /** Singleton cache slot allocated for this provider binding. */
+  private final int slot;
 
   /**
    * Construct this singleton provider instance. Because is not allowed to nest the scoped providers, throws illegal
@@ -27,13 +27,13 @@ class SingletonScopeProvider<T> extends ScopedProvider<T>
   {
     super(provisioningBinding.provider());
     this.cache = ((Injector)injector).getSingletonCache();
-    this.key = provisioningBinding.key();
+    this.slot = cache.allocateSlot();
   }
 
   @Override
   public T getScopeInstance()
   {
-    return cache.get(key);
+    return cache.get(slot);
   }
 
   @Override
@@ -51,7 +51,7 @@ class SingletonScopeProvider<T> extends ScopedProvider<T>
         instance = getScopeInstance();
         if(instance == null) {
           instance = getProvisioningProvider().get();
-          cache.put(key, instance);
+          cache.put(slot, instance);
         }
       }
     }
@@ -0,0 +1,157 @@
+package com.jslib.injector;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
+
+import com.jslib.api.injector.Key;
+import com.jslib.api.injector.ProvisionException;
+import com.jslib.api.log.Log;
+import com.jslib.api.log.LogFactory;
+
+import jakarta.inject.Provider;
+
+/**
+ * Create all singletons eagerly, in parallel. Singletons are grouped on dependency levels: level 0 singletons do not
+ * depend on other singletons, level 1 singletons depend only on level 0 singletons, and so on. Dependencies are found
+ * from provisioning providers metadata and are followed through prototype bindings; scoped bindings other than
+ * singleton are not followed since their instances cannot be created outside their scope context.
+ * 
+ * Levels are created in ascending order and singletons from the same level, being independent, are created in parallel
+ * on a fork join pool. When a level is processed all its dependencies are already in singletons cache.
+ * 
+ * @author Iulian Rotaru
+ */
+class SingletonsInitializer
+{
+  private static final Log log = LogFactory.getLog(SingletonsInitializer.class);
+
+  /** Dependency level for providers with no singleton dependencies. */
+  private static final int NO_SINGLETON = -1;
+
+  private final Map<Key<?>, Provider<?>> bindings;
+
+  /** Dependency level memo for visited providers, singleton or prototype. */
+  private final Map<Provider<?>, Integer> levels = new IdentityHashMap<>();
+  /** Providers currently on dependency walk, used to stop on circular dependencies. */
+  private final Set<Provider<?>> visiting = Collections.newSetFromMap(new IdentityHashMap<>());
+
+  public SingletonsInitializer(Map<Key<?>, Provider<?>> bindings)
+  {
+    this.bindings = bindings;
+  }
+
+  /**
+   * Create all singletons from injector bindings and return after all are in cache.
+   * 
+   * @param pool fork join pool executing singletons creation.
+   * @throws ProvisionException if any singleton creation fails.
+   */
+  public void initialize(ForkJoinPool pool)
+  {
+    List<List<SingletonScopeProvider<?>>> groups = groups();
+    for(int level = 0; level < groups.size(); ++level) {
+      List<Callable<Object>> tasks = new ArrayList<>();
+      for(SingletonScopeProvider<?> provider : groups.get(level)) {
+        tasks.add(provider::get);
+      }
+      log.debug("Create |{level_size}| singletons from level |{level}|.", tasks.size(), level);
+
+      for(Future<Object> future : pool.invokeAll(tasks)) {
+        try {
+          future.get();
+        }
+        catch(ExecutionException e) {
+          if(e.getCause() instanceof RuntimeException) {
+            throw (RuntimeException)e.getCause();
+          }
+          throw new ProvisionException(e.getCause());
+        }
+        catch(InterruptedException e) {
+          Thread.currentThread().interrupt();
+          throw new ProvisionException(e);
+        }
+      }
+    }
+  }
+
+  /**
+   * Group singleton providers on dependency levels. Returned list index is the dependency level.
+   * 
+   * @return singleton groups, in dependency level order.
+   */
+  List<List<SingletonScopeProvider<?>>> groups()
+  {
+    List<List<SingletonScopeProvider<?>>> groups = new ArrayList<>();
+    for(Provider<?> bindingProvider : bindings.values()) {
+      Provider<?> provider = MeteredProvider.unwrap(bindingProvider);
+      if(!(provider instanceof SingletonScopeProvider)) {
+        continue;
+      }
+      int level = level(provider);
+      while(groups.size() <= level) {
+        groups.add(new ArrayList<>());
+      }
+      List<SingletonScopeProvider<?>> group = groups.get(level);
+      // the same provider instance can be bound to multiple keys
+      if(!group.contains(provider)) {
+        group.add((SingletonScopeProvider<?>)provider);
+      }
+    }
+    return groups;
+  }
+
+  /**
+   * Get dependency level for a provider. For a singleton provider this is one more than the highest level of its
+   * singleton dependencies, or 0 if it has none. For a prototype provider this is the highest level of singletons it
+   * depends on, or {@link #NO_SINGLETON}.
+   * 
+   * @param provider singleton or prototype provider.
+   * @return provider dependency level.
+   */
+  private int level(Provider<?> provider)
+  {
+    Integer level = levels.get(provider);
+    if(level != null) {
+      return level;
+    }
+    if(!visiting.add(provider)) {
+      // circular dependency is reported by provisioning provider at instance creation
+      return NO_SINGLETON;
+    }
+
+    int dependenciesLevel = NO_SINGLETON;
+    for(Key<?> dependency : dependencies(provider)) {
+      Provider<?> dependencyProvider = Multibinder.lookup(bindings::get, dependency);
+      if(dependencyProvider != null) {
+        dependenciesLevel = Math.max(dependenciesLevel, level(MeteredProvider.unwrap(dependencyProvider)));
+      }
+    }
+
+    visiting.remove(provider);
+    level = provider instanceof SingletonScopeProvider ? dependenciesLevel + 1 : dependenciesLevel;
+    levels.put(provider, level);
+    return level;
+  }
+
+  private static List<Key<?>> dependencies(Provider<?> provider)
+  {
+    if(provider instanceof SingletonScopeProvider) {
+      provider = ((SingletonScopeProvider<?>)provider).getProvisioningProvider();
+    }
+    if(provider instanceof ProvisioningProvider) {
+      return ((ProvisioningProvider<?>)provider).dependencies();
+    }
+    if(provider instanceof MultibindingProvider) {
+      return ((MultibindingProvider<?>)provider).dependencies();
+    }
+    return Collections.emptyList();
+  }
+}
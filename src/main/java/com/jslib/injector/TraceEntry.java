@@ -0,0 +1,69 @@
+package com.jslib.injector;
+
+/**
+ * Immutable snapshot of provisioning trace recorded for an implementation class. See {@link ProvisioningTracer}.
+ * Total values include dependencies created while creating the instance; self values exclude them.
+ *
+ * @author Iulian Rotaru
+ */
+public class TraceEntry
+{
+  private final String type;
+  private final long instancesCount;
+  private final long totalNanos;
+  private final long selfNanos;
+  private final long totalBytes;
+  private final long selfBytes;
+
+  public TraceEntry(String type, long instancesCount, long totalNanos, long selfNanos, long totalBytes, long selfBytes)
+  {
+    this.type = type;
+    this.instancesCount = instancesCount;
+    this.totalNanos = totalNanos;
+    this.selfNanos = selfNanos;
+    this.totalBytes = totalBytes;
+    this.selfBytes = selfBytes;
+  }
+
+  /** Implementation class name. */
+  public String getType()
+  {
+    return type;
+  }
+
+  /** The number of instances created, successful or not. */
+  public long getInstancesCount()
+  {
+    return instancesCount;
+  }
+
+  /** Wall time spent creating instances, including dependencies, in nanoseconds. */
+  public long getTotalNanos()
+  {
+    return totalNanos;
+  }
+
+  /** Wall time spent creating instances, excluding dependencies, in nanoseconds. */
+  public long getSelfNanos()
+  {
+    return selfNanos;
+  }
+
+  /** Bytes allocated creating instances, including dependencies, or 0 if allocation tracing is not supported. */
+  public long getTotalBytes()
+  {
+    return totalBytes;
+  }
+
+  /** Bytes allocated creating instances, excluding dependencies, or 0 if allocation tracing is not supported. */
+  public long getSelfBytes()
+  {
+    return selfBytes;
+  }
+
+  @Override
+  public String toString()
+  {
+    return String.format("%s: count=%d, total=%.3fms, self=%.3fms, totalBytes=%d, selfBytes=%d", type, instancesCount, totalNanos / 1e6, selfNanos / 1e6, totalBytes, selfBytes);
+  }
+}
@@ -0,0 +1,49 @@
+package com.jslib.injector;
+
+import java.util.concurrent.Callable;
+
+/**
+ * Carry scope context for the duration of a call. This is the Java 25 implementation, packaged on multi-release JAR
+ * versions directory; context is bound to a <code>ScopedValue</code> so that it is inherited by structured concurrency
+ * subtasks forked inside the call and it is never stored on thread, virtual or not.
+ *
+ * @author Iulian Rotaru
+ */
+final class ContextCarrier
+{
+  private final ScopedValue<ScopeContext> context = ScopedValue.newInstance();
+
+  /**
+   * Get context bound by an enclosing {@link #call(ScopeContext, Callable)}.
+   *
+   * @return bound context or null.
+   */
+  ScopeContext get()
+  {
+    return context.isBound() ? context.get() : null;
+  }
+
+  /**
+   * Execute call with given context bound to a scoped value.
+   *
+   * @param context context to bind,
+   * @param callable call to execute.
+   * @return call result.
+   * @throws Exception if call fails.
+   */
+  <R> R call(ScopeContext context, Callable<R> callable) throws Exception
+  {
+    return ScopedValue.where(this.context, context).call(callable::call);
+  }
+
+  /**
+   * Test if this carrier is based on <code>ScopedValue</code>, that is, context is inherited by structured concurrency
+   * subtasks.
+   *
+   * @return true if context is carried by scoped value.
+   */
+  static boolean isScopedValue()
+  {
+    return true;
+  }
+}
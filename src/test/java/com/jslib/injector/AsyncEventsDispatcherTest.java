@@ -0,0 +1,244 @@
+package com.jslib.injector;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsInAnyOrder;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jslib.api.injector.IProvisionInvocation;
+import com.jslib.api.injector.IProvisionListener;
+import com.jslib.injector.fixture.TestModule;
+
+public class AsyncEventsDispatcherTest
+{
+  private List<String> threads;
+  private List<Object> instances;
+  private CountDownLatch listenerEntered;
+  private CountDownLatch listenerReleased;
+  private IProvisionListener[] listeners;
+
+  private AsyncEventsDispatcher dispatcher;
+
+  @Before
+  public void beforeTest()
+  {
+    threads = new CopyOnWriteArrayList<>();
+    instances = new CopyOnWriteArrayList<>();
+    listenerEntered = new CountDownLatch(1);
+    listenerReleased = new CountDownLatch(0);
+    listeners = new IProvisionListener[] { new IProvisionListener()
+    {
+      @Override
+      public <T> void onProvision(IProvisionInvocation<T> provisionInvocation)
+      {
+        threads.add(Thread.currentThread().getName());
+        instances.add(provisionInvocation.instance());
+        listenerEntered.countDown();
+        if(!Thread.currentThread().getName().equals("injector-events")) {
+          return;
+        }
+        try {
+          listenerReleased.await();
+        }
+        catch(InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+      }
+    } };
+  }
+
+  @After
+  public void afterTest() throws InterruptedException
+  {
+    if(dispatcher != null) {
+      dispatcher.close(1, TimeUnit.SECONDS);
+    }
+  }
+
+  @Test
+  public void GivenEvents_WhenFlush_ThenDeliveredOnConsumerThread() throws InterruptedException
+  {
+    // given
+    dispatcher = new AsyncEventsDispatcher(16, EventsOverflowPolicy.BLOCK);
+
+    // when
+    dispatcher.dispatch(listeners, event("1"));
+    dispatcher.dispatch(listeners, event("2"));
+    boolean flushed = dispatcher.flush(1, TimeUnit.SECONDS);
+
+    // then
+    assertThat(flushed, equalTo(true));
+    assertThat(instances, contains("1", "2"));
+    assertThat(threads, contains("injector-events", "injector-events"));
+  }
+
+  @Test
+  public void GivenFullQueue_WhenDropNewest_ThenEventDropped() throws InterruptedException
+  {
+    // given
+    dispatcher = new AsyncEventsDispatcher(1, EventsOverflowPolicy.DROP_NEWEST);
+    blockConsumer();
+
+    // when
+    dispatcher.dispatch(listeners, event("2"));
+    dispatcher.dispatch(listeners, event("3"));
+    listenerReleased.countDown();
+    dispatcher.flush(1, TimeUnit.SECONDS);
+
+    // then
+    assertThat(instances, contains("1", "2"));
+    assertThat(dispatcher.getDroppedCount(), equalTo(1L));
+  }
+
+  @Test
+  public void GivenFullQueue_WhenDropOldest_ThenOldestDropped() throws InterruptedException
+  {
+    // given
+    dispatcher = new AsyncEventsDispatcher(1, EventsOverflowPolicy.DROP_OLDEST);
+    blockConsumer();
+
+    // when
+    dispatcher.dispatch(listeners, event("2"));
+    dispatcher.dispatch(listeners, event("3"));
+    listenerReleased.countDown();
+    dispatcher.flush(1, TimeUnit.SECONDS);
+
+    // then
+    assertThat(instances, contains("1", "3"));
+    assertThat(dispatcher.getDroppedCount(), equalTo(1L));
+  }
+
+  @Test
+  public void GivenFullQueue_WhenCallerRuns_ThenDeliveredInline() throws InterruptedException
+  {
+    // given
+    dispatcher = new AsyncEventsDispatcher(1, EventsOverflowPolicy.CALLER_RUNS);
+    blockConsumer();
+    dispatcher.dispatch(listeners, event("2"));
+
+    // when
+    dispatcher.dispatch(listeners, event("3"));
+    listenerReleased.countDown();
+    dispatcher.flush(1, TimeUnit.SECONDS);
+
+    // then
+    assertThat(instances, contains("1", "3", "2"));
+    assertThat(threads.get(1), equalTo(Thread.currentThread().getName()));
+    assertThat(dispatcher.getDroppedCount(), equalTo(0L));
+  }
+
+  @Test
+  public void GivenClosedDispatcher_WhenDispatch_ThenDeliveredInline() throws InterruptedException
+  {
+    // given
+    dispatcher = new AsyncEventsDispatcher(16, EventsOverflowPolicy.BLOCK);
+    dispatcher.close(1, TimeUnit.SECONDS);
+
+    // when
+    dispatcher.dispatch(listeners, event("1"));
+
+    // then
+    assertThat(threads, contains(Thread.currentThread().getName()));
+  }
+
+  @Test
+  public void GivenInjectorAsyncEvents_WhenGetInstance_ThenEventDelivered() throws InterruptedException
+  {
+    // given
+    Injector injector = new Injector();
+    injector.setAsyncEvents(16, EventsOverflowPolicy.BLOCK);
+    injector.configure(new TestModule(Task.class));
+    injector.bindListener(listeners[0]);
+
+    // when
+    Task task = injector.getInstance(Task.class);
+    boolean flushed = injector.closeEvents(1, TimeUnit.SECONDS);
+
+    // then
+    assertThat(flushed, equalTo(true));
+    assertThat(instances, contains(task));
+    assertThat(threads, contains("injector-events"));
+  }
+
+  @Test
+  public void GivenFullQueue_WhenListenerDispatchOnConsumer_ThenDeliveredInline() throws InterruptedException
+  {
+    // given
+    dispatcher = new AsyncEventsDispatcher(1, EventsOverflowPolicy.BLOCK);
+    CountDownLatch queueFull = new CountDownLatch(1);
+    IProvisionListener[] provisioningListeners = new IProvisionListener[] { new IProvisionListener()
+    {
+      @Override
+      public <T> void onProvision(IProvisionInvocation<T> provisionInvocation)
+      {
+        listenerEntered.countDown();
+        try {
+          queueFull.await(1, TimeUnit.SECONDS);
+        }
+        catch(InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        dispatcher.dispatch(listeners, event("nested"));
+      }
+    } };
+    dispatcher.dispatch(provisioningListeners, event("1"));
+    listenerEntered.await(1, TimeUnit.SECONDS);
+    dispatcher.dispatch(listeners, event("2"));
+
+    // when
+    queueFull.countDown();
+    boolean flushed = dispatcher.flush(1, TimeUnit.SECONDS);
+
+    // then
+    assertThat(flushed, equalTo(true));
+    assertThat(instances, contains("nested", "2"));
+    assertThat(threads, contains("injector-events", "injector-events"));
+  }
+
+  @Test
+  public void GivenBlockedDispatch_WhenClose_ThenDeliveredByCaller() throws InterruptedException
+  {
+    // given
+    dispatcher = new AsyncEventsDispatcher(1, EventsOverflowPolicy.BLOCK);
+    blockConsumer();
+    dispatcher.dispatch(listeners, event("2"));
+    Thread producer = new Thread(() -> dispatcher.dispatch(listeners, event("3")));
+    producer.start();
+
+    // when
+    dispatcher.close(50, TimeUnit.MILLISECONDS);
+    producer.join(1000);
+
+    // then
+    assertThat(producer.isAlive(), equalTo(false));
+    assertThat(instances, containsInAnyOrder("1", "2", "3"));
+  }
+
+  // --------------------------------------------------------------------------------------------
+
+  /** Dispatch first event and wait for consumer thread to block inside listener. */
+  private void blockConsumer() throws InterruptedException
+  {
+    listenerReleased = new CountDownLatch(1);
+    dispatcher.dispatch(listeners, event("1"));
+    listenerEntered.await(1, TimeUnit.SECONDS);
+  }
+
+  private static IProvisionInvocation<String> event(String instance)
+  {
+    return IProvisionInvocation.create(() -> instance, instance);
+  }
+
+  private static class Task
+  {
+  }
+}
@@ -40,6 +40,7 @@ public class BindingBuilderTest
     doReturn(sessionScoped).when(scopeFactory).getScopedProvider(any(), any());
     doReturn(SessionScoped.class).when(sessionScoped).getScope();
     doReturn(new SingletonScopeProvider.Factory<>()).when(injector).getScopeFactory(Singleton.class);
+    doReturn(new SingletonCache()).when(injector).getSingletonCache();
 
     builder = new BindingBuilder<>(injector, new Binding<>(Service.class));
   }
@@ -0,0 +1,71 @@
+package com.jslib.injector;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+import org.junit.Test;
+
+import com.jslib.api.injector.Key;
+import com.jslib.api.injector.Names;
+
+import jakarta.inject.Provider;
+
+public class BindingTableTest
+{
+  @Test
+  public void GivenManyBindings_WhenGet_ThenAllFound()
+  {
+    // given
+    Map<Key<?>, Provider<?>> bindings = new HashMap<>();
+    for(int i = 0; i < 1000; ++i) {
+      bindings.put(Key.get(String.class, Names.named("name" + i)), new InstanceProvider<>("value" + i));
+    }
+    bindings.put(Key.get(String.class), new InstanceProvider<>("value"));
+    BindingTable table = new BindingTable(bindings);
+
+    // when
+
+    // then
+    assertThat(table.size(), equalTo(1001));
+    for(Map.Entry<Key<?>, Provider<?>> binding : bindings.entrySet()) {
+      // look up with equal but not identical key
+      Key<?> key = binding.getKey().qualifier() != null ? Key.get(String.class, binding.getKey().qualifier()) : Key.get(String.class);
+      assertThat(table.get(key), sameInstance(binding.getValue()));
+    }
+  }
+
+  @Test
+  public void GivenMissingKey_WhenGet_ThenNull()
+  {
+    // given
+    Map<Key<?>, Provider<?>> bindings = new HashMap<>();
+    bindings.put(Key.get(String.class), new InstanceProvider<>("value"));
+    BindingTable table = new BindingTable(bindings);
+
+    // when
+    Provider<?> provider = table.get(Key.get(Integer.class));
+
+    // then
+    assertThat(provider, nullValue());
+  }
+
+  @Test
+  public void GivenEmptyBindings_WhenGet_ThenNull()
+  {
+    // given
+    BindingTable table = new BindingTable(Collections.emptyMap());
+
+    // when
+    Provider<?> provider = table.get(Key.get(String.class));
+
+    // then
+    assertThat(provider, nullValue());
+    assertThat(table.size(), equalTo(0));
+  }
+}
@@ -0,0 +1,210 @@
+package com.jslib.injector;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jslib.api.injector.AbstractModule;
+import com.jslib.api.injector.IInjector;
+import com.jslib.api.injector.Key;
+import com.jslib.api.injector.ProvisionException;
+import com.jslib.injector.fixture.TestModule;
+
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+public class ChildInjectorTest
+{
+  private Injector parent;
+
+  @Before
+  public void beforeTest()
+  {
+    parent = new Injector();
+    parent.configure(new TestModule(Config.class));
+  }
+
+  @Test
+  public void GivenParentSingleton_WhenChildGetInstance_ThenShared()
+  {
+    // given
+    Injector child = parent.createChild(new TestModule(Service.class));
+
+    // when
+    Service service = child.getInstance(Service.class);
+
+    // then
+    assertThat(service.config, sameInstance(parent.getInstance(Config.class)));
+    assertThat(child.getInstance(Config.class), sameInstance(parent.getInstance(Config.class)));
+  }
+
+  @Test
+  public void GivenChildBinding_WhenParentGetProvider_ThenNull()
+  {
+    // given
+    parent.createChild(new TestModule(Service.class));
+
+    // when
+    Object provider = parent.getProvider(Key.get(Service.class));
+
+    // then
+    assertThat(provider, nullValue());
+  }
+
+  @Test
+  public void GivenChildOverride_WhenGetInstance_ThenChildBindingUsed()
+  {
+    // given
+    Config config = new Config();
+    Injector child = parent.createChild(new TestModule(Service.class), new AbstractModule()
+    {
+      @Override
+      protected void configure()
+      {
+        bindInstance(Config.class, config);
+      }
+    });
+
+    // when
+    Service service = child.getInstance(Service.class);
+
+    // then
+    assertThat(service.config, sameInstance(config));
+    assertThat(parent.getInstance(Config.class), not(sameInstance(config)));
+  }
+
+  @Test
+  public void GivenChildSingleton_WhenGetInstanceFromTwoChildren_ThenNotShared()
+  {
+    // given
+    Injector child1 = parent.createChild(new TestModule(Session.class));
+    Injector child2 = parent.createChild(new TestModule(Session.class));
+
+    // when
+    Session session1 = child1.getInstance(Session.class);
+    Session session2 = child2.getInstance(Session.class);
+
+    // then
+    assertThat(child1.getInstance(Session.class), sameInstance(session1));
+    assertThat(session2, not(sameInstance(session1)));
+  }
+
+  @Test
+  public void GivenChild_WhenGetInjectorInterface_ThenChild()
+  {
+    // given
+    Injector child = parent.createChild();
+
+    // when
+    IInjector injector = child.getInstance(IInjector.class);
+
+    // then
+    assertThat(injector, sameInstance(child));
+    assertThat(child.getParent(), sameInstance(parent));
+  }
+
+  @Test
+  public void GivenMissingDependency_WhenCreateChild_ThenException()
+  {
+    // given
+    String exception = null;
+
+    // when
+    try {
+      parent.createChild(new TestModule(Consumer.class));
+    }
+    catch(ProvisionException e) {
+      exception = e.getMessage();
+    }
+
+    // then
+    assertThat(exception, equalTo("No injector binding for |" + Key.get(Session.class) + "| required by |" + Consumer.class.getCanonicalName() + "|."));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void GivenNotConfiguredParent_WhenCreateChild_ThenException()
+  {
+    // given
+    Injector injector = new Injector();
+
+    // when
+    injector.createChild();
+
+    // then
+  }
+
+  @Test
+  public void GivenChildRequestScope_WhenParentContextEntered_ThenChildInstancePerRequest()
+  {
+    // given
+    Injector child = parent.createChild(new TestModule(Request.class));
+    ContextScopeFactory<?> requestScope = (ContextScopeFactory<?>)parent.getScopeFactory(RequestScoped.class);
+
+    // when
+    requestScope.enter();
+    Request request = child.getInstance(Request.class);
+    Request sameRequest = child.getInstance(Request.class);
+    requestScope.exit();
+    requestScope.enter();
+    Request otherRequest = child.getInstance(Request.class);
+    requestScope.exit();
+
+    // then
+    assertThat(child.getScopeFactory(RequestScoped.class), not(sameInstance(requestScope)));
+    assertThat(sameRequest, sameInstance(request));
+    assertThat(otherRequest, not(sameInstance(request)));
+  }
+
+  @Test
+  public void GivenTwoChildren_WhenGetRequestInstance_ThenNotShared()
+  {
+    // given
+    Injector child1 = parent.createChild(new TestModule(Request.class));
+    Injector child2 = parent.createChild(new TestModule(Request.class));
+    ContextScopeFactory<?> requestScope = (ContextScopeFactory<?>)parent.getScopeFactory(RequestScoped.class);
+    requestScope.enter();
+
+    // when
+    Request request1 = child1.getInstance(Request.class);
+    Request request2 = child2.getInstance(Request.class);
+    requestScope.exit();
+
+    // then
+    assertThat(request1, not(sameInstance(request2)));
+  }
+
+  // --------------------------------------------------------------------------------------------
+
+  @Singleton
+  private static class Config
+  {
+  }
+
+  private static class Service
+  {
+    @Inject
+    Config config;
+  }
+
+  @Singleton
+  private static class Session
+  {
+  }
+
+  @RequestScoped
+  private static class Request
+  {
+  }
+
+  private static class Consumer
+  {
+    @Inject
+    Session session;
+  }
+}
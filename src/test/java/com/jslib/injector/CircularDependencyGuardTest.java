@@ -0,0 +1,114 @@
+package com.jslib.injector;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.notNullValue;
+
+import org.junit.Test;
+
+public class CircularDependencyGuardTest
+{
+  @Test
+  public void GivenDistinctProviders_WhenPush_ThenNoException()
+  {
+    // given
+    Object firstProvider = new Object();
+    Object secondProvider = new Object();
+
+    // when
+    CircularDependencyGuard.push(firstProvider, String.class);
+    CircularDependencyGuard.push(secondProvider, Integer.class);
+    CircularDependencyGuard.pop();
+    CircularDependencyGuard.pop();
+
+    // then
+  }
+
+  @Test
+  public void GivenProviderOnTrace_WhenPush_ThenException()
+  {
+    // given
+    Object provider = new Object();
+    CircularDependencyGuard.push(provider, String.class);
+
+    // when
+    String exception = null;
+    try {
+      CircularDependencyGuard.push(provider, String.class);
+    }
+    catch(IllegalStateException e) {
+      exception = e.getMessage();
+    }
+    finally {
+      CircularDependencyGuard.pop();
+    }
+
+    // then
+    assertThat(exception, notNullValue());
+    assertThat(exception, containsString("Circular dependency on |java.lang.String|"));
+  }
+
+  @Test
+  public void GivenProviderPopped_WhenPushAgain_ThenNoException()
+  {
+    // given
+    Object provider = new Object();
+    CircularDependencyGuard.push(provider, String.class);
+    CircularDependencyGuard.pop();
+
+    // when
+    CircularDependencyGuard.push(provider, String.class);
+    CircularDependencyGuard.pop();
+
+    // then
+  }
+
+  @Test
+  public void GivenDeepTrace_WhenPush_ThenGrow()
+  {
+    // given
+    Object[] providers = new Object[100];
+    for(int i = 0; i < providers.length; ++i) {
+      providers[i] = new Object();
+    }
+
+    // when
+    for(int i = 0; i < 100; ++i) {
+      CircularDependencyGuard.push(providers[i], Object.class);
+    }
+    String exception = null;
+    try {
+      CircularDependencyGuard.push(providers[50], String.class);
+    }
+    catch(IllegalStateException e) {
+      exception = e.getMessage();
+    }
+    for(int i = 0; i < 100; ++i) {
+      CircularDependencyGuard.pop();
+    }
+
+    // then
+    assertThat(exception, notNullValue());
+  }
+
+  @Test
+  public void GivenTraceReleasedOnOtherThread_WhenPush_ThenNoException() throws InterruptedException
+  {
+    // given
+    Object provider = new Object();
+    Thread thread = new Thread(() -> {
+      CircularDependencyGuard.push(provider, String.class);
+      CircularDependencyGuard.push(new Object(), Integer.class);
+      CircularDependencyGuard.pop();
+      CircularDependencyGuard.pop();
+    });
+    thread.start();
+    thread.join();
+
+    // when
+    CircularDependencyGuard.push(provider, String.class);
+    CircularDependencyGuard.pop();
+
+    // then
+  }
+}
@@ -15,6 +15,7 @@ import com.jslib.api.injector.ProvisionException;
 import com.jslib.injector.fixture.TestModule;
 
 import jakarta.inject.Inject;
+import jakarta.inject.Provider;
 
 @RunWith(MockitoJUnitRunner.class)
 public class CircularDependencyTest
@@ -29,15 +30,14 @@ public class CircularDependencyTest
   }
 
   @Test
-  public void GivenFieldCircularDependency_WhenGetInstance_ThenException()
+  public void GivenFieldCircularDependency_WhenConfigure_ThenException()
   {
     // given
-    injector.configure(new TestModule(FieldService.class));
 
     // when
     String exception = null;
     try {
-      injector.getInstance(FieldService.class);
+      injector.configure(new TestModule(FieldService.class));
     }
     catch(ProvisionException e) {
       exception = e.getMessage();
@@ -49,17 +49,35 @@ public class CircularDependencyTest
   }
 
   @Test
-  public void GivenConstructorCircularDependency_WhenGetInstance_ThenException()
+  public void GivenConstructorCircularDependency_WhenConfigure_ThenException()
   {
     // given
-    injector.configure(new TestModule(ConstructorService.class));
 
     // when
     String exception = null;
     try {
-      injector.getInstance(ConstructorService.class);
+      injector.configure(new TestModule(ConstructorService.class));
     }
-    catch(IllegalStateException e) {
+    catch(ProvisionException e) {
+      exception = e.getMessage();
+    }
+
+    // then
+    assertThat(exception, notNullValue());
+    assertThat(exception, containsString("Circular dependency"));
+  }
+
+  @Test
+  public void GivenMethodCircularDependency_WhenConfigure_ThenException()
+  {
+    // given
+
+    // when
+    String exception = null;
+    try {
+      injector.configure(new TestModule(MethodService.class));
+    }
+    catch(ProvisionException e) {
       exception = e.getMessage();
     }
 
@@ -69,15 +87,14 @@ public class CircularDependencyTest
   }
 
   @Test
-  public void GivenMethodCircularDependency_WhenGetInstance_ThenException()
+  public void GivenGrandfatherCircularDependency_WhenConfigure_ThenException()
   {
     // given
-    injector.configure(new TestModule(MethodService.class));
 
     // when
     String exception = null;
     try {
-      injector.getInstance(MethodService.class);
+      injector.configure(new TestModule(Grandfather.class, Father.class, Son.class));
     }
     catch(ProvisionException e) {
       exception = e.getMessage();
@@ -89,15 +106,35 @@ public class CircularDependencyTest
   }
 
   @Test
-  public void GivenGrandfatherCircularDependency_WhenGetInstance_ThenException()
+  public void GivenInjectorLookupCircularDependency_WhenGetInstance_ThenException()
   {
     // given
-    injector.configure(new TestModule(Grandfather.class, Father.class, Son.class));
+    injector.configure(new TestModule(LookupService.class));
 
     // when
     String exception = null;
     try {
-      injector.getInstance(Grandfather.class);
+      injector.getInstance(LookupService.class);
+    }
+    catch(ProvisionException e) {
+      exception = e.getMessage();
+    }
+
+    // then
+    assertThat(exception, notNullValue());
+    assertThat(exception, containsString("Circular dependency"));
+  }
+
+  @Test
+  public void GivenProviderGetCircularDependency_WhenGetInstance_ThenException()
+  {
+    // given
+    injector.configure(new TestModule(ProviderService.class));
+
+    // when
+    String exception = null;
+    try {
+      injector.getInstance(ProviderService.class);
     }
     catch(ProvisionException e) {
       exception = e.getMessage();
@@ -110,6 +147,24 @@ public class CircularDependencyTest
 
   // ----------------------------------------------------------------------------------------------
 
+  private static class LookupService
+  {
+    @Inject
+    public LookupService(IInjector injector)
+    {
+      injector.getInstance(LookupService.class);
+    }
+  }
+
+  private static class ProviderService
+  {
+    @Inject
+    public void setService(Provider<ProviderService> provider)
+    {
+      provider.get();
+    }
+  }
+
   private static class FieldService
   {
     @SuppressWarnings("unused")
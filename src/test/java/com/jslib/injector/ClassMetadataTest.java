@@ -0,0 +1,188 @@
+package com.jslib.injector;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.Test;
+
+import com.jslib.api.injector.Key;
+import com.jslib.api.injector.ProvisionException;
+import com.jslib.injector.fixture.TestModule;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+
+public class ClassMetadataTest
+{
+  @Test
+  public void GivenClass_WhenOf_ThenScanMembers()
+  {
+    // given
+
+    // when
+    ClassMetadata metadata = ClassMetadata.of(Service.class);
+
+    // then
+    assertThat(metadata.constructorParameters().size(), equalTo(1));
+    assertThat(metadata.constructorParameters().get(0).key, equalTo(Key.get(Task.class)));
+    assertThat(metadata.constructorParameters().get(0).providerKey, nullValue());
+    assertThat(metadata.fields().size(), equalTo(1));
+    assertThat(metadata.fields().get(0).dependency.key, equalTo(Key.get(Provider.class)));
+    assertThat(metadata.fields().get(0).dependency.providerKey, equalTo(Key.get(Task.class)));
+    assertThat(metadata.methods().size(), equalTo(1));
+    assertThat(metadata.methods().get(0).dependencies.get(0).key, equalTo(Key.get(Task.class)));
+  }
+
+  @Test
+  public void GivenClass_WhenOfTwice_ThenSameMetadata()
+  {
+    // given
+    ClassMetadata metadata = ClassMetadata.of(Service.class);
+
+    // when
+    ClassMetadata cachedMetadata = ClassMetadata.of(Service.class);
+
+    // then
+    assertThat(cachedMetadata, sameInstance(metadata));
+  }
+
+  @Test
+  public void GivenInvalidClass_WhenOfTwice_ThenExceptionEveryTime()
+  {
+    // given
+    int exceptions = 0;
+
+    // when
+    for(int i = 0; i < 2; ++i) {
+      try {
+        ClassMetadata.of(InvalidService.class);
+      }
+      catch(ProvisionException e) {
+        ++exceptions;
+      }
+    }
+
+    // then
+    assertThat(exceptions, equalTo(2));
+  }
+
+  @Test
+  public void GivenScopedClassOrInterface_WhenScope_ThenScopeAnnotation()
+  {
+    // given
+
+    // when
+
+    // then
+    assertThat(ClassMetadata.scope(SingletonService.class), equalTo(Singleton.class));
+    assertThat(ClassMetadata.scope(SingletonImplementation.class), equalTo(Singleton.class));
+    assertThat(ClassMetadata.scope(Service.class), nullValue());
+  }
+
+  @Test
+  public void GivenAccessibleClass_WhenFactoryTwice_ThenSameFactory()
+  {
+    // given
+    ClassMetadata metadata = ClassMetadata.of(Service.class);
+
+    // when
+    Object factory = metadata.factory();
+
+    // then
+    assertThat(factory, notNullValue());
+    assertThat(metadata.factory(), sameInstance(factory));
+  }
+
+  @Test
+  public void GivenTwoInjectors_WhenGetInstance_ThenIndependentInstances()
+  {
+    // given
+    Injector injector1 = new Injector();
+    injector1.configure(new TestModule(Task.class, Service.class));
+    Injector injector2 = new Injector();
+    injector2.configure(new TestModule(Task.class, Service.class));
+
+    // when
+    Service service1 = injector1.getInstance(Service.class);
+    Service service2 = injector2.getInstance(Service.class);
+
+    // then
+    assertThat(service1.constructorTask, notNullValue());
+    assertThat(service2.constructorTask, notNullValue());
+    assertThat(service1.fieldTask == service2.fieldTask, equalTo(false));
+  }
+
+  @Test
+  public void GivenStaticMembers_WhenGetInstance_ThenInjected()
+  {
+    // given
+    Injector injector = new Injector();
+    injector.configure(new TestModule(StaticService.class, Task.class));
+
+    // when
+    injector.getInstance(StaticService.class);
+
+    // then
+    assertThat(StaticService.fieldTask, notNullValue());
+    assertThat(StaticService.methodTask, notNullValue());
+  }
+
+  // --------------------------------------------------------------------------------------------
+
+  static class Task
+  {
+  }
+
+  static class Service
+  {
+    final Task constructorTask;
+    @Inject
+    Provider<Task> fieldTask;
+    Task methodTask;
+
+    @Inject
+    Service(Task constructorTask)
+    {
+      this.constructorTask = constructorTask;
+    }
+
+    @Inject
+    void setMethodTask(Task methodTask)
+    {
+      this.methodTask = methodTask;
+    }
+  }
+
+  static class InvalidService
+  {
+    InvalidService(Task task)
+    {
+    }
+  }
+
+  @Singleton
+  interface SingletonService
+  {
+  }
+
+  static class SingletonImplementation implements SingletonService
+  {
+  }
+
+  static class StaticService
+  {
+    @Inject
+    static Task fieldTask;
+    static Task methodTask;
+
+    @Inject
+    static void setTask(Task task)
+    {
+      methodTask = task;
+    }
+  }
+}
@@ -0,0 +1,214 @@
+package com.jslib.injector;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jslib.api.injector.ProvisionException;
+import com.jslib.injector.fixture.TestModule;
+
+import jakarta.enterprise.context.RequestScoped;
+import jakarta.enterprise.context.SessionScoped;
+import jakarta.inject.Inject;
+
+public class ContextScopeFactoryTest
+{
+  private Injector injector;
+  private ContextScopeFactory<?> requestScope;
+  private ContextScopeFactory<?> sessionScope;
+
+  @Before
+  public void beforeTest()
+  {
+    injector = new Injector();
+    injector.configure(new TestModule(RequestService.class, SessionService.class, Controller.class));
+    requestScope = (ContextScopeFactory<?>)injector.getScopeFactory(RequestScoped.class);
+    sessionScope = (ContextScopeFactory<?>)injector.getScopeFactory(SessionScoped.class);
+  }
+
+  @After
+  public void afterTest()
+  {
+    requestScope.exit();
+    sessionScope.exit();
+  }
+
+  @Test
+  public void GivenActiveRequest_WhenGetInstanceTwice_ThenSameInstance()
+  {
+    // given
+    requestScope.enter();
+
+    // when
+    RequestService service1 = injector.getInstance(RequestService.class);
+    RequestService service2 = injector.getInstance(RequestService.class);
+
+    // then
+    assertThat(service2, sameInstance(service1));
+  }
+
+  @Test
+  public void GivenRequestExited_WhenEnterAgain_ThenNewInstance()
+  {
+    // given
+    requestScope.enter();
+    RequestService service1 = injector.getInstance(RequestService.class);
+    requestScope.exit();
+
+    // when
+    requestScope.enter();
+    RequestService service2 = injector.getInstance(RequestService.class);
+
+    // then
+    assertThat(service2, not(sameInstance(service1)));
+  }
+
+  @Test
+  public void GivenSessionContext_WhenEnterFromTwoRequests_ThenSameInstance()
+  {
+    // given
+    ScopeContext session = sessionScope.newContext();
+    sessionScope.enter(session);
+    SessionService service1 = injector.getInstance(SessionService.class);
+    sessionScope.exit();
+
+    // when
+    sessionScope.enter(session);
+    SessionService service2 = injector.getInstance(SessionService.class);
+
+    // then
+    assertThat(service2, sameInstance(service1));
+  }
+
+  @Test
+  public void GivenActiveContexts_WhenGetDependentInstance_ThenScopedDependencies()
+  {
+    // given
+    requestScope.enter();
+    sessionScope.enter(sessionScope.newContext());
+
+    // when
+    Controller controller = injector.getInstance(Controller.class);
+
+    // then
+    assertThat(controller.requestService, sameInstance(injector.getInstance(RequestService.class)));
+    assertThat(controller.sessionService, sameInstance(injector.getInstance(SessionService.class)));
+  }
+
+  @Test
+  public void GivenNoActiveContext_WhenGetInstance_ThenException()
+  {
+    // given
+    String exception = null;
+
+    // when
+    try {
+      injector.getInstance(RequestService.class);
+    }
+    catch(ProvisionException e) {
+      exception = e.getMessage();
+    }
+
+    // then
+    assertThat(exception, equalTo("No active context for scope |" + RequestScoped.class + "|."));
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void GivenActiveContext_WhenEnter_ThenException()
+  {
+    // given
+    requestScope.enter();
+
+    // when
+    requestScope.enter();
+
+    // then
+  }
+
+  @Test
+  public void GivenContext_WhenPutBeyondCapacity_ThenGrow()
+  {
+    // given
+    ScopeContext context = new ScopeContext(0);
+    Object instance = new Object();
+
+    // when
+    context.put(100, instance);
+
+    // then
+    assertThat(context.get(100), sameInstance(instance));
+    assertThat(context.get(1000), nullValue());
+  }
+
+  @Test
+  public void GivenContext_WhenClear_ThenEmpty()
+  {
+    // given
+    ScopeContext context = new ScopeContext(4);
+    context.put(3, new Object());
+
+    // when
+    context.clear();
+
+    // then
+    assertThat(context.get(3), nullValue());
+  }
+
+  @Test
+  public void GivenNestedContext_WhenClear_ThenNestedContextKeptAndEmpty()
+  {
+    // given
+    ScopeContext context = new ScopeContext(4);
+    ScopeContext child = context.child(2, 7, 4);
+    child.put(1, new Object());
+
+    // when
+    context.clear();
+
+    // then
+    assertThat(context.child(2, 7, 4), sameInstance(child));
+    assertThat(child.get(1), nullValue());
+  }
+
+  @Test
+  public void GivenNestedContextOfPreviousOwner_WhenGetChild_ThenNewContext()
+  {
+    // given
+    ScopeContext context = new ScopeContext(4);
+    ScopeContext child = context.child(0, 7, 4);
+    child.put(1, new Object());
+
+    // when
+    ScopeContext otherChild = context.child(0, 8, 4);
+
+    // then
+    assertThat(otherChild, not(sameInstance(child)));
+    assertThat(otherChild.get(1), nullValue());
+  }
+
+  // --------------------------------------------------------------------------------------------
+
+  @RequestScoped
+  private static class RequestService
+  {
+  }
+
+  @SessionScoped
+  private static class SessionService
+  {
+  }
+
+  private static class Controller
+  {
+    @Inject
+    RequestService requestService;
+    @Inject
+    SessionService sessionService;
+  }
+}
@@ -0,0 +1,123 @@
+package com.jslib.injector;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jslib.api.injector.AbstractModule;
+import com.jslib.api.injector.ProvisionException;
+import com.jslib.injector.fixture.TestModule;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+
+public class DependencyLinkerTest
+{
+  private Injector injector;
+
+  @Before
+  public void beforeTest()
+  {
+    injector = new Injector();
+  }
+
+  @Test
+  public void GivenLinkedDependencies_WhenGetInstance_ThenInjected()
+  {
+    // given
+    injector.configure(new AbstractModule()
+    {
+      @Override
+      protected void configure()
+      {
+        bind(Task.class).in(Singleton.class);
+        bind(Service.class);
+      }
+    });
+
+    // when
+    Service service = injector.getInstance(Service.class);
+
+    // then
+    assertThat(service.constructorTask, notNullValue());
+    assertThat(service.fieldTask, sameInstance(service.constructorTask));
+    assertThat(service.methodTask, sameInstance(service.constructorTask));
+  }
+
+  @Test
+  public void GivenMissingDependency_WhenConfigure_ThenException()
+  {
+    // given
+
+    // when
+    String exception = null;
+    try {
+      injector.configure(new TestModule(Service.class));
+    }
+    catch(ProvisionException e) {
+      exception = e.getMessage();
+    }
+
+    // then
+    assertThat(exception, notNullValue());
+    assertThat(exception, containsString("No injector binding"));
+    assertThat(exception, containsString(Service.class.getCanonicalName()));
+  }
+
+  @Test
+  public void GivenProviderCircularDependency_WhenConfigure_ThenNoException()
+  {
+    // given
+    injector.configure(new TestModule(Parent.class, Child.class));
+
+    // when
+    Parent parent = injector.getInstance(Parent.class);
+
+    // then
+    assertThat(parent.child.parent.get() instanceof Parent, equalTo(true));
+  }
+
+  // --------------------------------------------------------------------------------------------
+
+  private static class Task
+  {
+  }
+
+  private static class Service
+  {
+    final Task constructorTask;
+    @Inject
+    Task fieldTask;
+    Task methodTask;
+
+    @Inject
+    Service(Task constructorTask)
+    {
+      this.constructorTask = constructorTask;
+    }
+
+    @Inject
+    void setMethodTask(Task methodTask)
+    {
+      this.methodTask = methodTask;
+    }
+  }
+
+  private static class Parent
+  {
+    @Inject
+    Child child;
+  }
+
+  private static class Child
+  {
+    @Inject
+    Provider<Parent> parent;
+  }
+}
@@ -0,0 +1,150 @@
+package com.jslib.injector;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.util.Arrays;
+import java.util.Collections;
+
+import org.junit.Test;
+
+import com.jslib.injector.fixture.TestModule;
+
+import jakarta.inject.Inject;
+
+public class FactoryGeneratorTest
+{
+  @Test
+  public void GivenAccessibleMembers_WhenFactory_ThenCreateAndInject() throws Throwable
+  {
+    // given
+    Field field = Service.class.getDeclaredField("fieldTask");
+    Method method = Service.class.getDeclaredMethod("setMethodTask", Task.class);
+    Method counter = Service.class.getDeclaredMethod("setCounter", Task.class);
+    MethodHandle factory = FactoryGenerator.factory(Service.class, Service.class.getDeclaredConstructor(Task.class), Arrays.asList(field), Arrays.asList(method, counter));
+    assertThat(factory, notNullValue());
+
+    Task constructorTask = new Task();
+    Task fieldTask = new Task();
+    Task methodTask = new Task();
+
+    // when
+    Object instance = factory.invokeExact(new Object[] { constructorTask }, new Object[] { fieldTask }, new Object[][] { new Object[] { methodTask }, new Object[] { methodTask } });
+    Service service = (Service)instance;
+
+    // then
+    assertThat(service.constructorTask, equalTo(constructorTask));
+    assertThat(service.fieldTask, equalTo(fieldTask));
+    assertThat(service.methodTask, equalTo(methodTask));
+    assertThat(service.counter, equalTo(1L));
+  }
+
+  @Test
+  public void GivenPrivateConstructor_WhenFactory_ThenNull() throws NoSuchMethodException
+  {
+    // given
+
+    // when
+    MethodHandle factory = FactoryGenerator.factory(PrivateService.class, PrivateService.class.getDeclaredConstructor(), Collections.emptyList(), Collections.emptyList());
+
+    // then
+    assertThat(factory, nullValue());
+  }
+
+  @Test
+  public void GivenPrivateField_WhenFactory_ThenNull() throws NoSuchMethodException, NoSuchFieldException
+  {
+    // given
+    Field field = PrivateFieldService.class.getDeclaredField("task");
+
+    // when
+    MethodHandle factory = FactoryGenerator.factory(PrivateFieldService.class, PrivateFieldService.class.getDeclaredConstructor(), Arrays.asList(field), Collections.emptyList());
+
+    // then
+    assertThat(factory, nullValue());
+  }
+
+  @Test
+  public void GivenGeneratedFactories_WhenGetInstance_ThenInjected()
+  {
+    // given
+    Injector injector = new Injector();
+    injector.setGeneratedFactories(true);
+    injector.configure(new TestModule(Task.class, Service.class, PrivateFieldService.class));
+
+    // when
+    Service service = injector.getInstance(Service.class);
+    PrivateFieldService privateService = injector.getInstance(PrivateFieldService.class);
+
+    // then
+    assertThat(service.constructorTask, notNullValue());
+    assertThat(service.fieldTask, notNullValue());
+    assertThat(service.methodTask, notNullValue());
+    assertThat(privateService.task, notNullValue());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void GivenConfiguredInjector_WhenSetGeneratedFactories_ThenException()
+  {
+    // given
+    Injector injector = new Injector();
+    injector.configure();
+
+    // when
+    injector.setGeneratedFactories(true);
+
+    // then
+  }
+
+  // --------------------------------------------------------------------------------------------
+
+  static class Task
+  {
+  }
+
+  static class Service
+  {
+    final Task constructorTask;
+    @Inject
+    Task fieldTask;
+    Task methodTask;
+    long counter;
+
+    @Inject
+    Service(Task constructorTask)
+    {
+      this.constructorTask = constructorTask;
+    }
+
+    @Inject
+    void setMethodTask(Task methodTask)
+    {
+      this.methodTask = methodTask;
+    }
+
+    /** Returned long value should be dropped from stack by generated factory. */
+    @Inject
+    long setCounter(Task task)
+    {
+      return ++counter;
+    }
+  }
+
+  static class PrivateService
+  {
+    private PrivateService()
+    {
+    }
+  }
+
+  static class PrivateFieldService
+  {
+    @Inject
+    private Task task;
+  }
+}
@@ -0,0 +1,113 @@
+package com.jslib.injector;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import org.junit.Test;
+
+import com.jslib.api.injector.AbstractModule;
+import com.jslib.api.injector.IInjector;
+
+public class GeneratedMetadataTest
+{
+  @Test
+  public void GivenNestedClass_WhenClassName_ThenFlattened()
+  {
+    // given
+
+    // when
+    String className = GeneratedMetadata.className(Service.class);
+
+    // then
+    assertThat(className, equalTo("com.jslib.injector.GeneratedMetadataTest_Service_ProvisioningMetadata"));
+  }
+
+  @Test
+  public void GivenMetadataClass_WhenLoad_ThenMembers()
+  {
+    // given
+
+    // when
+    GeneratedMetadata<Service> metadata = GeneratedMetadata.load(Service.class);
+
+    // then
+    assertThat(metadata, notNullValue());
+    assertThat(metadata.constructor().getParameterCount(), equalTo(2));
+    assertThat(metadata.fields().size(), equalTo(1));
+    assertThat(metadata.fields().get(0).getName(), equalTo("fieldTask"));
+    assertThat(metadata.methods().size(), equalTo(1));
+    assertThat(metadata.methods().get(0).getName(), equalTo("setMethodTask"));
+  }
+
+  @Test
+  public void GivenMissingMetadataClass_WhenLoad_ThenNull()
+  {
+    // given
+
+    // when
+    GeneratedMetadata<Task> metadata = GeneratedMetadata.load(Task.class);
+
+    // then
+    assertThat(metadata, nullValue());
+  }
+
+  @Test
+  public void GivenMetadataClass_WhenGetInstance_ThenInjectMetadataMembers()
+  {
+    // given
+    IInjector injector = new Injector();
+    injector.configure(new AbstractModule()
+    {
+      @Override
+      protected void configure()
+      {
+        bind(Task.class);
+        bind(String.class).instance("value");
+        bind(Service.class);
+      }
+    });
+
+    // when
+    Service service = injector.getInstance(Service.class);
+
+    // then
+    assertThat(service.constructorTask, notNullValue());
+    assertThat(service.value, equalTo("value"));
+    assertThat(service.fieldTask, notNullValue());
+    assertThat(service.methodTask, notNullValue());
+  }
+
+  // --------------------------------------------------------------------------------------------
+
+  static class Task
+  {
+  }
+
+  static class Service
+  {
+    private final Task constructorTask;
+    private final String value;
+    /** Not annotated with inject; it is injected because generated metadata lists it. */
+    private Task fieldTask;
+    private Task methodTask;
+
+    Service()
+    {
+      this.constructorTask = null;
+      this.value = null;
+    }
+
+    Service(Task constructorTask, String value)
+    {
+      this.constructorTask = constructorTask;
+      this.value = value;
+    }
+
+    void setMethodTask(Task methodTask)
+    {
+      this.methodTask = methodTask;
+    }
+  }
+}
@@ -0,0 +1,24 @@
+package com.jslib.injector;
+
+import java.util.function.Supplier;
+
+/**
+ * Hand written replica of metadata generated by <code>js-injector-processor</code> for
+ * {@link GeneratedMetadataTest.Service}. It deliberately names a field without <code>@Inject</code> annotation in order
+ * to prove that provisioning provider uses metadata and does not scan class members. Listed on test resources metadata
+ * index, as processor does for generated classes.
+ */
+public final class GeneratedMetadataTest_Service_ProvisioningMetadata implements Supplier<String[][]>
+{
+  @Override
+  public String[][] get()
+  {
+    return new String[][] {
+        // constructor
+        { "com.jslib.injector.GeneratedMetadataTest$Task", "java.lang.String" },
+        // fields
+        { "fieldTask" },
+        // methods
+        { "setMethodTask", "com.jslib.injector.GeneratedMetadataTest$Task" } };
+  }
+}
@@ -0,0 +1,197 @@
+package com.jslib.injector;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.empty;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.lang.management.ManagementFactory;
+import java.util.List;
+
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.openmbean.CompositeData;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jslib.api.injector.AbstractModule;
+import com.jslib.api.injector.ITypedProvider;
+import com.jslib.api.injector.Key;
+import com.jslib.api.injector.ScopedProvider;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+
+public class InjectorMetricsTest
+{
+  private Injector injector;
+
+  @Before
+  public void beforeTest()
+  {
+    injector = new Injector();
+  }
+
+  @Test
+  public void GivenMetricsEnabled_WhenGetInstance_ThenRecordMetrics()
+  {
+    // given
+    injector.setMetrics(true);
+    injector.configure(new Module());
+
+    // when
+    injector.getInstance(Service.class);
+    injector.getInstance(Service.class);
+    injector.getInstance(Service.class);
+
+    // then
+    BindingMetrics service = metrics(Service.class);
+    assertThat(service.getInvocationsCount(), equalTo(3L));
+    assertThat(service.getInstancesCount(), equalTo(3L));
+    assertThat(service.getCacheHitsCount(), equalTo(-1L));
+    assertThat(service.getCacheHitRatio(), equalTo(-1.0));
+
+    // task is injected into services, that is, nested provisioning is recorded
+    BindingMetrics task = metrics(Task.class);
+    assertThat(task.getInvocationsCount(), equalTo(3L));
+    assertThat(task.getInstancesCount(), equalTo(1L));
+    assertThat(task.getCacheHitsCount(), equalTo(2L));
+    assertThat(task.getCacheHitRatio(), equalTo(2.0 / 3.0));
+
+    long histogramCount = 0;
+    for(long count : service.getLatencyHistogram()) {
+      histogramCount += count;
+    }
+    assertThat(histogramCount, equalTo(3L));
+    assertThat(service.latencyPercentile(99) > 0, equalTo(true));
+  }
+
+  @Test
+  public void GivenMetricsEnabled_WhenConfigure_ThenRegisterMBean() throws Exception
+  {
+    // given
+    injector.setMetrics(true);
+
+    // when
+    injector.configure(new Module());
+    injector.getInstance(Service.class);
+
+    // then
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    ObjectName name = injector.getMetricsName();
+    assertThat(name, notNullValue());
+    assertThat(server.isRegistered(name), equalTo(true));
+    assertThat(server.getAttribute(name, "InvocationsCount"), equalTo(2L));
+    CompositeData[] bindings = (CompositeData[])server.getAttribute(name, "BindingMetrics");
+    assertThat(bindings.length, equalTo(injector.getMetrics().size()));
+    assertThat(bindings[0].get("key"), notNullValue());
+    injector.closeMetrics();
+  }
+
+  @Test
+  public void GivenTwoInjectors_WhenCloseMetrics_ThenUnregisterOwnMBean()
+  {
+    // given
+    injector.setMetrics(true);
+    injector.configure(new Module());
+    Injector other = new Injector();
+    other.setMetrics(true);
+    other.configure(new Module());
+    ObjectName name = injector.getMetricsName();
+    ObjectName otherName = other.getMetricsName();
+
+    // when
+    injector.closeMetrics();
+
+    // then
+    MBeanServer server = ManagementFactory.getPlatformMBeanServer();
+    assertThat(otherName, not(equalTo(name)));
+    assertThat(server.isRegistered(name), equalTo(false));
+    assertThat(server.isRegistered(otherName), equalTo(true));
+    assertThat(injector.getMetricsName(), nullValue());
+    other.closeMetrics();
+  }
+
+  @Test
+  public void GivenMetricsEnabled_WhenGetProvider_ThenSameProviderTypeAsWithoutMetrics()
+  {
+    // given
+    Injector plainInjector = new Injector();
+    plainInjector.configure(new Module());
+    injector.setMetrics(true);
+    injector.configure(new Module());
+
+    // when
+    Provider<Task> provider = injector.getProvider(Task.class);
+    Provider<Service> serviceProvider = injector.getProvider(Service.class);
+
+    // then
+    assertThat(provider, instanceOf(ScopedProvider.class));
+    assertThat(provider.getClass(), equalTo(plainInjector.getProvider(Task.class).getClass()));
+    assertThat(serviceProvider, instanceOf(ITypedProvider.class));
+    assertThat(serviceProvider.getClass(), equalTo(plainInjector.getProvider(Service.class).getClass()));
+  }
+
+  @Test
+  public void GivenMetricsDisabled_WhenGetMetrics_ThenEmpty()
+  {
+    // given
+    injector.configure(new Module());
+
+    // when
+    injector.getInstance(Service.class);
+    List<BindingMetrics> metrics = injector.getMetrics();
+
+    // then
+    assertThat(metrics, empty());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void GivenConfiguredInjector_WhenSetMetrics_ThenException()
+  {
+    // given
+    injector.configure();
+
+    // when
+    injector.setMetrics(true);
+
+    // then
+  }
+
+  // --------------------------------------------------------------------------------------------
+
+  private BindingMetrics metrics(Class<?> type)
+  {
+    for(BindingMetrics metrics : injector.getMetrics()) {
+      if(metrics.getKey().equals(Key.get(type).toString())) {
+        return metrics;
+      }
+    }
+    throw new AssertionError("Missing metrics for " + type);
+  }
+
+  private static class Task
+  {
+  }
+
+  private static class Service
+  {
+    @Inject
+    Task task;
+  }
+
+  private static class Module extends AbstractModule
+  {
+    @Override
+    protected void configure()
+    {
+      bind(Task.class).in(Singleton.class);
+      bind(Service.class);
+    }
+  }
+}
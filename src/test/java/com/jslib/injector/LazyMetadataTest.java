@@ -0,0 +1,141 @@
+package com.jslib.injector;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.notNullValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jslib.api.injector.ProvisionException;
+import com.jslib.injector.fixture.TestModule;
+
+import jakarta.inject.Inject;
+
+public class LazyMetadataTest
+{
+  private Injector injector;
+
+  @Before
+  public void beforeTest()
+  {
+    injector = new Injector();
+    injector.setLazyMetadata(true);
+  }
+
+  @Test
+  public void GivenLazyMetadata_WhenGetInstance_ThenInjected()
+  {
+    // given
+    injector.configure(new TestModule(Task.class, Service.class));
+
+    // when
+    Service service = injector.getInstance(Service.class);
+
+    // then
+    assertThat(service.task, notNullValue());
+  }
+
+  @Test
+  public void GivenInvalidClass_WhenConfigure_ThenNoException()
+  {
+    // given
+
+    // when
+    injector.configure(new TestModule(InvalidService.class));
+
+    // then
+    String exception = null;
+    try {
+      injector.getInstance(InvalidService.class);
+    }
+    catch(ProvisionException e) {
+      exception = e.getMessage();
+    }
+    assertThat(exception, containsString("Multiple constructors marked with @Inject"));
+  }
+
+  @Test
+  public void GivenMissingDependency_WhenConfigure_ThenNoException()
+  {
+    // given
+
+    // when
+    injector.configure(new TestModule(Service.class));
+
+    // then
+    String exception = null;
+    try {
+      injector.getInstance(Service.class);
+    }
+    catch(ProvisionException e) {
+      exception = e.getMessage();
+    }
+    assertThat(exception, containsString("No injector binding"));
+  }
+
+  @Test
+  public void GivenConcurrentFirstUse_WhenGetInstance_ThenAllInjected() throws Exception
+  {
+    // given
+    injector.configure(new TestModule(Task.class, Service.class));
+    ExecutorService executor = Executors.newFixedThreadPool(8);
+    List<Callable<Service>> tasks = new ArrayList<>();
+    for(int i = 0; i < 64; ++i) {
+      tasks.add(() -> injector.getInstance(Service.class));
+    }
+
+    // when
+    List<Future<Service>> services = executor.invokeAll(tasks);
+    executor.shutdown();
+
+    // then
+    for(Future<Service> service : services) {
+      assertThat(service.get().task, notNullValue());
+    }
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void GivenConfiguredInjector_WhenSetLazyMetadata_ThenException()
+  {
+    // given
+    injector.configure();
+
+    // when
+    injector.setLazyMetadata(false);
+
+    // then
+  }
+
+  // --------------------------------------------------------------------------------------------
+
+  private static class Task
+  {
+  }
+
+  private static class Service
+  {
+    @Inject
+    Task task;
+  }
+
+  private static class InvalidService
+  {
+    @Inject
+    InvalidService()
+    {
+    }
+
+    @Inject
+    InvalidService(Task task)
+    {
+    }
+  }
+}
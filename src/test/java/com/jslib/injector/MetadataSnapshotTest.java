@@ -0,0 +1,254 @@
+package com.jslib.injector;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.io.IOException;
+import java.lang.reflect.Field;
+import java.lang.reflect.Method;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Optional;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jslib.injector.fixture.TestModule;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+public class MetadataSnapshotTest
+{
+  private Path directory;
+  private Path file;
+
+  @Before
+  public void beforeTest() throws IOException
+  {
+    directory = Files.createTempDirectory("metadata-snapshot");
+    file = directory.resolve("injector.snapshot");
+  }
+
+  @After
+  public void afterTest() throws IOException
+  {
+    Files.deleteIfExists(file);
+    Files.deleteIfExists(directory);
+  }
+
+  @Test
+  public void GivenMissingSnapshot_WhenConfigure_ThenSnapshotWritten()
+  {
+    // given
+    Injector injector = new Injector();
+    injector.setMetadataSnapshot(file);
+
+    // when
+    injector.configure(new TestModule(Consumer.class, Task.class));
+
+    // then
+    assertThat(Files.exists(file), equalTo(true));
+    assertThat(MetadataSnapshot.load(file), notNullValue());
+    assertThat(MetadataSnapshot.current(), nullValue());
+  }
+
+  @Test
+  public void GivenSnapshotMissingClass_WhenConfigure_ThenSnapshotRewritten()
+  {
+    // given
+    MetadataSnapshot.write(file, Arrays.asList(Task.class));
+    Injector injector = new Injector();
+    injector.setMetadataSnapshot(file);
+
+    // when
+    injector.configure(new TestModule(Consumer.class, Task.class));
+
+    // then
+    MetadataSnapshot snapshot = MetadataSnapshot.load(file);
+    assertThat(snapshot, notNullValue());
+    assertThat(snapshot.isStale(Arrays.asList(Consumer.class, Task.class)), equalTo(false));
+  }
+
+  @Test
+  public void GivenWrittenSnapshot_WhenLoad_ThenMetadataRestored() throws Exception
+  {
+    // given
+    MetadataSnapshot.write(file, Arrays.asList(Service.class, Task.class));
+
+    // when
+    MetadataSnapshot snapshot = MetadataSnapshot.load(file);
+
+    // then
+    assertThat(snapshot, notNullValue());
+    GeneratedMetadata<Service> metadata = snapshot.metadata(Service.class);
+    assertThat(metadata, notNullValue());
+    assertThat(metadata.constructor(), equalTo(Service.class.getDeclaredConstructor(Task.class)));
+    assertThat(metadata.fields(), contains(field("task")));
+    assertThat(metadata.methods(), contains(method("setTasks")));
+    assertThat(snapshot.scope(Service.class), equalTo(Optional.of(Singleton.class)));
+    assertThat(snapshot.scope(Task.class), equalTo(Optional.empty()));
+    assertThat(snapshot.isStale(Arrays.asList(Service.class, Task.class)), equalTo(false));
+  }
+
+  @Test
+  public void GivenClassNotInSnapshot_WhenGetMetadata_ThenNull()
+  {
+    // given
+    MetadataSnapshot.write(file, Arrays.asList(Task.class));
+    MetadataSnapshot snapshot = MetadataSnapshot.load(file);
+
+    // when
+    GeneratedMetadata<Service> metadata = snapshot.metadata(Service.class);
+
+    // then
+    assertThat(metadata, nullValue());
+    assertThat(snapshot.scope(Service.class), nullValue());
+    assertThat(snapshot.isStale(Arrays.asList(Task.class)), equalTo(true));
+  }
+
+  @Test
+  public void GivenStaleSnapshot_WhenLoad_ThenNull() throws IOException
+  {
+    // given
+    MetadataSnapshot.write(file, Arrays.asList(Service.class));
+    byte[] bytes = Files.readAllBytes(file);
+    // corrupt class path fingerprint, that follows magic and format version
+    bytes[8] ^= 0xFF;
+    Files.write(file, bytes);
+
+    // when
+    MetadataSnapshot snapshot = MetadataSnapshot.load(file);
+
+    // then
+    assertThat(snapshot, nullValue());
+  }
+
+  @Test
+  public void GivenMissingSnapshot_WhenLoad_ThenNull()
+  {
+    // given
+
+    // when
+    MetadataSnapshot snapshot = MetadataSnapshot.load(file);
+
+    // then
+    assertThat(snapshot, nullValue());
+  }
+
+  @Test
+  public void GivenTruncatedSnapshot_WhenLoad_ThenNull() throws IOException
+  {
+    // given
+    MetadataSnapshot.write(file, Arrays.asList(Service.class));
+    byte[] bytes = Files.readAllBytes(file);
+    Files.write(file, Arrays.copyOf(bytes, bytes.length - 3));
+
+    // when
+    MetadataSnapshot snapshot = MetadataSnapshot.load(file);
+
+    // then
+    assertThat(snapshot, nullValue());
+  }
+
+  @Test
+  public void GivenLocationChangedSinceSnapshot_WhenGetMetadata_ThenNull() throws IOException
+  {
+    // given
+    MetadataSnapshot.write(file, Arrays.asList(Service.class));
+    ByteBuffer buffer = ByteBuffer.wrap(Files.readAllBytes(file));
+    // skip magic, format version and fingerprint, then strings table, locations count and location index
+    buffer.position(16);
+    int stringsCount = buffer.getInt();
+    for(int i = 0; i < stringsCount; ++i) {
+      buffer.position(buffer.position() + buffer.getInt() + 4);
+    }
+    int stampPosition = buffer.position() + 8;
+    buffer.putLong(stampPosition, ~buffer.getLong(stampPosition));
+    Files.write(file, buffer.array());
+
+    // when
+    MetadataSnapshot snapshot = MetadataSnapshot.load(file);
+
+    // then
+    assertThat(snapshot, notNullValue());
+    assertThat(snapshot.metadata(Service.class), nullValue());
+    assertThat(snapshot.scope(Service.class), nullValue());
+    assertThat(snapshot.isStale(Arrays.asList(Service.class)), equalTo(true));
+  }
+
+  @Test
+  public void GivenDirectoryLocation_WhenStamp_ThenStableAndSensitiveToNestedFiles() throws IOException
+  {
+    // given
+    String location = directory.toUri().toString();
+    long stamp = MetadataSnapshot.stamp(location);
+
+    // when
+    Files.write(directory.resolve("Service.class"), new byte[] { 1, 2, 3 });
+
+    // then
+    assertThat(MetadataSnapshot.stamp(location) == stamp, equalTo(false));
+    assertThat(MetadataSnapshot.stamp(location), equalTo(MetadataSnapshot.stamp(location)));
+    Files.delete(directory.resolve("Service.class"));
+    assertThat(MetadataSnapshot.stamp(location), equalTo(stamp));
+  }
+
+  @Test
+  public void GivenRemoteLocation_WhenStamp_ThenNoStamp()
+  {
+    // given
+    String location = "http://localhost/classes/";
+
+    // when
+    long stamp = MetadataSnapshot.stamp(location);
+
+    // then
+    assertThat(stamp, equalTo(MetadataSnapshot.NO_STAMP));
+  }
+
+  // --------------------------------------------------------------------------------------------
+
+  private static Field field(String name) throws NoSuchFieldException
+  {
+    return Service.class.getDeclaredField(name);
+  }
+
+  private static Method method(String name) throws NoSuchMethodException
+  {
+    return Service.class.getDeclaredMethod(name, Task.class, int[].class);
+  }
+
+  private static class Task
+  {
+  }
+
+  private static class Consumer
+  {
+    @Inject
+    Task task;
+  }
+
+  @Singleton
+  private static class Service
+  {
+    @Inject
+    private Task task;
+
+    @Inject
+    public Service(Task task)
+    {
+    }
+
+    @Inject
+    void setTasks(Task task, int[] values)
+    {
+    }
+  }
+}
@@ -0,0 +1,248 @@
+package com.jslib.injector;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.junit.Test;
+
+import com.jslib.api.injector.AbstractModule;
+import com.jslib.api.injector.ProvisionException;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+public class MultibindingTest
+{
+  @Test
+  public void GivenContributionsFromSeveralModules_WhenInjectList_ThenAllInContributionOrder()
+  {
+    // given
+    Injector injector = new Injector();
+    injector.configure(new AuditModule(), new MetricsModule(), new ConsumerModule());
+
+    // when
+    Consumer consumer = injector.getInstance(Consumer.class);
+
+    // then
+    assertThat(consumer.list, hasSize(2));
+    assertThat(consumer.list.get(0), instanceOf(AuditHandler.class));
+    assertThat(consumer.list.get(1), instanceOf(MetricsHandler.class));
+    assertThat(consumer.set, hasSize(2));
+  }
+
+  @Test
+  public void GivenEntryContributions_WhenInjectMap_ThenEntriesByKey()
+  {
+    // given
+    Injector injector = new Injector();
+    injector.configure(new AuditModule(), new MetricsModule(), new ConsumerModule());
+
+    // when
+    Consumer consumer = injector.getInstance(Consumer.class);
+
+    // then
+    assertThat(consumer.map.keySet(), contains("audit", "metrics"));
+    assertThat(consumer.map.get("audit"), instanceOf(AuditHandler.class));
+    assertThat(consumer.map.get("metrics"), instanceOf(MetricsHandler.class));
+  }
+
+  @Test
+  public void GivenSingletonContributors_WhenGetInstanceTwice_ThenConstantCollection()
+  {
+    // given
+    Injector injector = new Injector();
+    injector.configure(new AuditModule(), new ConsumerModule());
+
+    // when
+    List<Handler> list1 = injector.getInstance(Multibinder.listKey(Handler.class));
+    List<Handler> list2 = injector.getInstance(Multibinder.listKey(Handler.class));
+
+    // then
+    assertThat(list1, sameInstance(list2));
+  }
+
+  @Test
+  public void GivenPrototypeContributor_WhenGetInstanceTwice_ThenNewCollection()
+  {
+    // given
+    Injector injector = new Injector();
+    injector.configure(new AuditModule(), new MetricsModule());
+
+    // when
+    List<Handler> list1 = injector.getInstance(Multibinder.listKey(Handler.class));
+    List<Handler> list2 = injector.getInstance(Multibinder.listKey(Handler.class));
+
+    // then
+    assertThat(list1, not(sameInstance(list2)));
+    assertThat(list1.get(0), sameInstance(list2.get(0)));
+    assertThat(list1.get(1), not(sameInstance(list2.get(1))));
+  }
+
+  @Test(expected = UnsupportedOperationException.class)
+  public void GivenMultibinding_WhenAlterCollection_ThenException()
+  {
+    // given
+    Injector injector = new Injector();
+    injector.configure(new AuditModule());
+    Set<Handler> set = injector.getInstance(Multibinder.setKey(Handler.class));
+
+    // when
+    set.clear();
+
+    // then
+  }
+
+  @Test
+  public void GivenDuplicatedMapKey_WhenConfigure_ThenException()
+  {
+    // given
+    Injector injector = new Injector();
+    String exception = null;
+
+    // when
+    try {
+      injector.configure(new AuditModule(), new AbstractModule()
+      {
+        @Override
+        protected void configure()
+        {
+          bind(Handler.class).with(Multibinder.entry("audit")).to(MetricsHandler.class);
+        }
+      });
+    }
+    catch(ProvisionException e) {
+      exception = e.getMessage();
+    }
+
+    // then
+    assertThat(exception, notNullValue());
+    assertThat(exception, containsString("audit"));
+  }
+
+  @Test
+  public void GivenPlainListBinding_WhenInjectList_ThenPlainBindingUsed()
+  {
+    // given
+    List<String> names = Arrays.asList("john", "doe");
+    Injector injector = new Injector();
+    injector.configure(new AbstractModule()
+    {
+      @Override
+      protected void configure()
+      {
+        bindInstance(List.class, names);
+        bind(NamesConsumer.class);
+      }
+    });
+
+    // when
+    NamesConsumer consumer = injector.getInstance(NamesConsumer.class);
+
+    // then
+    assertThat(consumer.names, sameInstance(names));
+  }
+
+  @Test
+  public void GivenContributorInjectingItsMultibinding_WhenConfigure_ThenCircularDependency()
+  {
+    // given
+    Injector injector = new Injector();
+    String exception = null;
+
+    // when
+    try {
+      injector.configure(new AbstractModule()
+      {
+        @Override
+        protected void configure()
+        {
+          bind(Handler.class).with(Multibinder.element()).to(CompositeHandler.class);
+        }
+      });
+    }
+    catch(ProvisionException e) {
+      exception = e.getMessage();
+    }
+
+    // then
+    assertThat(exception, equalTo("Circular dependency on |" + CompositeHandler.class.getName() + "|. See dependencies trace on logger."));
+  }
+
+  // --------------------------------------------------------------------------------------------
+
+  private static interface Handler
+  {
+  }
+
+  @Singleton
+  private static class AuditHandler implements Handler
+  {
+  }
+
+  private static class MetricsHandler implements Handler
+  {
+  }
+
+  private static class CompositeHandler implements Handler
+  {
+    @Inject
+    List<Handler> handlers;
+  }
+
+  private static class Consumer
+  {
+    @Inject
+    List<Handler> list;
+    @Inject
+    Set<Handler> set;
+    @Inject
+    Map<String, Handler> map;
+  }
+
+  private static class NamesConsumer
+  {
+    @Inject
+    List<String> names;
+  }
+
+  private static class AuditModule extends AbstractModule
+  {
+    @Override
+    protected void configure()
+    {
+      bind(Handler.class).with(Multibinder.element()).to(AuditHandler.class);
+      bind(Handler.class).with(Multibinder.entry("audit")).to(AuditHandler.class);
+    }
+  }
+
+  private static class MetricsModule extends AbstractModule
+  {
+    @Override
+    protected void configure()
+    {
+      bind(Handler.class).with(Multibinder.element()).to(MetricsHandler.class);
+      bind(Handler.class).with(Multibinder.entry("metrics")).to(MetricsHandler.class);
+    }
+  }
+
+  private static class ConsumerModule extends AbstractModule
+  {
+    @Override
+    protected void configure()
+    {
+      bind(Consumer.class);
+    }
+  }
+}
@@ -0,0 +1,284 @@
+package com.jslib.injector;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jslib.api.injector.AbstractModule;
+import com.jslib.api.injector.Key;
+import com.jslib.api.injector.ProvisionException;
+
+import jakarta.inject.Inject;
+
+public class PooledScopeFactoryTest
+{
+  private Injector injector;
+  private PooledScopeFactory<?> pooledScope;
+
+  @Before
+  public void beforeTest()
+  {
+    injector = new Injector();
+    injector.configure(new AbstractModule()
+    {
+      @Override
+      protected void configure()
+      {
+        bind(Parser.class);
+        bind(Codec.class);
+        bind(Buffer.class);
+        bind(Task.class).in(Pooled.class);
+        bind(Reader.class).to(Tokenizer.class);
+        bind(Writer.class).to(Tokenizer.class);
+      }
+    });
+    pooledScope = (PooledScopeFactory<?>)injector.getScopeFactory(Pooled.class);
+  }
+
+  @Test
+  public void GivenReleasedInstance_WhenGetInstance_ThenSameInstanceReused()
+  {
+    // given
+    Parser parser = injector.getInstance(Parser.class);
+    pooledScope.release(parser);
+
+    // when
+    Parser reused = injector.getInstance(Parser.class);
+
+    // then
+    assertThat(reused, sameInstance(parser));
+    assertThat(pool(Parser.class).activeCount(), equalTo(1));
+    assertThat(pool(Parser.class).idleCount(), equalTo(0));
+  }
+
+  @Test
+  public void GivenBorrowedInstance_WhenGetInstance_ThenDifferentInstance()
+  {
+    // given
+    Parser parser = injector.getInstance(Parser.class);
+
+    // when
+    Parser other = injector.getInstance(Parser.class);
+
+    // then
+    assertThat(other, not(sameInstance(parser)));
+    assertThat(pool(Parser.class).activeCount(), equalTo(2));
+  }
+
+  @Test
+  public void GivenExhaustedFailPool_WhenGetInstance_ThenException()
+  {
+    // given
+    injector.getInstance(Codec.class);
+    String exception = null;
+
+    // when
+    try {
+      injector.getInstance(Codec.class);
+    }
+    catch(ProvisionException e) {
+      exception = e.getMessage();
+    }
+
+    // then
+    assertThat(exception, notNullValue());
+    assertThat(exception, containsString("Pool exhausted"));
+    assertThat(pool(Codec.class).activeCount(), equalTo(1));
+  }
+
+  @Test
+  public void GivenExhaustedBlockPool_WhenInstanceReleased_ThenWaiterGetsIt() throws Exception
+  {
+    // given
+    Parser parser1 = injector.getInstance(Parser.class);
+    injector.getInstance(Parser.class);
+    CompletableFuture<Parser> waiter = CompletableFuture.supplyAsync(() -> injector.getInstance(Parser.class));
+    Thread.sleep(50);
+
+    // when
+    pooledScope.release(parser1);
+
+    // then
+    assertThat(waiter.get(2, TimeUnit.SECONDS), sameInstance(parser1));
+  }
+
+  @Test
+  public void GivenExhaustedGrowPool_WhenReleaseAll_ThenSurplusDiscarded()
+  {
+    // given
+    Buffer buffer1 = injector.getInstance(Buffer.class);
+    Buffer buffer2 = injector.getInstance(Buffer.class);
+
+    // when
+    pooledScope.release(buffer1);
+    pooledScope.release(buffer2);
+
+    // then
+    assertThat(pool(Buffer.class).activeCount(), equalTo(0));
+    assertThat(pool(Buffer.class).idleCount(), equalTo(1));
+    assertThat(buffer1.closed || buffer2.closed, equalTo(true));
+  }
+
+  @Test
+  public void GivenExpiredIdleInstance_WhenEvictIdle_ThenClosed() throws InterruptedException
+  {
+    // given
+    Buffer buffer = injector.getInstance(Buffer.class);
+    pooledScope.release(buffer);
+    Thread.sleep(20);
+
+    // when
+    int evicted = pooledScope.evictIdle();
+
+    // then
+    assertThat(evicted, equalTo(1));
+    assertThat(buffer.closed, equalTo(true));
+    assertThat(pool(Buffer.class).idleCount(), equalTo(0));
+  }
+
+  @Test
+  public void GivenBindingInPooledScope_WhenGetInstance_ThenPooledWithDefaults()
+  {
+    // given
+
+    // when
+    Task task = injector.getInstance(Task.class);
+
+    // then
+    assertThat(task, instanceOf(Task.class));
+    assertThat(pool(Task.class).activeCount(), equalTo(1));
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void GivenNotPooledInstance_WhenRelease_ThenException()
+  {
+    // given
+
+    // when
+    pooledScope.release(new Object());
+
+    // then
+  }
+
+  @Test(expected = IllegalArgumentException.class)
+  public void GivenReleasedInstance_WhenReleaseAgain_ThenException()
+  {
+    // given
+    Parser parser = injector.getInstance(Parser.class);
+    pooledScope.release(parser);
+
+    // when
+    pooledScope.release(parser);
+
+    // then
+  }
+
+  @Test
+  public void GivenBindingsWithSameImplementation_WhenRelease_ThenReturnedToOwnPool()
+  {
+    // given
+    Reader reader = injector.getInstance(Reader.class);
+    Writer writer = injector.getInstance(Writer.class);
+
+    // when
+    pooledScope.release(reader);
+    pooledScope.release(writer);
+
+    // then
+    assertThat(pool(Reader.class).activeCount(), equalTo(0));
+    assertThat(pool(Reader.class).idleCount(), equalTo(1));
+    assertThat(pool(Writer.class).activeCount(), equalTo(0));
+    assertThat(pool(Writer.class).idleCount(), equalTo(1));
+    assertThat(injector.getInstance(Reader.class), sameInstance(reader));
+  }
+
+  @Test
+  public void GivenPooledDependency_WhenConfigure_ThenException()
+  {
+    // given
+    Injector injector = new Injector();
+    String exception = null;
+
+    // when
+    try {
+      injector.configure(new AbstractModule()
+      {
+        @Override
+        protected void configure()
+        {
+          bind(Parser.class);
+          bind(Document.class);
+        }
+      });
+    }
+    catch(ProvisionException e) {
+      exception = e.getMessage();
+    }
+
+    // then
+    assertThat(exception, notNullValue());
+    assertThat(exception, containsString("cannot be injected"));
+  }
+
+  // --------------------------------------------------------------------------------------------
+
+  private PooledScopeProvider<?> pool(Class<?> type)
+  {
+    return (PooledScopeProvider<?>)injector.getProvider(Key.get(type));
+  }
+
+  @Pooled(max = 2)
+  private static class Parser
+  {
+  }
+
+  @Pooled(max = 1, exhausted = PoolExhaustedPolicy.FAIL)
+  private static class Codec
+  {
+  }
+
+  @Pooled(max = 1, idleTimeout = 10, exhausted = PoolExhaustedPolicy.GROW)
+  private static class Buffer implements AutoCloseable
+  {
+    volatile boolean closed;
+
+    @Override
+    public void close()
+    {
+      closed = true;
+    }
+  }
+
+  private static class Task
+  {
+  }
+
+  private interface Reader
+  {
+  }
+
+  private interface Writer
+  {
+  }
+
+  @Pooled(max = 1)
+  private static class Tokenizer implements Reader, Writer
+  {
+  }
+
+  private static class Document
+  {
+    @Inject
+    Parser parser;
+  }
+}
@@ -0,0 +1,194 @@
+package com.jslib.injector;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.empty;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jslib.api.injector.AbstractModule;
+import com.jslib.api.injector.IProvisionInvocation;
+import com.jslib.api.injector.IProvisionListener;
+import com.jslib.api.injector.Key;
+import com.jslib.api.injector.Names;
+import com.jslib.injector.fixture.TestModule;
+
+import jakarta.inject.Provider;
+
+public class ProvisionListenersTest
+{
+  private Injector injector;
+  private List<Class<?>> events;
+  private IProvisionListener listener;
+
+  @Before
+  public void beforeTest()
+  {
+    injector = new Injector();
+    injector.configure(new AbstractModule()
+    {
+      @Override
+      protected void configure()
+      {
+        bind(Task.class);
+        bind(Service.class);
+        bind(Service.class).with(Names.named("named"));
+      }
+    });
+
+    events = new ArrayList<>();
+    listener = new IProvisionListener()
+    {
+      @Override
+      public <T> void onProvision(IProvisionInvocation<T> provisionInvocation)
+      {
+        events.add(provisionInvocation.instance().getClass());
+      }
+    };
+  }
+
+  @Test
+  public void GivenListener_WhenGetInstance_ThenEvent()
+  {
+    // given
+    injector.bindListener(listener);
+
+    // when
+    injector.getInstance(Task.class);
+    injector.getInstance(Service.class);
+
+    // then
+    assertThat(events, contains(Task.class, Service.class));
+  }
+
+  @Test
+  public void GivenTypeListener_WhenGetInstance_ThenOnlyTypeEvents()
+  {
+    // given
+    injector.bindListener(listener, Service.class);
+
+    // when
+    injector.getInstance(Task.class);
+    injector.getInstance(Service.class);
+
+    // then
+    assertThat(events, contains(Service.class));
+  }
+
+  @Test
+  public void GivenKeyListener_WhenGetInstance_ThenOnlyKeyEvents()
+  {
+    // given
+    injector.bindListener(listener, key -> key.qualifier() != null);
+
+    // when
+    injector.getInstance(Task.class);
+    injector.getInstance(Service.class);
+    injector.getInstance(Service.class, "named");
+
+    // then
+    assertThat(events, contains(Service.class));
+  }
+
+  @Test
+  public void GivenUnboundListener_WhenGetInstance_ThenNoEvent()
+  {
+    // given
+    injector.bindListener(listener);
+    injector.getInstance(Task.class);
+    injector.unbindListener(listener);
+
+    // when
+    injector.getInstance(Task.class);
+
+    // then
+    assertThat(events, contains(Task.class));
+  }
+
+  @Test
+  public void GivenListenerBoundAfterProvisioning_WhenGetInstance_ThenEvent()
+  {
+    // given
+    injector.getInstance(Task.class);
+    assertThat(events, empty());
+    injector.bindListener(listener);
+
+    // when
+    injector.getInstance(Task.class);
+
+    // then
+    assertThat(events, contains(Task.class));
+  }
+
+  @Test
+  public void GivenKeyListener_WhenFireEvent_ThenProviderKeysMatched()
+  {
+    // given
+    injector.bindListener(listener, key -> key.qualifier() != null);
+    Provider<Service> provider = injector.getProvider(Key.get(Service.class, Names.named("named")));
+
+    // when
+    injector.fireEvent(IProvisionInvocation.create(provider, new Service()));
+
+    // then
+    assertThat(events, contains(Service.class));
+  }
+
+  @Test
+  public void GivenListenerBoundOnParentAfterChildCreated_WhenChildGetInstance_ThenEvent()
+  {
+    // given
+    Injector child = injector.createChild(new TestModule(Child.class));
+    child.getInstance(Child.class);
+    injector.bindListener(listener);
+
+    // when
+    child.getInstance(Child.class);
+
+    // then
+    assertThat(events, contains(Child.class));
+  }
+
+  @Test
+  public void GivenListenersOnParentAndChild_WhenChildGetInstance_ThenBothNotified()
+  {
+    // given
+    Injector child = injector.createChild(new TestModule(Child.class));
+    List<Class<?>> childEvents = new ArrayList<>();
+    child.bindListener(new IProvisionListener()
+    {
+      @Override
+      public <T> void onProvision(IProvisionInvocation<T> provisionInvocation)
+      {
+        childEvents.add(provisionInvocation.instance().getClass());
+      }
+    });
+    injector.bindListener(listener);
+
+    // when
+    child.getInstance(Child.class);
+    injector.getInstance(Task.class);
+
+    // then
+    assertThat(events, contains(Child.class, Task.class));
+    assertThat(childEvents, contains(Child.class));
+  }
+
+  // --------------------------------------------------------------------------------------------
+
+  private static class Task
+  {
+  }
+
+  private static class Service
+  {
+  }
+
+  private static class Child
+  {
+  }
+}
@@ -1,16 +1,192 @@
 package com.jslib.injector;
 
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.notNullValue;
+
+import org.junit.Before;
 import org.junit.Test;
 
+import com.jslib.api.injector.IInjector;
+import com.jslib.api.injector.ProvisionException;
+import com.jslib.injector.fixture.TestModule;
+
+import jakarta.inject.Inject;
+
 public class ProvisioningProviderTest
 {
+  private IInjector injector;
+
+  @Before
+  public void beforeTest()
+  {
+    injector = new Injector();
+    injector.configure(new TestModule(Task.class, Service.class, FailingService.class, FluentService.class, ErrorService.class, ErrorMethodService.class));
+  }
+
+  @Test
+  public void GivenPrivateMembers_WhenGet_ThenAllInjected()
+  {
+    // given
+    ProvisioningProvider<Service> provider = new ProvisioningProvider<>(injector, Service.class);
+
+    // when
+    Service service = provider.get();
+
+    // then
+    assertThat(service.constructorTask, notNullValue());
+    assertThat(service.fieldTask, notNullValue());
+    assertThat(service.methodTask, notNullValue());
+  }
+
+  @Test
+  public void GivenConstructorException_WhenGet_ThenProvisionExceptionWithCause()
+  {
+    // given
+    ProvisioningProvider<FailingService> provider = new ProvisioningProvider<>(injector, FailingService.class);
+
+    // when
+    Throwable cause = null;
+    try {
+      provider.get();
+    }
+    catch(ProvisionException e) {
+      cause = e.getCause();
+    }
+
+    // then
+    assertThat(cause, instanceOf(UnsupportedOperationException.class));
+  }
+
+  @Test
+  public void GivenConstructorError_WhenGet_ThenErrorNotWrapped()
+  {
+    // given
+    ProvisioningProvider<ErrorService> provider = new ProvisioningProvider<>(injector, ErrorService.class);
+
+    // when
+    Throwable exception = null;
+    try {
+      provider.get();
+    }
+    catch(Throwable e) {
+      exception = e;
+    }
+
+    // then
+    assertThat(exception, instanceOf(AssertionError.class));
+  }
+
+  @Test
+  public void GivenInjectMethodError_WhenGet_ThenErrorNotWrapped()
+  {
+    // given
+    ProvisioningProvider<ErrorMethodService> provider = new ProvisioningProvider<>(injector, ErrorMethodService.class);
+
+    // when
+    Throwable exception = null;
+    try {
+      provider.get();
+    }
+    catch(Throwable e) {
+      exception = e;
+    }
+
+    // then
+    assertThat(exception, instanceOf(AssertionError.class));
+  }
+
   @Test
-  public void Given_When_Then()
+  public void GivenInjectMethodWithReturnValue_WhenGet_ThenInvoked()
   {
     // given
+    ProvisioningProvider<FluentService> provider = new ProvisioningProvider<>(injector, FluentService.class);
 
     // when
+    FluentService service = provider.get();
 
     // then
+    assertThat(service.task, notNullValue());
+    assertThat(service.task, instanceOf(Task.class));
+  }
+
+  @Test
+  public void GivenProvider_WhenGetTwice_ThenDistinctInstances()
+  {
+    // given
+    ProvisioningProvider<Task> provider = new ProvisioningProvider<>(injector, Task.class);
+
+    // when
+    Task task1 = provider.get();
+    Task task2 = provider.get();
+
+    // then
+    assertThat(task1 == task2, equalTo(false));
+  }
+
+  // --------------------------------------------------------------------------------------------
+
+  private static class Task
+  {
+  }
+
+  private static class Service
+  {
+    private final Task constructorTask;
+    @Inject
+    private Task fieldTask;
+    private Task methodTask;
+
+    @Inject
+    private Service(Task constructorTask)
+    {
+      this.constructorTask = constructorTask;
+    }
+
+    @Inject
+    private void setMethodTask(Task methodTask)
+    {
+      this.methodTask = methodTask;
+    }
+  }
+
+  private static class FailingService
+  {
+    @SuppressWarnings("unused")
+    public FailingService()
+    {
+      throw new UnsupportedOperationException();
+    }
+  }
+
+  private static class ErrorService
+  {
+    @SuppressWarnings("unused")
+    public ErrorService()
+    {
+      throw new AssertionError();
+    }
+  }
+
+  private static class ErrorMethodService
+  {
+    @Inject
+    void setTask(Task task)
+    {
+      throw new AssertionError();
+    }
+  }
+
+  private static class FluentService
+  {
+    private Task task;
+
+    @Inject
+    public FluentService setTask(Task task)
+    {
+      this.task = task;
+      return this;
+    }
   }
 }
@@ -0,0 +1,184 @@
+package com.jslib.injector;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.greaterThanOrEqualTo;
+import static org.hamcrest.Matchers.hasSize;
+import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.io.IOException;
+import java.util.List;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jslib.api.injector.IInjector;
+import com.jslib.injector.fixture.TestModule;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+public class ProvisioningTracerTest
+{
+  private Injector injector;
+
+  @Before
+  public void beforeTest()
+  {
+    injector = new Injector();
+    injector.setTracing(true);
+    injector.configure(new TestModule(Service.class, Repository.class, Connection.class, Lazy.class));
+  }
+
+  @Test
+  public void GivenDependenciesTree_WhenGetInstance_ThenFoldedStacksPerPath() throws IOException
+  {
+    // given
+    injector.getInstance(Service.class);
+    StringBuilder folded = new StringBuilder();
+
+    // when
+    injector.getTracer().writeFolded(folded, false);
+
+    // then
+    String service = Service.class.getName();
+    String repository = Repository.class.getName();
+    String connection = Connection.class.getName();
+    assertThat(folded.toString(), containsString(service + ";" + repository + ";" + connection + " "));
+    assertThat(folded.toString(), containsString(service + ";" + repository + " "));
+  }
+
+  @Test
+  public void GivenSlowConstructor_WhenTop_ThenSlowestFirst()
+  {
+    // given
+    injector.getInstance(Service.class);
+
+    // when
+    List<TraceEntry> top = injector.getTracer().top(1);
+
+    // then
+    assertThat(top, hasSize(1));
+    assertThat(top.get(0).getType(), equalTo(Connection.class.getName()));
+    assertThat(top.get(0).getInstancesCount(), equalTo(1L));
+    assertThat(top.get(0).getSelfNanos(), greaterThanOrEqualTo(20_000_000L));
+  }
+
+  @Test
+  public void GivenNestedInjectorLookup_WhenGetInstance_ThenTracedAsChild() throws IOException
+  {
+    // given
+    injector.getInstance(Lazy.class);
+    StringBuilder folded = new StringBuilder();
+
+    // when
+    injector.getTracer().writeFolded(folded, false);
+
+    // then
+    assertThat(folded.toString(), containsString(Lazy.class.getName() + ";" + Service.class.getName() + ";"));
+  }
+
+  @Test
+  public void GivenParentNode_WhenTop_ThenTotalIncludesChildren()
+  {
+    // given
+    injector.getInstance(Service.class);
+
+    // when
+    List<TraceEntry> top = injector.getTracer().top(10);
+
+    // then
+    TraceEntry service = top.stream().filter(entry -> entry.getType().equals(Service.class.getName())).findFirst().get();
+    assertThat(service.getTotalNanos(), greaterThanOrEqualTo(20_000_000L));
+    assertThat(service.getTotalNanos(), greaterThanOrEqualTo(service.getSelfNanos()));
+    assertThat(service.getTotalBytes(), greaterThanOrEqualTo(service.getSelfBytes()));
+  }
+
+  @Test
+  public void GivenSingletonCreated_WhenGetInstanceAgain_ThenNotTraced()
+  {
+    // given
+    injector.getInstance(Service.class);
+    injector.getTracer().reset();
+
+    // when
+    injector.getInstance(Connection.class);
+
+    // then
+    assertThat(injector.getTracer().top(10), hasSize(0));
+  }
+
+  @Test
+  public void GivenTrace_WhenReport_ThenHeaderAndEntries()
+  {
+    // given
+    injector.getInstance(Service.class);
+
+    // when
+    String report = injector.getTracer().report(3);
+
+    // then
+    assertThat(report, containsString("SELF_MS"));
+    assertThat(report, containsString(Connection.class.getName()));
+  }
+
+  @Test
+  public void GivenTracingNotEnabled_WhenGetTracer_ThenNull()
+  {
+    // given
+    Injector injector = new Injector();
+    injector.configure(new TestModule(Repository.class, Connection.class));
+
+    // when
+    ProvisioningTracer tracer = injector.getTracer();
+
+    // then
+    assertThat(tracer, nullValue());
+    assertThat(injector.getInstance(Repository.class), notNullValue());
+  }
+
+  @Test(expected = IllegalStateException.class)
+  public void GivenConfiguredInjector_WhenSetTracing_ThenException()
+  {
+    // given
+
+    // when
+    injector.setTracing(false);
+
+    // then
+  }
+
+  // --------------------------------------------------------------------------------------------
+
+  private static class Service
+  {
+    @Inject
+    Repository repository;
+  }
+
+  private static class Repository
+  {
+    @Inject
+    Connection connection;
+  }
+
+  @Singleton
+  private static class Connection
+  {
+    public Connection() throws InterruptedException
+    {
+      Thread.sleep(25);
+    }
+  }
+
+  private static class Lazy
+  {
+    @Inject
+    public Lazy(IInjector injector)
+    {
+      injector.getInstance(Service.class);
+    }
+  }
+}
@@ -3,12 +3,15 @@ package com.jslib.injector;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.equalTo;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
 
 import org.junit.Before;
 import org.junit.Test;
 
 import com.jslib.api.injector.AbstractModule;
 import com.jslib.api.injector.IInjector;
+import com.jslib.api.injector.Key;
+import com.jslib.api.injector.ProvisionException;
 
 import jakarta.inject.Inject;
 import jakarta.inject.Provider;
@@ -63,6 +66,45 @@ public class ProxyProviderTest
     assertThat(client.name(), equalTo("Tom Joad"));
   }
 
+  @Test
+  public void GivenTwoClients_WhenGetInstance_ThenShareProvider()
+  {
+    // given
+
+    // when
+    FieldClient client1 = injector.getInstance(FieldClient.class);
+    FieldClient client2 = injector.getInstance(FieldClient.class);
+
+    // then
+    assertThat(client1.serviceProvider, sameInstance(client2.serviceProvider));
+    assertThat(client1.serviceProvider.get() != client1.serviceProvider.get(), equalTo(true));
+  }
+
+  @Test
+  public void GivenNotLinkedProxy_WhenGet_ThenResolveTarget()
+  {
+    // given
+    ProxyProvider<Service> provider = new ProxyProvider<>(injector, Key.get(Service.class));
+
+    // when
+    Service service = provider.get();
+
+    // then
+    assertThat(service.name(), equalTo("Tom Joad"));
+  }
+
+  @Test(expected = ProvisionException.class)
+  public void GivenMissingBinding_WhenGet_ThenException()
+  {
+    // given
+    ProxyProvider<String> provider = new ProxyProvider<>(injector, Key.get(String.class));
+
+    // when
+    provider.get();
+
+    // then
+  }
+
   // ----------------------------------------------------------------------------------------------
 
   private static class Service
@@ -0,0 +1,179 @@
+package com.jslib.injector;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import java.net.URI;
+import java.util.concurrent.TimeUnit;
+
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jslib.api.injector.AbstractModule;
+import com.jslib.injector.fixture.IService;
+import com.jslib.injector.fixture.LocalRemoteFactoryProvider;
+import com.jslib.rmi.RemoteFactory;
+
+public class RemoteProxyCacheTest
+{
+  private RemoteFactory remoteFactory;
+
+  @Before
+  public void beforeTest()
+  {
+    remoteFactory = new LocalRemoteFactoryProvider().getRemoteFactory();
+    LocalRemoteFactoryProvider.createdCount.set(0);
+    LocalRemoteFactoryProvider.failing = false;
+  }
+
+  @After
+  public void afterTest()
+  {
+    LocalRemoteFactoryProvider.failing = false;
+  }
+
+  @Test
+  public void GivenCachedInstance_WhenGet_ThenReused()
+  {
+    // given
+    RemoteProxyCache cache = new RemoteProxyCache(TimeUnit.MINUTES.toNanos(1), 16);
+    RemoteProxyCache.Key key = new RemoteProxyCache.Key(IService.class, "local://server/app");
+    IService service = cache.get(remoteFactory, key);
+
+    // when
+    IService cachedService = cache.get(remoteFactory, new RemoteProxyCache.Key(IService.class, "local://server/app"));
+
+    // then
+    assertThat(cachedService, sameInstance(service));
+    assertThat(cachedService.name(), equalTo("local://server/app"));
+    assertThat(LocalRemoteFactoryProvider.createdCount.get(), equalTo(1));
+  }
+
+  @Test
+  public void GivenExpiredInstance_WhenGet_ThenRecreated() throws InterruptedException
+  {
+    // given
+    RemoteProxyCache cache = new RemoteProxyCache(1, 16);
+    RemoteProxyCache.Key key = new RemoteProxyCache.Key(IService.class, "local://server/app");
+    IService service = cache.get(remoteFactory, key);
+    Thread.sleep(1);
+
+    // when
+    IService recreatedService = cache.get(remoteFactory, key);
+
+    // then
+    assertThat(recreatedService, not(sameInstance(service)));
+    assertThat(LocalRemoteFactoryProvider.createdCount.get(), equalTo(2));
+  }
+
+  @Test
+  public void GivenFullCache_WhenGet_ThenSizeBounded()
+  {
+    // given
+    RemoteProxyCache cache = new RemoteProxyCache(TimeUnit.MINUTES.toNanos(1), 2);
+
+    // when
+    for(int i = 0; i < 5; ++i) {
+      cache.get(remoteFactory, new RemoteProxyCache.Key(IService.class, "local://server" + i + "/app"));
+    }
+
+    // then
+    assertThat(cache.size(), equalTo(2));
+  }
+
+  @Test
+  public void GivenFailedCall_WhenGet_ThenRecreated()
+  {
+    // given
+    RemoteProxyCache cache = new RemoteProxyCache(TimeUnit.MINUTES.toNanos(1), 16);
+    RemoteProxyCache.Key key = new RemoteProxyCache.Key(IService.class, "local://server/app");
+    IService service = cache.get(remoteFactory, key);
+    LocalRemoteFactoryProvider.failing = true;
+    try {
+      service.name();
+    }
+    catch(IllegalStateException expected) {}
+    LocalRemoteFactoryProvider.failing = false;
+
+    // when
+    IService recreatedService = cache.get(remoteFactory, key);
+
+    // then
+    assertThat(recreatedService, not(sameInstance(service)));
+    assertThat(recreatedService.name(), equalTo("local://server/app"));
+  }
+
+  @Test
+  public void GivenEnabledCache_WhenGetInstanceTwice_ThenSameRemoteInstance()
+  {
+    // given
+    Injector injector = new Injector();
+    injector.setRemoteProxyCache(10, TimeUnit.MINUTES, 256);
+    injector.configure(new AbstractModule()
+    {
+      @Override
+      protected void configure()
+      {
+        bind(IService.class).on(URI.create("local://server/app"));
+      }
+    });
+
+    // when
+    IService service1 = injector.getInstance(IService.class);
+    IService service2 = injector.getInstance(IService.class);
+
+    // then
+    assertThat(service2, sameInstance(service1));
+    assertThat(LocalRemoteFactoryProvider.createdCount.get(), equalTo(1));
+  }
+
+  @Test
+  public void GivenDisabledCache_WhenGetInstanceTwice_ThenNewRemoteInstance()
+  {
+    // given
+    Injector injector = new Injector();
+    injector.setRemoteProxyCache(0, TimeUnit.SECONDS, 1);
+    injector.configure(new AbstractModule()
+    {
+      @Override
+      protected void configure()
+      {
+        bind(IService.class).on(URI.create("local://server/app"));
+      }
+    });
+
+    // when
+    IService service1 = injector.getInstance(IService.class);
+    IService service2 = injector.getInstance(IService.class);
+
+    // then
+    assertThat(service2, not(sameInstance(service1)));
+    assertThat(LocalRemoteFactoryProvider.createdCount.get(), equalTo(2));
+  }
+
+  @Test
+  public void GivenDefaultInjector_WhenGetInstanceTwice_ThenNewRemoteInstance()
+  {
+    // given
+    Injector injector = new Injector();
+    injector.configure(new AbstractModule()
+    {
+      @Override
+      protected void configure()
+      {
+        bind(IService.class).on(URI.create("local://server/app"));
+      }
+    });
+
+    // when
+    IService service1 = injector.getInstance(IService.class);
+    IService service2 = injector.getInstance(IService.class);
+
+    // then
+    assertThat(service2, not(sameInstance(service1)));
+    assertThat(LocalRemoteFactoryProvider.createdCount.get(), equalTo(2));
+  }
+}
@@ -0,0 +1,144 @@
+package com.jslib.injector;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.instanceOf;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jslib.api.injector.AbstractModule;
+import com.jslib.api.injector.Key;
+import com.jslib.api.injector.ProvisionException;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Singleton;
+
+public class ResolverTest
+{
+  private Injector injector;
+
+  @Before
+  public void beforeTest()
+  {
+    injector = new Injector();
+    injector.configure(new AbstractModule()
+    {
+      @Override
+      protected void configure()
+      {
+        bind(Config.class);
+        bind(Task.class);
+        bind(Service.class);
+        bind(Counter.class).provider(Counter::new);
+      }
+    });
+  }
+
+  @Test
+  public void GivenResolver_WhenResolve_ThenInstancesInKeysOrder()
+  {
+    // given
+    Resolver resolver = injector.resolver(Key.get(Service.class), Key.get(Config.class), Key.get(Task.class));
+
+    // when
+    Object[] instances = resolver.resolve();
+
+    // then
+    assertThat(instances, arrayWithSize(3));
+    assertThat(instances[0], instanceOf(Service.class));
+    assertThat(instances[1], sameInstance(injector.getInstance(Config.class)));
+    assertThat(instances[2], instanceOf(Task.class));
+  }
+
+  @Test
+  public void GivenCallerArray_WhenResolveTwice_ThenArrayReused()
+  {
+    // given
+    Resolver resolver = injector.resolver(Key.get(Task.class));
+    Object[] instances = new Object[resolver.size()];
+    resolver.resolve(instances);
+    Object task = instances[0];
+
+    // when
+    resolver.resolve(instances);
+
+    // then
+    assertThat(instances[0], instanceOf(Task.class));
+    assertThat(instances[0], not(sameInstance(task)));
+  }
+
+  @Test
+  public void GivenCustomProvider_WhenResolveTwice_ThenResolved()
+  {
+    // given
+    Resolver resolver = injector.resolver(Key.get(Counter.class), Key.get(Service.class));
+
+    // when
+    Object[] instances1 = resolver.resolve();
+    Object[] instances2 = resolver.resolve();
+
+    // then
+    assertThat(instances1[0], instanceOf(Counter.class));
+    assertThat(instances2[1], instanceOf(Service.class));
+  }
+
+  @Test
+  public void GivenKeys_WhenGetInstances_ThenInstancesInKeysOrder()
+  {
+    // given
+
+    // when
+    Object[] instances = injector.getInstances(Key.get(Task.class), Key.get(Counter.class), Key.get(Config.class));
+
+    // then
+    assertThat(instances, arrayWithSize(3));
+    assertThat(instances[0], instanceOf(Task.class));
+    assertThat(instances[1], instanceOf(Counter.class));
+    assertThat(instances[2], sameInstance(injector.getInstance(Config.class)));
+  }
+
+  @Test
+  public void GivenMissingBinding_WhenCreateResolver_ThenException()
+  {
+    // given
+    String exception = null;
+
+    // when
+    try {
+      injector.resolver(Key.get(Task.class), Key.get(Object.class));
+    }
+    catch(ProvisionException e) {
+      exception = e.getMessage();
+    }
+
+    // then
+    assertThat(exception, equalTo("No injector binding for " + Key.get(Object.class)));
+  }
+
+  // --------------------------------------------------------------------------------------------
+
+  @Singleton
+  private static class Config
+  {
+  }
+
+  private static class Task
+  {
+  }
+
+  private static class Service
+  {
+    @Inject
+    Config config;
+    @Inject
+    Task task;
+  }
+
+  private static class Counter
+  {
+  }
+}
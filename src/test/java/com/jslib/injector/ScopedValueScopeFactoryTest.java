@@ -0,0 +1,114 @@
+package com.jslib.injector;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
+import static org.hamcrest.Matchers.nullValue;
+import static org.hamcrest.Matchers.sameInstance;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jslib.api.injector.ProvisionException;
+import com.jslib.injector.fixture.TestModule;
+
+import jakarta.enterprise.context.RequestScoped;
+
+public class ScopedValueScopeFactoryTest
+{
+  private ScopedValueScopeFactory<?> requestScope;
+  private Injector injector;
+
+  @Before
+  public void beforeTest()
+  {
+    requestScope = new ScopedValueScopeFactory<>(RequestScoped.class);
+    injector = new Injector();
+    injector.bindScopeFactory(RequestScoped.class, requestScope);
+    injector.configure(new TestModule(Service.class));
+  }
+
+  @Test
+  public void GivenBoundContext_WhenGetInstanceTwice_ThenSameInstance() throws Exception
+  {
+    // given
+    ScopeContext context = requestScope.newContext();
+
+    // when
+    Service service1 = requestScope.call(context, () -> injector.getInstance(Service.class));
+    Service service2 = requestScope.call(context, () -> injector.getInstance(Service.class));
+
+    // then
+    assertThat(service2, sameInstance(service1));
+  }
+
+  @Test
+  public void GivenNestedContext_WhenCallCompletes_ThenOuterContextRestored() throws Exception
+  {
+    // given
+    ScopeContext outer = requestScope.newContext();
+    ScopeContext inner = requestScope.newContext();
+
+    // when
+    Service[] services = requestScope.call(outer, () -> {
+      Service innerService = requestScope.call(inner, () -> injector.getInstance(Service.class));
+      return new Service[] { innerService, injector.getInstance(Service.class) };
+    });
+
+    // then
+    assertThat(services[1], not(sameInstance(services[0])));
+    assertThat(requestScope.context(), nullValue());
+  }
+
+  @Test
+  public void GivenRunCompleted_WhenGetContext_ThenNull()
+  {
+    // given
+    ScopeContext context = requestScope.newContext();
+
+    // when
+    requestScope.run(context, () -> injector.getInstance(Service.class));
+
+    // then
+    assertThat(requestScope.context(), nullValue());
+  }
+
+  @Test
+  public void GivenNoBoundContext_WhenGetInstance_ThenException()
+  {
+    // given
+    String exception = null;
+
+    // when
+    try {
+      injector.getInstance(Service.class);
+    }
+    catch(ProvisionException e) {
+      exception = e.getMessage();
+    }
+
+    // then
+    assertThat(exception, equalTo("No active context for scope |" + RequestScoped.class + "|."));
+  }
+
+  /** Multi-release JAR is tested by java25 build profile, that sets <code>injector.multiRelease</code> property. */
+  @Test
+  public void GivenMultiReleaseJar_WhenIsScopedValue_ThenScopedValueCarrier()
+  {
+    // given
+    boolean multiRelease = Boolean.getBoolean("injector.multiRelease");
+
+    // when
+    boolean scopedValue = ScopedValueScopeFactory.isScopedValue();
+
+    // then
+    assertThat(scopedValue, equalTo(multiRelease));
+  }
+
+  // --------------------------------------------------------------------------------------------
+
+  @RequestScoped
+  private static class Service
+  {
+  }
+}
@@ -3,16 +3,22 @@ package com.jslib.injector;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.containsString;
 import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.not;
 import static org.hamcrest.Matchers.notNullValue;
+import static org.hamcrest.Matchers.sameInstance;
 
 import org.junit.Before;
 import org.junit.Test;
 import org.junit.runner.RunWith;
 import org.mockito.junit.MockitoJUnitRunner;
 
+import com.jslib.api.injector.AbstractModule;
 import com.jslib.api.injector.ProvisionException;
+import com.jslib.injector.fixture.IExtension;
 import com.jslib.injector.fixture.IService;
 
+import jakarta.inject.Singleton;
+
 @RunWith(MockitoJUnitRunner.class)
 public class ServiceProviderTest {
 	private ServiceProvider<IService> service;
@@ -34,6 +40,19 @@ public class ServiceProviderTest {
 		assertThat(instance.name(), equalTo("service"));
 	}
 
+	@Test
+	public void GivenExistingService_WhenGetTwice_ThenNewInstance() {
+		// given
+		IService instance = service.get();
+
+		// when
+		IService secondInstance = service.get();
+
+		// then
+		assertThat(secondInstance, not(sameInstance(instance)));
+		assertThat(secondInstance.name(), equalTo("service"));
+	}
+
 	@Test(expected = ProvisionException.class)
 	public void GivenMissingService_WhenGet_ThenException() {
 		// given
@@ -45,6 +64,37 @@ public class ServiceProviderTest {
 		// then
 	}
 
+	@Test
+	public void GivenInvalidSecondImplementation_WhenGet_ThenFirstInstance() {
+		// given
+		ServiceProvider<IExtension> service = new ServiceProvider<>(IExtension.class);
+
+		// when
+		IExtension instance = service.get();
+
+		// then
+		assertThat(instance.name(), equalTo("extension"));
+	}
+
+	@Test
+	public void GivenSingletonServiceBinding_WhenGetInstanceTwice_ThenSameInstance() {
+		// given
+		Injector injector = new Injector();
+		injector.configure(new AbstractModule() {
+			@Override
+			protected void configure() {
+				bind(IService.class).service().in(Singleton.class);
+			}
+		});
+
+		// when
+		IService instance = injector.getInstance(IService.class);
+		IService secondInstance = injector.getInstance(IService.class);
+
+		// then
+		assertThat(secondInstance, sameInstance(instance));
+	}
+
 	@Test
 	public void GivenProvider_WhenToString_ThenContainsSERVICE() {
 		// given
@@ -0,0 +1,101 @@
+package com.jslib.injector;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.arrayWithSize;
+import static org.hamcrest.Matchers.emptyArray;
+import static org.hamcrest.Matchers.equalTo;
+
+import org.junit.Test;
+
+import com.jslib.api.injector.AbstractModule;
+import com.jslib.api.injector.ProvisionException;
+import com.jslib.injector.fixture.IExtension;
+import com.jslib.injector.fixture.IPlugin;
+
+import jakarta.inject.Inject;
+
+public class ServicesProviderTest
+{
+  @Test
+  public void GivenServiceImplementations_WhenGet_ThenAllInstances()
+  {
+    // given
+    ServicesProvider<IPlugin> provider = new ServicesProvider<>(IPlugin.class);
+
+    // when
+    IPlugin[] services = provider.get();
+
+    // then
+    assertThat(services, arrayWithSize(2));
+    assertThat(services[0].name(), equalTo("plugin"));
+    assertThat(services[1].name(), equalTo("second plugin"));
+  }
+
+  @Test
+  public void GivenMissingImplementations_WhenGet_ThenEmptyArray()
+  {
+    // given
+    ServicesProvider<Runnable> provider = new ServicesProvider<>(Runnable.class);
+
+    // when
+    Runnable[] services = provider.get();
+
+    // then
+    assertThat(services, emptyArray());
+  }
+
+  @Test
+  public void GivenProvider_WhenType_ThenArrayType()
+  {
+    // given
+    ServicesProvider<IPlugin> provider = new ServicesProvider<>(IPlugin.class);
+
+    // when
+    Class<?> type = provider.type();
+
+    // then
+    assertThat(type, equalTo(IPlugin[].class));
+  }
+
+  @Test
+  public void GivenMultiBinding_WhenInject_ThenAllInstances()
+  {
+    // given
+    Injector injector = new Injector();
+    injector.configure(new AbstractModule()
+    {
+      @Override
+      protected void configure()
+      {
+        bind(IPlugin[].class).provider(new ServicesProvider<>(IPlugin.class));
+        bind(Consumer.class);
+      }
+    });
+
+    // when
+    Consumer consumer = injector.getInstance(Consumer.class);
+
+    // then
+    assertThat(consumer.services, arrayWithSize(2));
+  }
+
+  @Test(expected = ProvisionException.class)
+  public void GivenImplementationWithoutDefaultConstructor_WhenGet_ThenProvisionException()
+  {
+    // given
+    ServicesProvider<IExtension> provider = new ServicesProvider<>(IExtension.class);
+
+    // when
+    provider.get();
+
+    // then
+  }
+
+  // --------------------------------------------------------------------------------------------
+
+  private static class Consumer
+  {
+    @Inject
+    IPlugin[] services;
+  }
+}
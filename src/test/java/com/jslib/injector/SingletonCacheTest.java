@@ -0,0 +1,109 @@
+package com.jslib.injector;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.equalTo;
+import static org.hamcrest.Matchers.nullValue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+
+import org.junit.Before;
+import org.junit.Test;
+
+public class SingletonCacheTest
+{
+  private SingletonCache cache;
+
+  @Before
+  public void beforeTest()
+  {
+    cache = new SingletonCache();
+  }
+
+  @Test
+  public void GivenAllocatedSlots_WhenAllocateSlot_ThenNextSlot()
+  {
+    // given
+    cache.allocateSlot();
+    cache.allocateSlot();
+
+    // when
+    int slot = cache.allocateSlot();
+
+    // then
+    assertThat(slot, equalTo(2));
+  }
+
+  @Test
+  public void GivenEmptySlot_WhenGet_ThenNull()
+  {
+    // given
+    int slot = cache.allocateSlot();
+
+    // when
+    Object instance = cache.get(slot);
+
+    // then
+    assertThat(instance, nullValue());
+  }
+
+  @Test
+  public void GivenInstancesStoredBeforeGrowth_WhenGet_ThenPreserved()
+  {
+    // given
+    List<Object> instances = new ArrayList<>();
+    for(int i = 0; i < 100; ++i) {
+      Object instance = new Object();
+      cache.put(cache.allocateSlot(), instance);
+      instances.add(instance);
+    }
+
+    // when
+    Object first = cache.get(0);
+    Object last = cache.get(99);
+
+    // then
+    assertThat(first, equalTo(instances.get(0)));
+    assertThat(last, equalTo(instances.get(99)));
+  }
+
+  @Test
+  public void GivenConcurrentWritersOnDistinctSlots_WhenGet_ThenNoLostInstance() throws InterruptedException
+  {
+    // given
+    final int threadsCount = 16;
+    int[] slots = new int[threadsCount];
+    for(int i = 0; i < threadsCount; ++i) {
+      slots[i] = cache.allocateSlot();
+    }
+
+    CountDownLatch start = new CountDownLatch(1);
+    List<Thread> threads = new ArrayList<>();
+    for(int i = 0; i < threadsCount; ++i) {
+      final int slot = slots[i];
+      Thread thread = new Thread(() -> {
+        try {
+          start.await();
+        }
+        catch(InterruptedException e) {
+          return;
+        }
+        cache.put(slot, Integer.valueOf(slot));
+      });
+      thread.start();
+      threads.add(thread);
+    }
+
+    // when
+    start.countDown();
+    for(Thread thread : threads) {
+      thread.join();
+    }
+
+    // then
+    for(int slot : slots) {
+      assertThat(cache.get(slot), equalTo(Integer.valueOf(slot)));
+    }
+  }
+}
@@ -13,7 +13,6 @@ import org.mockito.Mock;
 import org.mockito.junit.MockitoJUnitRunner;
 
 import com.jslib.api.injector.IBinding;
-import com.jslib.api.injector.Key;
 import com.jslib.injector.SingletonScopeProvider.Factory;
 
 @RunWith(MockitoJUnitRunner.class)
@@ -25,8 +24,6 @@ public class SingletonScopeProviderTest
   private SingletonCache singletonCache;
   @Mock
   private IBinding<Object> provisioningBinding;
-  @Mock
-  private Key<Object> instanceKey;
 
   private SingletonScopeProvider<Object> scopeProvider;
 
@@ -34,8 +31,6 @@ public class SingletonScopeProviderTest
   public void beforeTest()
   {
     when(injector.getSingletonCache()).thenReturn(singletonCache);
-    
-    when(provisioningBinding.key()).thenReturn(instanceKey);
     when(provisioningBinding.provider()).thenReturn(() -> new Object());
 
     SingletonScopeProvider.Factory<Object> factory = new Factory<>();
@@ -58,7 +53,7 @@ public class SingletonScopeProviderTest
   public void GivenCache_WhenGetScopeInstance_ThenNotNull()
   {
     // given
-    when(singletonCache.get(instanceKey)).thenReturn(new Object());
+    when(singletonCache.get(0)).thenReturn(new Object());
 
     // when
     Object instance = scopeProvider.getScopeInstance();
@@ -96,7 +91,7 @@ public class SingletonScopeProviderTest
   public void GivenCachedInstance_WhenGetAnotherInstance_ThenEqual()
   {
     // given
-    when(singletonCache.get(instanceKey)).thenReturn(new Object());
+    when(singletonCache.get(0)).thenReturn(new Object());
     Object instance1 = scopeProvider.get();
 
     // when
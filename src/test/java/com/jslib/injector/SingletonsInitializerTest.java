@@ -0,0 +1,193 @@
+package com.jslib.injector;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.contains;
+import static org.hamcrest.Matchers.equalTo;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.Before;
+import org.junit.Test;
+
+import com.jslib.api.injector.AbstractModule;
+import com.jslib.api.injector.Key;
+
+import jakarta.inject.Inject;
+import jakarta.inject.Provider;
+import jakarta.inject.Singleton;
+
+public class SingletonsInitializerTest
+{
+  private static final AtomicInteger instancesCount = new AtomicInteger();
+
+  private Injector injector;
+
+  @Before
+  public void beforeTest()
+  {
+    injector = new Injector();
+    instancesCount.set(0);
+  }
+
+  @Test
+  public void GivenSingletonsChain_WhenGroups_ThenLevels()
+  {
+    // given
+    Map<Key<?>, Provider<?>> bindings = new HashMap<>();
+    Provider<?> database = singleton(bindings, Database.class);
+    Provider<?> repository = singleton(bindings, Repository.class);
+    prototype(bindings, Transaction.class);
+    Provider<?> service = singleton(bindings, Service.class);
+    Provider<?> logger = singleton(bindings, Logger.class);
+
+    // when
+    List<List<SingletonScopeProvider<?>>> groups = new SingletonsInitializer(bindings).groups();
+
+    // then
+    assertThat(groups.size(), equalTo(3));
+    assertThat(groups.get(0).size(), equalTo(2));
+    assertThat(groups.get(0).contains(database), equalTo(true));
+    assertThat(groups.get(0).contains(logger), equalTo(true));
+    // repository depends on database through a prototype transaction
+    assertThat(groups.get(1), contains(repository));
+    assertThat(groups.get(2), contains(service));
+  }
+
+  @Test
+  public void GivenListInjectionWithPlainListBinding_WhenGroups_ThenPlainBindingLevel()
+  {
+    // given
+    Map<Key<?>, Provider<?>> bindings = new HashMap<>();
+    Provider<?> database = singleton(bindings, Database.class);
+    // plain list binding resolves unqualified list injection point when there is no multi-binding
+    bindings.put(Key.get(List.class), database);
+    Provider<?> catalog = singleton(bindings, Catalog.class);
+
+    // when
+    List<List<SingletonScopeProvider<?>>> groups = new SingletonsInitializer(bindings).groups();
+
+    // then
+    assertThat(groups.size(), equalTo(2));
+    assertThat(groups.get(0), contains(database));
+    assertThat(groups.get(1), contains(catalog));
+  }
+
+  @Test
+  public void GivenEagerSingletons_WhenConfigure_ThenAllSingletonsCreated()
+  {
+    // given
+    injector.setEagerSingletons(true);
+
+    // when
+    injector.configure(new AbstractModule()
+    {
+      @Override
+      protected void configure()
+      {
+        bind(Database.class).in(Singleton.class);
+        bind(Transaction.class);
+        bind(Repository.class).in(Singleton.class);
+        bind(Service.class).in(Singleton.class);
+        bind(Logger.class).in(Singleton.class);
+      }
+    });
+
+    // then
+    // repository creation creates one transaction, a prototype
+    assertThat(instancesCount.get(), equalTo(5));
+    injector.getInstance(Service.class);
+    assertThat(instancesCount.get(), equalTo(5));
+  }
+
+  @Test
+  public void GivenLazySingletons_WhenConfigure_ThenNoInstanceCreated()
+  {
+    // given
+
+    // when
+    injector.configure(new AbstractModule()
+    {
+      @Override
+      protected void configure()
+      {
+        bind(Database.class).in(Singleton.class);
+        bind(Logger.class).in(Singleton.class);
+      }
+    });
+
+    // then
+    assertThat(instancesCount.get(), equalTo(0));
+  }
+
+  // --------------------------------------------------------------------------------------------
+
+  @SuppressWarnings({ "unchecked", "rawtypes" })
+  private Provider<?> singleton(Map<Key<?>, Provider<?>> bindings, Class<?> type)
+  {
+    Binding binding = new Binding(type, new ProvisioningProvider<>(injector, type));
+    Provider<?> provider = new SingletonScopeProvider.Factory().getScopedProvider(injector, binding);
+    bindings.put(Key.get(type), provider);
+    return provider;
+  }
+
+  private void prototype(Map<Key<?>, Provider<?>> bindings, Class<?> type)
+  {
+    bindings.put(Key.get(type), new ProvisioningProvider<>(injector, type));
+  }
+
+  private static class Database
+  {
+    Database()
+    {
+      instancesCount.incrementAndGet();
+    }
+  }
+
+  private static class Transaction
+  {
+    @Inject
+    Transaction(Database database)
+    {
+      instancesCount.incrementAndGet();
+    }
+  }
+
+  private static class Repository
+  {
+    @Inject
+    Repository(Transaction transaction)
+    {
+      instancesCount.incrementAndGet();
+    }
+  }
+
+  private static class Service
+  {
+    @Inject
+    Repository repository;
+    @Inject
+    Provider<Logger> logger;
+
+    Service()
+    {
+      instancesCount.incrementAndGet();
+    }
+  }
+
+  private static class Catalog
+  {
+    @Inject
+    List<Database> databases;
+  }
+
+  private static class Logger
+  {
+    Logger()
+    {
+      instancesCount.incrementAndGet();
+    }
+  }
+}
@@ -0,0 +1,8 @@
+package com.jslib.injector.fixture;
+
+public class Extension implements IExtension {
+	@Override
+	public String name() {
+		return "extension";
+	}
+}
\ No newline at end of file
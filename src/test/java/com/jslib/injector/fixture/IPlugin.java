@@ -0,0 +1,7 @@
+package com.jslib.injector.fixture;
+
+public interface IPlugin {
+	
+	String name();
+	
+}
\ No newline at end of file
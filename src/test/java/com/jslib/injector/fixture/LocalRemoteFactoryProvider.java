@@ -0,0 +1,43 @@
+package com.jslib.injector.fixture;
+
+import java.lang.reflect.Proxy;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import com.jslib.rmi.RemoteFactory;
+import com.jslib.rmi.RemoteFactoryProvider;
+
+/**
+ * In-process remote factory provider for <code>local</code> protocol. Remote instances implement requested interface
+ * and return implementation URL from every method; they throw illegal state if {@link #failing} is set.
+ */
+public class LocalRemoteFactoryProvider implements RemoteFactoryProvider
+{
+  public static final AtomicInteger createdCount = new AtomicInteger();
+  public static volatile boolean failing;
+
+  @Override
+  public String[] getProtocols()
+  {
+    return new String[] { "local" };
+  }
+
+  @Override
+  public RemoteFactory getRemoteFactory()
+  {
+    return new RemoteFactory()
+    {
+      @SuppressWarnings("unchecked")
+      @Override
+      public <T> T getRemoteInstance(Class<? super T> type, String implementationURL)
+      {
+        createdCount.incrementAndGet();
+        return (T)Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] { type }, (proxy, method, arguments) -> {
+          if(failing) {
+            throw new IllegalStateException("Connection refused");
+          }
+          return implementationURL;
+        });
+      }
+    };
+  }
+}
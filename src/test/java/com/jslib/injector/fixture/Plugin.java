@@ -0,0 +1,8 @@
+package com.jslib.injector.fixture;
+
+public class Plugin implements IPlugin {
+	@Override
+	public String name() {
+		return "plugin";
+	}
+}
\ No newline at end of file
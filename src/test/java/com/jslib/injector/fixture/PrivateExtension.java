@@ -0,0 +1,12 @@
+package com.jslib.injector.fixture;
+
+/** Invalid service implementation, without public default constructor. */
+public class PrivateExtension implements IExtension {
+	private PrivateExtension() {
+	}
+
+	@Override
+	public String name() {
+		return "private extension";
+	}
+}
\ No newline at end of file
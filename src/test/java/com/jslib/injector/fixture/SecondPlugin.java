@@ -0,0 +1,8 @@
+package com.jslib.injector.fixture;
+
+public class SecondPlugin implements IPlugin {
+	@Override
+	public String name() {
+		return "second plugin";
+	}
+}
\ No newline at end of file